@@ -0,0 +1,211 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Marker;
+import com.example.hamkae.domain.User;
+import com.example.hamkae.repository.MarkerRepository;
+import com.example.hamkae.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마커 일괄 등록 처리량 벤치마크 (MarkerImportService CSV 일괄 등록 vs registerMarker 방식의 행 단위 저장)
+ *
+ * 인메모리 H2에 엔티티 매핑으로 스키마를 만들고(Hibernate, 앱과 같은 컬럼 이름 규칙) ROWS개 마커를 두 경로로 저장하며,
+ * 결과 단위는 rows/sec입니다.
+ * csvImport는 생성한 CSV를 MarkerImportService.importMarkers에 그대로 넘겨 파싱, 검증, 배치별 트랜잭션,
+ * 생성 ID 매핑, 마커 변경 이벤트 발행까지 실제 코드 경로를 측정합니다.
+ * perRowRegister는 MarkerService.registerMarker와 같이 행마다 트랜잭션을 열어 제보자를 조회하고
+ * Marker 엔티티를 IDENTITY 방식으로 저장한 뒤 이벤트를 발행합니다.
+ * 네트워크 왕복 비용이 빠져 있으므로 실제 MySQL에서는 행 단위 저장이 더 불리합니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=MarkerImportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkerImportBenchmark {
+
+    /**
+     * 호출 한 번에 저장하는 행 수
+     */
+    private static final int ROWS = 5_000;
+
+    /**
+     * app.markers.import.batch-size
+     */
+    @Param({"100", "500"})
+    int batchSize;
+
+    private SingleConnectionDataSource dataSource;
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private MarkerRepository markerRepository;
+
+    private UserRepository userRepository;
+
+    private MarkerImportService markerImportService;
+
+    /**
+     * 구독자 없이 발행 횟수만 세는 이벤트 발행기 (두 경로 모두 마커마다 한 번 발행)
+     */
+    private ApplicationEventPublisher eventPublisher;
+
+    private long publishedEvents;
+
+    private Long userId;
+
+    private byte[] csv;
+
+    private BigDecimal[] lats;
+    private BigDecimal[] lngs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:import" + batchSize + ";DB_CLOSE_DELAY=-1", true);
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan(Marker.class.getPackageName());
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.physical_naming_strategy",
+                "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+                "hibernate.implicit_naming_strategy",
+                "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy"));
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+
+        // 앱과 같이 JPA 트랜잭션의 JDBC 연결을 JdbcTemplate도 함께 사용
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setDataSource(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        JpaRepositoryFactory repositoryFactory =
+                new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        markerRepository = repositoryFactory.getRepository(MarkerRepository.class);
+        userRepository = repositoryFactory.getRepository(UserRepository.class);
+
+        eventPublisher = event -> publishedEvents++;
+        markerImportService = new MarkerImportService(jdbcTemplate, transactionTemplate, eventPublisher,
+                userRepository, new ObjectMapper());
+        Field batchSizeField = MarkerImportService.class.getDeclaredField("batchSize");
+        batchSizeField.setAccessible(true);
+        batchSizeField.setInt(markerImportService, batchSize);
+
+        LocalDateTime now = LocalDateTime.now();
+        userId = transactionTemplate.execute(status -> userRepository.save(User.builder()
+                .name("벤치마크")
+                .username("bench")
+                .password("bench")
+                .createdAt(now)
+                .updatedAt(now)
+                .build()).getId());
+
+        SplittableRandom random = new SplittableRandom(42);
+        lats = new BigDecimal[ROWS];
+        lngs = new BigDecimal[ROWS];
+        StringBuilder builder = new StringBuilder("lat,lng,description,created_at\n");
+        for (int i = 0; i < ROWS; i++) {
+            lats[i] = BigDecimal.valueOf(37.4 + random.nextDouble() * 0.4).setScale(8, RoundingMode.HALF_UP);
+            lngs[i] = BigDecimal.valueOf(126.8 + random.nextDouble() * 0.4).setScale(8, RoundingMode.HALF_UP);
+            builder.append(lats[i]).append(',').append(lngs[i]).append(",마커 ").append(i + 1)
+                    .append(",2026-01-01T09:00:00\n");
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 테이블 크기가 반복마다 같은 조건이 되도록 이전 반복에서 저장한 행을 비웁니다.
+     */
+    @Setup(Level.Iteration)
+    public void clearMarkers() {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM markers"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactoryBean.destroy();
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int csvImport() throws IOException {
+        return markerImportService.importMarkers(new ByteArrayInputStream(csv), "csv", userId).getImportedCount();
+    }
+
+    /**
+     * MarkerService.registerMarker(사진 없음)와 같은 저장 경로를 행마다 반복
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long perRowRegister() {
+        long lastId = 0;
+        for (int i = 0; i < ROWS; i++) {
+            int row = i;
+            Long markerId = transactionTemplate.execute(status -> {
+                User user = userRepository.findById(userId)
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                // 등록/수정일시는 앱에서 JPA Auditing이 채우는 값
+                LocalDateTime now = LocalDateTime.now();
+                Marker savedMarker = markerRepository.save(Marker.builder()
+                        .lat(lats[row])
+                        .lng(lngs[row])
+                        .description("마커 " + (row + 1))
+                        .reportedBy(user)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+                eventPublisher.publishEvent(
+                        MarkerChangedEvent.of(MarkerChangedEvent.ChangeType.CREATED, savedMarker));
+                return savedMarker.getId();
+            });
+            lastId = markerId;
+        }
+        return lastId;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Marker;
+import com.example.hamkae.repository.MarkerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MarkerNearestIndex 벤치마크 (최근접 조회, 마커 변경 이벤트 반영)
+ *
+ * 비교 기준(naiveScan)은 같은 마커 목록 전체에 haversine 거리를 계산하고 크기 k의 힙으로 상위 k개를 고르는 전체 탐색입니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=MarkerNearestIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkerNearestIndexBenchmark {
+
+    /**
+     * 서울 부근 좌표 범위
+     */
+    private static final double MIN_LAT = 37.4;
+    private static final double MIN_LNG = 126.8;
+    private static final double SPAN = 0.4;
+
+    /**
+     * 조회할 최근접 마커 수
+     */
+    private static final int K = 10;
+
+    @Param({"10000", "100000"})
+    int markerCount;
+
+    private MarkerNearestIndex index;
+
+    /**
+     * 전체 탐색용 좌표 (points 목록을 double로 미리 변환, 트리 구성 시와 같은 조건)
+     */
+    private long[] ids;
+    private double[] lats;
+    private double[] lngs;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom pointRandom = new SplittableRandom(42);
+        List<MarkerRepository.MarkerPoint> points = new ArrayList<>(markerCount);
+        for (long id = 1; id <= markerCount; id++) {
+            points.add(point(id, MIN_LAT + pointRandom.nextDouble() * SPAN, MIN_LNG + pointRandom.nextDouble() * SPAN));
+        }
+        index = new MarkerNearestIndex(repositoryReturning(points));
+        index.rebuild();
+
+        ids = new long[markerCount];
+        lats = new double[markerCount];
+        lngs = new double[markerCount];
+        for (int i = 0; i < markerCount; i++) {
+            MarkerRepository.MarkerPoint point = points.get(i);
+            ids[i] = point.getId();
+            lats[i] = point.getLat().doubleValue();
+            lngs[i] = point.getLng().doubleValue();
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public MarkerNearestIndex.Neighbors findNearest() {
+        return index.findNearest(MIN_LAT + random.nextDouble() * SPAN, MIN_LNG + random.nextDouble() * SPAN,
+                K, Double.MAX_VALUE);
+    }
+
+    /**
+     * 비교 기준: 모든 활성 마커까지의 거리를 계산하고 최대 힙으로 가까운 k개만 유지
+     */
+    @Benchmark
+    public long[] naiveScan() {
+        double lat = MIN_LAT + random.nextDouble() * SPAN;
+        double lng = MIN_LNG + random.nextDouble() * SPAN;
+        PriorityQueue<double[]> heap = new PriorityQueue<>(K + 1, (a, b) -> Double.compare(b[1], a[1]));
+        for (int i = 0; i < ids.length; i++) {
+            double distance = GeoDistance.haversineMeters(lat, lng, lats[i], lngs[i]);
+            if (heap.size() < K) {
+                heap.add(new double[]{i, distance});
+            } else if (distance < heap.peek()[1]) {
+                heap.poll();
+                heap.add(new double[]{i, distance});
+            }
+        }
+        long[] nearest = new long[heap.size()];
+        for (int n = nearest.length - 1; n >= 0; n--) {
+            nearest[n] = ids[(int) heap.poll()[0]];
+        }
+        return nearest;
+    }
+
+    /**
+     * 트리에 있는 마커를 옮기는 이벤트 (삭제 후 추가, 변경분이 쌓이면 주기적으로 재구성)
+     */
+    @Benchmark
+    public void markerMoved() {
+        long id = 1 + random.nextInt(markerCount);
+        index.onMarkerChanged(new MarkerChangedEvent(MarkerChangedEvent.ChangeType.CREATED, id,
+                MIN_LAT + random.nextDouble() * SPAN, MIN_LNG + random.nextDouble() * SPAN,
+                LocalDateTime.now(), Marker.MarkerStatus.ACTIVE));
+    }
+
+    private static MarkerRepository repositoryReturning(List<MarkerRepository.MarkerPoint> points) {
+        return (MarkerRepository) Proxy.newProxyInstance(MarkerRepository.class.getClassLoader(),
+                new Class<?>[]{MarkerRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findActiveMarkerPoints")) {
+                        return points;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static MarkerRepository.MarkerPoint point(long id, double lat, double lng) {
+        return new MarkerRepository.MarkerPoint() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getLat() {
+                return BigDecimal.valueOf(lat);
+            }
+
+            @Override
+            public BigDecimal getLng() {
+                return BigDecimal.valueOf(lng);
+            }
+
+            @Override
+            public Marker.MarkerStatus getStatus() {
+                return Marker.MarkerStatus.ACTIVE;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Marker;
+import com.example.hamkae.repository.MarkerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지도 화면 범위(viewport) 조회 벤치마크 (MarkerSpatialIndex 격자 조회 vs 좌표 범위 쿼리)
+ *
+ * 비교 대상은 MarkerRepository.findMarkersInBounds가 실행하는 것과 같은 SQL이며,
+ * 인메모리 H2에 같은 스키마(markers 테이블, 상태/등록일시 인덱스)를 만들어 JDBC로 실행합니다.
+ * 네트워크 왕복과 엔티티 변환 비용이 빠져 있으므로 실제 MySQL 쿼리보다 유리한 조건입니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=MarkerViewportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkerViewportBenchmark {
+
+    /**
+     * 서울 부근 좌표 범위
+     */
+    private static final double MIN_LAT = 37.4;
+    private static final double MIN_LNG = 126.8;
+    private static final double SPAN = 0.4;
+
+    /**
+     * 화면 범위 한 변의 크기 (도 단위, 동네 수준 확대)
+     */
+    private static final double VIEWPORT = 0.02;
+
+    /**
+     * findMarkersInBounds의 JPQL이 생성하는 SQL
+     */
+    private static final String BOUNDS_SQL =
+            "SELECT id, lat, lng, description, status, reported_by, created_at, updated_at FROM markers " +
+            "WHERE lat BETWEEN ? AND ? AND lng BETWEEN ? AND ? AND status = 'ACTIVE'";
+
+    @Param({"10000", "100000", "1000000"})
+    int markerCount;
+
+    private MarkerSpatialIndex index;
+
+    private Connection connection;
+
+    private PreparedStatement boundsQuery;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SplittableRandom pointRandom = new SplittableRandom(42);
+        double[] lats = new double[markerCount];
+        double[] lngs = new double[markerCount];
+        for (int i = 0; i < markerCount; i++) {
+            lats[i] = MIN_LAT + pointRandom.nextDouble() * SPAN;
+            lngs[i] = MIN_LNG + pointRandom.nextDouble() * SPAN;
+        }
+
+        List<MarkerRepository.MarkerPoint> points = new ArrayList<>(markerCount);
+        for (int i = 0; i < markerCount; i++) {
+            points.add(point(i + 1L, lats[i], lngs[i]));
+        }
+        index = new MarkerSpatialIndex(repositoryReturning(points));
+        Field cellSize = MarkerSpatialIndex.class.getDeclaredField("cellSizeDeg");
+        cellSize.setAccessible(true);
+        cellSize.setDouble(index, 0.01);
+        index.rebuild();
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:viewport" + markerCount + ";MODE=MySQL");
+        createTable(connection, lats, lngs);
+        boundsQuery = connection.prepareStatement(BOUNDS_SQL);
+
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long[] spatialIndex() {
+        double minLat = MIN_LAT + random.nextDouble() * (SPAN - VIEWPORT);
+        double minLng = MIN_LNG + random.nextDouble() * (SPAN - VIEWPORT);
+        return index.findInBounds(minLat, minLat + VIEWPORT, minLng, minLng + VIEWPORT);
+    }
+
+    @Benchmark
+    public void boundsQuery(Blackhole blackhole) throws SQLException {
+        double minLat = MIN_LAT + random.nextDouble() * (SPAN - VIEWPORT);
+        double minLng = MIN_LNG + random.nextDouble() * (SPAN - VIEWPORT);
+        boundsQuery.setBigDecimal(1, BigDecimal.valueOf(minLat));
+        boundsQuery.setBigDecimal(2, BigDecimal.valueOf(minLat + VIEWPORT));
+        boundsQuery.setBigDecimal(3, BigDecimal.valueOf(minLng));
+        boundsQuery.setBigDecimal(4, BigDecimal.valueOf(minLng + VIEWPORT));
+        try (ResultSet rs = boundsQuery.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+                blackhole.consume(rs.getBigDecimal(2));
+                blackhole.consume(rs.getBigDecimal(3));
+            }
+        }
+    }
+
+    private static void createTable(Connection connection, double[] lats, double[] lngs) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE markers (id BIGINT PRIMARY KEY, lat DECIMAL(10,8) NOT NULL, " +
+                    "lng DECIMAL(11,8) NOT NULL, description TEXT, status VARCHAR(20) NOT NULL, " +
+                    "reported_by BIGINT NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX idx_markers_status_created_at ON markers (status, created_at, id)");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO markers VALUES (?, ?, ?, ?, 'ACTIVE', 1, ?, ?)")) {
+            for (int i = 0; i < lats.length; i++) {
+                insert.setLong(1, i + 1L);
+                insert.setBigDecimal(2, BigDecimal.valueOf(lats[i]).setScale(8, RoundingMode.HALF_UP));
+                insert.setBigDecimal(3, BigDecimal.valueOf(lngs[i]).setScale(8, RoundingMode.HALF_UP));
+                insert.setString(4, "마커 " + (i + 1));
+                insert.setTimestamp(5, now);
+                insert.setTimestamp(6, now);
+                insert.addBatch();
+                if ((i + 1) % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static MarkerRepository repositoryReturning(List<MarkerRepository.MarkerPoint> points) {
+        return (MarkerRepository) Proxy.newProxyInstance(MarkerRepository.class.getClassLoader(),
+                new Class<?>[]{MarkerRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findActiveMarkerPoints")) {
+                        return points;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static MarkerRepository.MarkerPoint point(long id, double lat, double lng) {
+        return new MarkerRepository.MarkerPoint() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getLat() {
+                return BigDecimal.valueOf(lat);
+            }
+
+            @Override
+            public BigDecimal getLng() {
+                return BigDecimal.valueOf(lng);
+            }
+
+            @Override
+            public Marker.MarkerStatus getStatus() {
+                return Marker.MarkerStatus.ACTIVE;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return null;
+            }
+        };
+    }
+}
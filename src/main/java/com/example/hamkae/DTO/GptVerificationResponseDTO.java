@@ -1,5 +1,6 @@
 package com.example.hamkae.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -50,4 +51,11 @@ public class GptVerificationResponseDTO {
      * 검증 완료 시점의 타임스탬프
      */
     private String verifiedAt;
+
+    /**
+     * 검증 실패가 일시적인 오류(GPT 호출 실패 등)여서 다시 시도할 수 있는지 여부
+     * 사전 검증에서 거절된 경우는 다시 시도해도 결과가 같으므로 false
+     */
+    @JsonIgnore
+    private boolean retryable;
 }
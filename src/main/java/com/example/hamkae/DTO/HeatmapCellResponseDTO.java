@@ -0,0 +1,45 @@
+package com.example.hamkae.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 마커 밀도(히트맵) 조회를 위한 격자 셀 응답 DTO
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeatmapCellResponseDTO {
+
+    /**
+     * 셀 중심 위도
+     */
+    private double lat;
+
+    /**
+     * 셀 중심 경도
+     */
+    private double lng;
+
+    /**
+     * 셀 안의 전체 마커 수
+     */
+    private int count;
+
+    /**
+     * 셀 안의 활성(청소 대기) 마커 수
+     */
+    private int activeCount;
+
+    /**
+     * 셀 안의 청소 완료 마커 수
+     */
+    private int cleanedCount;
+}
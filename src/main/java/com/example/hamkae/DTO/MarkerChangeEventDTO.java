@@ -0,0 +1,52 @@
+package com.example.hamkae.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 마커 변경 스트림(SSE)으로 전달되는 변경 내역 DTO
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkerChangeEventDTO {
+
+    /**
+     * 변경 순번 (서버 실행 중 단조 증가, SSE 이벤트 ID는 "서버 시작 시각:순번")
+     */
+    private long sequence;
+
+    /**
+     * 변경 종류 (CREATED, CLEANED, REMOVED)
+     */
+    private String type;
+
+    /**
+     * 변경된 마커 ID
+     */
+    private Long markerId;
+
+    /**
+     * 마커 위도
+     */
+    private double lat;
+
+    /**
+     * 마커 경도
+     */
+    private double lng;
+
+    /**
+     * 마커 등록일시
+     */
+    private LocalDateTime createdAt;
+}
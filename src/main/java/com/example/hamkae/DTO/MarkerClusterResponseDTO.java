@@ -0,0 +1,45 @@
+package com.example.hamkae.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 줌 레벨별 마커 클러스터 조회를 위한 응답 DTO
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkerClusterResponseDTO {
+
+    /**
+     * 클러스터 중심 위도 (포함된 마커들의 평균)
+     */
+    private double lat;
+
+    /**
+     * 클러스터 중심 경도 (포함된 마커들의 평균)
+     */
+    private double lng;
+
+    /**
+     * 클러스터에 포함된 활성 마커 수
+     */
+    private int count;
+
+    /**
+     * 클러스터에 마커가 하나뿐인 경우 해당 마커 ID (그 외에는 null)
+     */
+    private Long markerId;
+
+    /**
+     * 클러스터가 계산된 줌 레벨
+     */
+    private int zoom;
+}
@@ -0,0 +1,79 @@
+package com.example.hamkae.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 마커 일괄 등록(import) 결과를 위한 응답 DTO
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkerImportResultDTO {
+
+    /**
+     * 처리한 전체 행(피처) 수
+     */
+    private int totalRows;
+
+    /**
+     * 등록에 성공한 마커 수
+     */
+    private int importedCount;
+
+    /**
+     * 등록에 실패한 행 수
+     */
+    private int failedCount;
+
+    /**
+     * 입력을 끝까지 읽지 못하고 중단되었는지 여부 (중단 전까지 커밋된 마커는 importedCount에 포함)
+     */
+    private boolean aborted;
+
+    /**
+     * 중단된 행(CSV 줄 번호) 또는 피처(GeoJSON 순번) 번호
+     */
+    private Integer abortedAtRow;
+
+    /**
+     * 중단 사유
+     */
+    private String abortReason;
+
+    /**
+     * 처리 소요 시간 (밀리초)
+     */
+    private long elapsedMillis;
+
+    /**
+     * 초당 처리 행 수
+     */
+    private double rowsPerSecond;
+
+    /**
+     * 행별 오류 목록 (최대 1000건)
+     */
+    private List<RowError> errors;
+
+    /**
+     * 행별 오류 정보를 담는 내부 DTO
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
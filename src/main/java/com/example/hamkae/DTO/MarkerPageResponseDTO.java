@@ -0,0 +1,37 @@
+package com.example.hamkae.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서 기반 마커 목록 조회를 위한 응답 DTO
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkerPageResponseDTO {
+
+    /**
+     * 현재 페이지의 마커 목록 (등록일시, ID 내림차순)
+     */
+    private List<MarkerResponseDTO> markers;
+
+    /**
+     * 다음 페이지 조회에 사용할 커서 (마지막 페이지이면 null)
+     */
+    private String nextCursor;
+
+    /**
+     * 다음 페이지 존재 여부
+     */
+    private boolean hasNext;
+}
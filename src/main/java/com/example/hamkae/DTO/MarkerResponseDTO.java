@@ -1,6 +1,7 @@
 package com.example.hamkae.DTO;
 
 import com.example.hamkae.domain.Marker;
+import com.example.hamkae.service.ImageDerivative;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -66,6 +67,20 @@ public class MarkerResponseDTO {
      * @return MarkerResponseDTO 객체
      */
     public static MarkerResponseDTO from(Marker marker) {
+        return from(marker, marker.getPhotos().stream()
+                .map(PhotoSimpleDTO::from)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 미리 조회한 사진 정보로 MarkerResponseDTO를 생성하는 정적 팩토리 메서드
+     * 마커의 사진 컬렉션을 지연 로딩하지 않습니다.
+     *
+     * @param marker 변환할 Marker 엔티티
+     * @param photos 마커에 연결된 사진 정보
+     * @return MarkerResponseDTO 객체
+     */
+    public static MarkerResponseDTO from(Marker marker, List<PhotoSimpleDTO> photos) {
         return MarkerResponseDTO.builder()
                 .id(marker.getId())
                 .lat(marker.getLat())
@@ -73,9 +88,7 @@ public class MarkerResponseDTO {
                 .description(marker.getDescription())
                 .status(marker.getStatus().name())
                 .createdAt(marker.getCreatedAt())
-                .photos(marker.getPhotos().stream()
-                        .map(PhotoSimpleDTO::from)
-                        .collect(Collectors.toList()))
+                .photos(photos)
                 .build();
     }
 
@@ -91,11 +104,35 @@ public class MarkerResponseDTO {
         private String type;
         private String imagePath;
 
+        /**
+         * 썸네일 접근 경로 (긴 변 128px, 아직 생성되지 않았으면 원본으로 임시 리다이렉트)
+         */
+        private String thumbnailUrl;
+
+        /**
+         * 미리보기 접근 경로 (긴 변 512px, 아직 생성되지 않았으면 원본으로 임시 리다이렉트)
+         */
+        private String previewUrl;
+
         public static PhotoSimpleDTO from(com.example.hamkae.domain.Photo photo) {
+            return of(photo.getId(), photo.getType().name(), photo.getImagePath());
+        }
+
+        /**
+         * 사진 ID, 타입, 원본 경로로 파생 이미지 경로까지 채운 DTO를 생성합니다.
+         *
+         * @param id 사진 ID
+         * @param type 사진 타입
+         * @param imagePath 원본 접근 경로
+         * @return PhotoSimpleDTO 객체
+         */
+        public static PhotoSimpleDTO of(Long id, String type, String imagePath) {
             return PhotoSimpleDTO.builder()
-                    .id(photo.getId())
-                    .type(photo.getType().name())
-                    .imagePath(photo.getImagePath())
+                    .id(id)
+                    .type(type)
+                    .imagePath(imagePath)
+                    .thumbnailUrl(ImageDerivative.THUMBNAIL.urlFor(imagePath))
+                    .previewUrl(ImageDerivative.PREVIEW.urlFor(imagePath))
                     .build();
         }
     }
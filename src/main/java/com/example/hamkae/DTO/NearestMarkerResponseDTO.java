@@ -0,0 +1,30 @@
+package com.example.hamkae.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주변 마커 조회를 위한 응답 DTO
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearestMarkerResponseDTO {
+
+    /**
+     * 기준 좌표로부터의 거리 (미터)
+     */
+    private double distanceMeters;
+
+    /**
+     * 마커 정보
+     */
+    private MarkerResponseDTO marker;
+}
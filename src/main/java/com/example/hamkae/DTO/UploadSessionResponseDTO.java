@@ -0,0 +1,57 @@
+package com.example.hamkae.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이어 올리기(resumable) 업로드 세션 상태 응답 DTO
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponseDTO {
+
+    /**
+     * 업로드 세션 ID (완료 후 사진 등록 시 upload_ids로 전달)
+     */
+    private String uploadId;
+
+    /**
+     * 원본 파일명
+     */
+    private String filename;
+
+    /**
+     * 파일 MIME 타입
+     */
+    private String contentType;
+
+    /**
+     * 전체 파일 크기 (바이트)
+     */
+    private long size;
+
+    /**
+     * 지금까지 받은 바이트 수 (다음 청크의 시작 위치)
+     */
+    private long offset;
+
+    /**
+     * 모든 바이트를 받았는지 여부
+     */
+    private boolean complete;
+
+    /**
+     * 세션 만료 일시 (마지막 청크 수신 기준)
+     */
+    private LocalDateTime expiresAt;
+}
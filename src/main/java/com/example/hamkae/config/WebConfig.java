@@ -5,12 +5,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.multipart.support.StandardServletMultipartResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * 웹 관련 설정을 담당하는 설정 클래스
- * CORS, 파일 업로드, 정적 리소스 핸들링 등을 설정합니다.
+ * CORS, 파일 업로드 등을 설정합니다.
+ * 업로드된 이미지 파일은 ImageController에서 제공합니다.
  * 
  * @author 윤준하
  * @version 1.0
@@ -33,17 +33,6 @@ public class WebConfig implements WebMvcConfigurer {
                 .maxAge(3600);
     }
 
-    /**
-     * 정적 리소스 핸들링 설정
-     * 업로드된 이미지 파일들을 정적 리소스로 제공합니다.
-     */
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // 업로드된 이미지 파일들을 /images/** 경로로 접근 가능하도록 설정
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("file:uploads/images/");
-    }
-
     /**
      * MultipartResolver 설정
      * 파일 업로드를 위한 설정입니다.
@@ -5,15 +5,18 @@ import com.example.hamkae.DTO.GptVerificationResponseDTO;
 import com.example.hamkae.domain.Photo;
 import com.example.hamkae.repository.PhotoRepository;
 import com.example.hamkae.service.GptVerificationService;
+import com.example.hamkae.service.VerificationExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * AI 검증 시스템을 위한 컨트롤러
@@ -32,6 +35,7 @@ public class AiVerificationController {
 
     private final GptVerificationService gptVerificationService;
     private final PhotoRepository photoRepository;
+    private final VerificationExecutor verificationExecutor;
 
     /**
      * 수동으로 AI 검증을 수행합니다.
@@ -72,7 +76,10 @@ public class AiVerificationController {
             Photo beforePhoto = beforePhotos.get(0);
             Photo afterPhoto = afterPhotos.get(0);
             
-            GptVerificationResponseDTO result = gptVerificationService.verifyCleanup(beforePhoto, afterPhoto);
+            // 대기열 작업과 같은 실행기에서 실행하여 OpenAI 동시 호출 한도를 공유
+            GptVerificationResponseDTO result = verificationExecutor
+                    .submit(() -> gptVerificationService.verifyCleanup(beforePhoto, afterPhoto).block())
+                    .join();
             
             // 검증 결과를 사진에 저장
             if (result.isSuccess()) {
@@ -88,6 +95,11 @@ public class AiVerificationController {
             
             return ResponseEntity.ok(ApiResponse.success("AI 검증이 완료되었습니다.", result));
             
+        } catch (RejectedExecutionException e) {
+            log.warn("수동 AI 검증 거절: markerId={}, 실행기 대기열 가득 참", markerId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                ApiResponse.error("AI 검증 요청 거절: " + e.getMessage())
+            );
         } catch (Exception e) {
             log.error("수동 AI 검증 중 오류 발생: markerId={}", markerId, e);
             return ResponseEntity.internalServerError().body(
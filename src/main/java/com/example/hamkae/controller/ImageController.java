@@ -0,0 +1,46 @@
+package com.example.hamkae.controller;
+
+import com.example.hamkae.service.ImageServingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+
+/**
+ * 업로드된 이미지 파일을 제공하는 컨트롤러 클래스
+ * 원본은 /images/{경로}, 파생 이미지는 /images/{thumb|preview|ai}/{경로} 로 제공됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/images")
+
+public class ImageController {
+
+    private static final String IMAGE_PATH_PREFIX = "/images/";
+
+    private final ImageServingService imageServingService;
+
+    /**
+     * 이미지 파일을 전송합니다.
+     * Range, If-None-Match 요청을 지원하며 immutable 캐시 헤더를 포함합니다.
+     *
+     * @param request HTTP 요청
+     * @param response HTTP 응답
+     * @throws IOException 파일 전송 중 오류 발생 시
+     */
+    @RequestMapping(value = "/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+
+    public void getImage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        imageServingService.serve(path.substring(IMAGE_PATH_PREFIX.length()), request, response);
+    }
+}
@@ -1,22 +1,40 @@
 package com.example.hamkae.controller;
 
 import com.example.hamkae.DTO.ApiResponse;
+import com.example.hamkae.DTO.HeatmapCellResponseDTO;
+import com.example.hamkae.DTO.MarkerClusterResponseDTO;
+import com.example.hamkae.DTO.MarkerImportResultDTO;
+import com.example.hamkae.DTO.MarkerPageResponseDTO;
 import com.example.hamkae.DTO.MarkerRequestDTO;
 import com.example.hamkae.DTO.MarkerResponseDTO;
+import com.example.hamkae.DTO.NearestMarkerResponseDTO;
 import com.example.hamkae.config.JwtUtil;
 import com.example.hamkae.repository.UserRepository;
-import com.example.hamkae.service.FileUploadService;
+import com.example.hamkae.service.ImageIngestionService;
+import com.example.hamkae.service.IngestedImage;
+import com.example.hamkae.service.MarkerChangeFeed;
+import com.example.hamkae.service.MarkerImportService;
 import com.example.hamkae.service.MarkerService;
+import com.example.hamkae.service.MarkerTileService;
+import com.example.hamkae.service.ResumableUploadService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 
 
@@ -36,7 +54,11 @@ public class MarkerController {
     private final MarkerService markerService;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
-    private final FileUploadService fileUploadService;
+    private final ImageIngestionService imageIngestionService;
+    private final MarkerTileService markerTileService;
+    private final MarkerChangeFeed markerChangeFeed;
+    private final MarkerImportService markerImportService;
+    private final ResumableUploadService resumableUploadService;
 
     /**
      * 새로운 마커를 등록합니다 (사진 포함).
@@ -45,6 +67,7 @@ public class MarkerController {
      * @param lng 경도
      * @param description 설명
      * @param images 업로드할 이미지 파일들
+     * @param uploadIds 이어 올리기(/uploads)로 업로드를 마친 세션 ID들
      * @param authorization JWT 인증 토큰
      * @return 등록된 마커의 ID와 사진 정보
      */
@@ -55,6 +78,7 @@ public class MarkerController {
             @RequestParam("lng") String lng,
             @RequestParam("description") String description,
             @RequestParam(value = "images", required = false) MultipartFile[] images,
+            @RequestParam(value = "upload_ids", required = false) List<String> uploadIds,
             @RequestHeader(value = "Authorization", required = false) String authorization) {
         
         if (authorization == null || !authorization.startsWith("Bearer ")) {
@@ -74,6 +98,7 @@ public class MarkerController {
             return ResponseEntity.status(401).body(ApiResponse.error("사용자를 찾을 수 없습니다."));
         }
 
+        List<String> claimedUploadIds = new ArrayList<>();
         try {
             // 마커 등록
             MarkerRequestDTO markerRequest = MarkerRequestDTO.builder()
@@ -82,21 +107,37 @@ public class MarkerController {
                     .description(description)
                     .build();
             
-            Long markerId = markerService.registerMarker(markerRequest, userId);
-            
-            // 사진 업로드 및 마커 연결
-            List<String> uploadedImagePaths = new ArrayList<>();
-            if (images != null && images.length > 0) {
+            // 사진 저장은 이미지마다 병렬로 처리
+            List<MultipartFile> files = new ArrayList<>();
+            if (images != null) {
                 for (MultipartFile image : images) {
                     if (!image.isEmpty()) {
-                        String imagePath = fileUploadService.uploadImage(image);
-                        uploadedImagePaths.add(imagePath);
-                        
-                        // 사진을 마커에 연결 (쓰레기 제보 사진은 자동으로 BEFORE 타입)
-                        markerService.addPhotoToMarker(markerId, imagePath, "BEFORE", userId);
+                        files.add(image);
                     }
                 }
             }
+            // 이어 올리기로 받은 사진은 일반 업로드 사진 뒤에 같은 방식으로 처리
+            if (uploadIds != null && !uploadIds.isEmpty()) {
+                files.addAll(resumableUploadService.claim(uploadIds, userId));
+                claimedUploadIds = uploadIds;
+            }
+            List<IngestedImage> storedImages = imageIngestionService.storeAll(files);
+
+            // 마커와 사진을 한 트랜잭션에서 등록 (쓰레기 제보 사진은 자동으로 BEFORE 타입)
+            // 등록이 실패하면 트랜잭션 전에 저장한 이미지는 참조하는 사진이 없으므로 삭제
+            Long markerId;
+            try {
+                markerId = markerService.registerMarker(markerRequest, userId, storedImages);
+            } catch (RuntimeException e) {
+                imageIngestionService.discard(storedImages);
+                throw e;
+            }
+            resumableUploadService.complete(claimedUploadIds);
+
+            List<String> uploadedImagePaths = new ArrayList<>();
+            for (IngestedImage stored : storedImages) {
+                uploadedImagePaths.add(stored.getImagePath());
+            }
 
             Map<String, Object> data = new HashMap<>();
             data.put("marker_id", markerId);
@@ -105,11 +146,75 @@ public class MarkerController {
             
             return ResponseEntity.ok(ApiResponse.success("마커 등록 완료", data));
             
+        } catch (ResponseStatusException e) {
+            // 이미지 처리 과부하(503, Retry-After) 또는 이어 올리기 세션 오류
+            resumableUploadService.release(claimedUploadIds);
+            return ResponseEntity.status(e.getStatusCode()).headers(e.getHeaders())
+                    .body(ApiResponse.error("마커 등록 실패: " + e.getReason()));
         } catch (Exception e) {
+            resumableUploadService.release(claimedUploadIds);
             return ResponseEntity.badRequest().body(ApiResponse.error("마커 등록 실패: " + e.getMessage()));
         }
     }
 
+    /**
+     * CSV 또는 GeoJSON 파일의 마커들을 일괄 등록합니다.
+     * 잘못된 행은 건너뛰며, 결과에 행 번호와 실패 사유가 포함됩니다.
+     * 읽는 도중 입력 오류로 중단되면 이미 커밋된 마커는 유지되며, 207(Multi-Status)과 함께
+     * 저장된 수와 중단된 행 번호를 반환합니다.
+     *
+     * @param file 업로드할 CSV/GeoJSON 파일
+     * @param format 파일 형식 (csv, geojson, 생략 시 확장자로 판단)
+     * @param authorization JWT 인증 토큰
+     * @return 등록 결과 (성공/실패 수, 처리 속도, 행별 오류)
+     */
+    @PostMapping("/import")
+
+    public ResponseEntity<ApiResponse<MarkerImportResultDTO>> importMarkers(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body(ApiResponse.error("인증 토큰이 필요합니다."));
+        }
+
+        String token = authorization.substring(7);
+        String username = jwtUtil.validateAndGetUsername(token);
+        if (username == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("유효하지 않은 토큰입니다."));
+        }
+
+        Long userId = userRepository.findByUsername(username)
+                .map(u -> u.getId())
+                .orElse(null);
+        if (userId == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("사용자를 찾을 수 없습니다."));
+        }
+
+        if (format == null || format.isBlank()) {
+            String filename = file.getOriginalFilename();
+            format = filename != null && filename.contains(".")
+                    ? filename.substring(filename.lastIndexOf('.') + 1)
+                    : "csv";
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            MarkerImportResultDTO result = markerImportService.importMarkers(in, format, userId);
+            if (result.isAborted()) {
+                return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(ApiResponse.<MarkerImportResultDTO>builder()
+                        .success(false)
+                        .message("마커 일괄 등록 중단 (" + result.getAbortedAtRow() + "행, "
+                                + result.getImportedCount() + "건 저장됨): " + result.getAbortReason())
+                        .data(result)
+                        .build());
+            }
+            return ResponseEntity.ok(ApiResponse.success("마커 일괄 등록 완료", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("마커 일괄 등록 실패: " + e.getMessage()));
+        }
+    }
+
     /**
      * 모든 활성 마커를 조회합니다.
      * 
@@ -122,6 +227,186 @@ public class MarkerController {
         return ResponseEntity.ok(ApiResponse.success("마커 조회 완료", markers));
     }
 
+    /**
+     * 활성 마커를 커서 기반으로 한 페이지씩 조회합니다.
+     * size 파라미터가 있을 때만 이 방식으로 동작하며, 없으면 기존처럼 전체 목록을 반환합니다.
+     *
+     * @param cursor 이전 페이지 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기 (1~500)
+     * @return 마커 목록과 다음 페이지 커서
+     */
+    @GetMapping(params = {"size", "!format"})
+
+    public ResponseEntity<ApiResponse<MarkerPageResponseDTO>> getActiveMarkersPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size) {
+        try {
+            MarkerPageResponseDTO page = markerService.getActiveMarkersPage(cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("마커 조회 완료", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("마커 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 모든 활성 마커를 NDJSON(application/x-ndjson, 한 줄에 마커 하나)으로 스트리밍합니다.
+     *
+     * @return 마커를 순차적으로 출력하는 스트리밍 응답
+     */
+    @GetMapping(params = "format=ndjson")
+
+    public ResponseEntity<StreamingResponseBody> streamActiveMarkers() {
+        StreamingResponseBody body = markerService::streamActiveMarkers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * 마커 변경 내역(created, cleaned, removed)을 Server-Sent Events로 구독합니다.
+     * 각 이벤트의 ID는 "서버 시작 시각:순번" 형식이며, 재접속 시 Last-Event-ID 이후의 변경부터 이어서 받습니다.
+     * 서버 재시작 등으로 이어받을 수 없는 경우 reset 이벤트가 전송되며, 클라이언트는 전체 목록을 다시 조회해야 합니다.
+     *
+     * @param lastEventId 마지막으로 받은 이벤트 ID (최초 구독 시 생략)
+     * @return SSE 스트림
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+
+    public SseEmitter streamMarkerChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return markerChangeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * 지도 화면 범위 내의 활성 마커를 조회합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @return 범위 내 활성 마커 목록
+     */
+    @GetMapping("/viewport")
+
+    public ResponseEntity<ApiResponse<List<MarkerResponseDTO>>> getMarkersInViewport(
+            @RequestParam("minLat") double minLat,
+            @RequestParam("maxLat") double maxLat,
+            @RequestParam("minLng") double minLng,
+            @RequestParam("maxLng") double maxLng) {
+        try {
+            List<MarkerResponseDTO> markers = markerService.getMarkersInViewport(minLat, maxLat, minLng, maxLng);
+            return ResponseEntity.ok(ApiResponse.success("범위 내 마커 조회 완료", markers));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("범위 내 마커 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 지도 화면 범위와 줌 레벨에 맞는 마커 클러스터를 조회합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @param zoom 지도 줌 레벨 (0~20)
+     * @return 클러스터 중심 좌표와 마커 수 목록
+     */
+    @GetMapping("/clusters")
+
+    public ResponseEntity<ApiResponse<List<MarkerClusterResponseDTO>>> getMarkerClusters(
+            @RequestParam("minLat") double minLat,
+            @RequestParam("maxLat") double maxLat,
+            @RequestParam("minLng") double minLng,
+            @RequestParam("maxLng") double maxLng,
+            @RequestParam("zoom") int zoom) {
+        try {
+            List<MarkerClusterResponseDTO> clusters = markerService.getMarkerClusters(minLat, maxLat, minLng, maxLng, zoom);
+            return ResponseEntity.ok(ApiResponse.success("마커 클러스터 조회 완료", clusters));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("마커 클러스터 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 지정한 범위의 마커 밀도(히트맵)를 상태별로 조회합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @param resolution 셀 한 변의 크기 (도 단위, 기본 0.01, 0.001의 배수로 맞춰짐, 최대 180)
+     * @param from 집계 시작 월 (yyyy-MM, 생략 시 제한 없음)
+     * @param to 집계 종료 월 (yyyy-MM, 생략 시 제한 없음)
+     * @return 셀 중심 좌표와 상태별 마커 수 목록
+     */
+    @GetMapping("/heatmap")
+
+    public ResponseEntity<ApiResponse<List<HeatmapCellResponseDTO>>> getHeatmap(
+            @RequestParam("minLat") double minLat,
+            @RequestParam("maxLat") double maxLat,
+            @RequestParam("minLng") double minLng,
+            @RequestParam("maxLng") double maxLng,
+            @RequestParam(value = "resolution", defaultValue = "0.01") double resolution,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to) {
+        try {
+            List<HeatmapCellResponseDTO> cells = markerService.getHeatmap(minLat, maxLat, minLng, maxLng, resolution, from, to);
+            return ResponseEntity.ok(ApiResponse.success("마커 히트맵 조회 완료", cells));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("마커 히트맵 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 기준 좌표에서 가까운 활성 마커를 거리순으로 조회합니다.
+     *
+     * @param lat 기준 위도
+     * @param lng 기준 경도
+     * @param k 최대 조회 개수 (기본 10, 최대 100)
+     * @param maxMeters 최대 검색 반경 (미터, 생략 시 제한 없음)
+     * @return 거리순 주변 마커 목록
+     */
+    @GetMapping("/nearest")
+
+    public ResponseEntity<ApiResponse<List<NearestMarkerResponseDTO>>> getNearestMarkers(
+            @RequestParam("lat") double lat,
+            @RequestParam("lng") double lng,
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "maxMeters", required = false) Double maxMeters) {
+        try {
+            List<NearestMarkerResponseDTO> markers = markerService.getNearestMarkers(lat, lng, k, maxMeters);
+            return ResponseEntity.ok(ApiResponse.success("주변 마커 조회 완료", markers));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("주변 마커 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 활성 마커를 z/x/y 바이너리 타일로 조회합니다.
+     * 타일 포맷은 {@link MarkerTileService}를 참고하세요.
+     *
+     * @param z 줌 레벨 (0~20)
+     * @param x 타일 x 좌표
+     * @param y 타일 y 좌표
+     * @return 인코딩된 타일 바이트
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}")
+
+    public ResponseEntity<byte[]> getMarkerTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y) {
+        try {
+            byte[] tile = markerTileService.getTile(z, x, y);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic())
+                    .body(tile);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 특정 마커의 상세 정보를 조회합니다.
      * 
@@ -150,6 +435,28 @@ public class MarkerController {
         return ResponseEntity.ok(ApiResponse.success("사용자별 마커 조회 완료", markers));
     }
 
+    /**
+     * 특정 사용자가 제보한 마커들을 커서 기반으로 한 페이지씩 조회합니다.
+     *
+     * @param userId 제보자 사용자 ID
+     * @param cursor 이전 페이지 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기 (1~500)
+     * @return 마커 목록과 다음 페이지 커서
+     */
+    @GetMapping(value = "/user/{userId}", params = "size")
+
+    public ResponseEntity<ApiResponse<MarkerPageResponseDTO>> getMarkersByUserIdPage(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size) {
+        try {
+            MarkerPageResponseDTO page = markerService.getMarkersByUserIdPage(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("사용자별 마커 조회 완료", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("사용자별 마커 조회 실패: " + e.getMessage()));
+        }
+    }
+
     /**
      * 마커를 삭제합니다 (제보자만 가능).
      * 
@@ -5,12 +5,15 @@ import com.example.hamkae.config.JwtUtil;
 import com.example.hamkae.repository.UserRepository;
 
 import com.example.hamkae.service.PhotoService;
+import com.example.hamkae.service.ResumableUploadService;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +35,7 @@ public class PhotoController {
     private final PhotoService photoService;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final ResumableUploadService resumableUploadService;
 
     /**
      * 청소 인증용 사진을 업로드합니다.
@@ -39,6 +43,7 @@ public class PhotoController {
      * 
      * @param markerId 마커 ID
      * @param images 업로드할 이미지 파일들 (form-data의 'images' 키로 전송)
+     * @param uploadIds 이어 올리기(/uploads)로 업로드를 마친 세션 ID들 (images와 합쳐 한 장 이상 필요)
      * @param authorization JWT 인증 토큰
      * @return 업로드된 사진 정보
      */
@@ -46,7 +51,8 @@ public class PhotoController {
 
     public ResponseEntity<ApiResponse<Map<String, Object>>> uploadCleanupPhoto(
             @RequestParam("marker_id") Long markerId,
-            @RequestParam("images") MultipartFile[] images,
+            @RequestParam(value = "images", required = false) MultipartFile[] images,
+            @RequestParam(value = "upload_ids", required = false) List<String> uploadIds,
             @RequestHeader(value = "Authorization", required = false) String authorization) {
         
         // 인증 토큰 검증
@@ -67,9 +73,30 @@ public class PhotoController {
             return ResponseEntity.status(401).body(ApiResponse.error("사용자를 찾을 수 없습니다."));
         }
 
+        // 일반 업로드 사진과 이어 올리기 세션 중 하나 이상은 있어야 함
+        List<MultipartFile> files = new ArrayList<>();
+        if (images != null) {
+            for (MultipartFile image : images) {
+                if (!image.isEmpty()) {
+                    files.add(image);
+                }
+            }
+        }
+        if (files.isEmpty() && (uploadIds == null || uploadIds.isEmpty())) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("업로드할 사진(images 또는 upload_ids)이 필요합니다."));
+        }
+
+        List<String> claimedUploadIds = new ArrayList<>();
         try {
+            // 이어 올리기로 받은 사진은 일반 업로드 사진 뒤에 같은 방식으로 처리
+            if (uploadIds != null && !uploadIds.isEmpty()) {
+                files.addAll(resumableUploadService.claim(uploadIds, userId));
+                claimedUploadIds = uploadIds;
+            }
+
             // 청소 인증용 사진들 업로드 (자동으로 AFTER 타입)
-            List<Long> photoIds = photoService.uploadCleanupPhotos(markerId, images, userId);
+            List<Long> photoIds = photoService.uploadCleanupPhotos(markerId, files.toArray(new MultipartFile[0]), userId);
+            resumableUploadService.complete(claimedUploadIds);
             
             // 응답 데이터 구성
             Map<String, Object> data = new HashMap<>();
@@ -81,7 +108,13 @@ public class PhotoController {
             
             return ResponseEntity.ok(ApiResponse.success("청소 인증용 사진 업로드 완료", data));
             
+        } catch (ResponseStatusException e) {
+            // 이미지 처리 과부하(503, Retry-After) 또는 이어 올리기 세션 오류
+            resumableUploadService.release(claimedUploadIds);
+            return ResponseEntity.status(e.getStatusCode()).headers(e.getHeaders())
+                    .body(ApiResponse.error("사진 업로드 실패: " + e.getReason()));
         } catch (Exception e) {
+            resumableUploadService.release(claimedUploadIds);
             return ResponseEntity.badRequest().body(ApiResponse.error("사진 업로드 실패: " + e.getMessage()));
         }
     }
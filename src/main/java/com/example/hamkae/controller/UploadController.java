@@ -0,0 +1,229 @@
+package com.example.hamkae.controller;
+
+import com.example.hamkae.DTO.ApiResponse;
+import com.example.hamkae.DTO.UploadSessionResponseDTO;
+import com.example.hamkae.config.JwtUtil;
+import com.example.hamkae.repository.UserRepository;
+import com.example.hamkae.service.ResumableUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+
+/**
+ * 이어 올리기(resumable) 사진 업로드 API를 처리하는 컨트롤러 클래스
+ *
+ * 1. POST /uploads 로 세션을 만들고
+ * 2. PATCH /uploads/{id} 로 Upload-Offset 헤더와 함께 청크 바이트를 본문에 담아 보내고
+ *    (연결이 끊기면 GET /uploads/{id} 의 Upload-Offset부터 다시 전송)
+ * 3. 완료된 세션 ID를 POST /markers 또는 POST /photos/upload/cleanup 의 upload_ids로 전달합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/uploads")
+
+public class UploadController {
+
+    /**
+     * 서버가 받은 바이트 수(다음 청크 시작 위치)를 주고받는 헤더
+     */
+    private static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+
+    private final ResumableUploadService resumableUploadService;
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+
+    /**
+     * 업로드 세션을 생성합니다.
+     *
+     * @param filename 원본 파일명
+     * @param contentType 파일 MIME 타입 (image/*)
+     * @param size 전체 파일 크기 (바이트)
+     * @param authorization JWT 인증 토큰
+     * @return 생성된 세션 정보
+     */
+    @PostMapping
+
+    public ResponseEntity<ApiResponse<UploadSessionResponseDTO>> createSession(
+            @RequestParam("filename") String filename,
+            @RequestParam("content_type") String contentType,
+            @RequestParam("size") long size,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body(ApiResponse.error("인증 토큰이 필요합니다."));
+        }
+
+        String token = authorization.substring(7);
+        String username = jwtUtil.validateAndGetUsername(token);
+        if (username == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("유효하지 않은 토큰입니다."));
+        }
+
+        Long userId = userRepository.findByUsername(username)
+                .map(u -> u.getId())
+                .orElse(null);
+        if (userId == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("사용자를 찾을 수 없습니다."));
+        }
+
+        try {
+            UploadSessionResponseDTO session = resumableUploadService.createSession(userId, filename, contentType, size);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .body(ApiResponse.success("업로드 세션 생성 완료", session));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(ApiResponse.error("업로드 세션 생성 실패: " + e.getReason()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("업로드 세션 생성 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 청크를 업로드합니다. 요청 본문의 바이트를 Upload-Offset 위치부터 이어 씁니다.
+     * 오프셋이 서버와 다르면 409와 함께 서버의 현재 오프셋을 Upload-Offset 헤더로 돌려줍니다.
+     *
+     * @param uploadId 세션 ID
+     * @param offset 청크 시작 위치
+     * @param request 청크 바이트를 본문으로 담은 HTTP 요청
+     * @param authorization JWT 인증 토큰
+     * @return 청크 반영 후 세션 정보
+     */
+    @PatchMapping("/{uploadId}")
+
+    public ResponseEntity<ApiResponse<UploadSessionResponseDTO>> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET_HEADER) long offset,
+            HttpServletRequest request,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body(ApiResponse.error("인증 토큰이 필요합니다."));
+        }
+
+        String token = authorization.substring(7);
+        String username = jwtUtil.validateAndGetUsername(token);
+        if (username == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("유효하지 않은 토큰입니다."));
+        }
+
+        Long userId = userRepository.findByUsername(username)
+                .map(u -> u.getId())
+                .orElse(null);
+        if (userId == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("사용자를 찾을 수 없습니다."));
+        }
+
+        try (InputStream body = request.getInputStream()) {
+            UploadSessionResponseDTO session = resumableUploadService.appendChunk(
+                    uploadId, userId, offset, request.getContentLengthLong(), body);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .body(ApiResponse.success(session.isComplete() ? "업로드 완료" : "청크 업로드 완료", session));
+        } catch (ResponseStatusException e) {
+            return withCurrentOffset(ResponseEntity.status(e.getStatusCode()), uploadId, userId)
+                    .body(ApiResponse.error("청크 업로드 실패: " + e.getReason()));
+        } catch (Exception e) {
+            return withCurrentOffset(ResponseEntity.badRequest(), uploadId, userId)
+                    .body(ApiResponse.error("청크 업로드 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 업로드 세션 상태를 조회합니다. 연결이 끊긴 뒤 이어 보낼 위치를 확인할 때 사용합니다.
+     *
+     * @param uploadId 세션 ID
+     * @param authorization JWT 인증 토큰
+     * @return 세션 정보
+     */
+    @GetMapping("/{uploadId}")
+
+    public ResponseEntity<ApiResponse<UploadSessionResponseDTO>> getSession(
+            @PathVariable String uploadId,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body(ApiResponse.error("인증 토큰이 필요합니다."));
+        }
+
+        String token = authorization.substring(7);
+        String username = jwtUtil.validateAndGetUsername(token);
+        if (username == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("유효하지 않은 토큰입니다."));
+        }
+
+        Long userId = userRepository.findByUsername(username)
+                .map(u -> u.getId())
+                .orElse(null);
+        if (userId == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("사용자를 찾을 수 없습니다."));
+        }
+
+        try {
+            UploadSessionResponseDTO session = resumableUploadService.getSession(uploadId, userId);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .body(ApiResponse.success("업로드 세션 조회 완료", session));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(ApiResponse.error("업로드 세션 조회 실패: " + e.getReason()));
+        }
+    }
+
+    /**
+     * 업로드 세션을 취소하고 받은 데이터를 삭제합니다.
+     *
+     * @param uploadId 세션 ID
+     * @param authorization JWT 인증 토큰
+     * @return 취소 결과
+     */
+    @DeleteMapping("/{uploadId}")
+
+    public ResponseEntity<ApiResponse<Void>> cancelSession(
+            @PathVariable String uploadId,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body(ApiResponse.error("인증 토큰이 필요합니다."));
+        }
+
+        String token = authorization.substring(7);
+        String username = jwtUtil.validateAndGetUsername(token);
+        if (username == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("유효하지 않은 토큰입니다."));
+        }
+
+        Long userId = userRepository.findByUsername(username)
+                .map(u -> u.getId())
+                .orElse(null);
+        if (userId == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("사용자를 찾을 수 없습니다."));
+        }
+
+        try {
+            resumableUploadService.cancelSession(uploadId, userId);
+            return ResponseEntity.ok(ApiResponse.success("업로드 취소 완료"));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(ApiResponse.error("업로드 취소 실패: " + e.getReason()));
+        }
+    }
+
+    /**
+     * 오류 응답에 서버의 현재 오프셋을 붙여 클라이언트가 바로 이어 보낼 수 있게 합니다.
+     */
+    private ResponseEntity.BodyBuilder withCurrentOffset(ResponseEntity.BodyBuilder builder, String uploadId, Long userId) {
+        try {
+            long current = resumableUploadService.getSession(uploadId, userId).getOffset();
+            return builder.header(UPLOAD_OFFSET_HEADER, String.valueOf(current));
+        } catch (ResponseStatusException e) {
+            return builder;
+        }
+    }
+}
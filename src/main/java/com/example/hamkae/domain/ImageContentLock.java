@@ -0,0 +1,31 @@
+package com.example.hamkae.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 내용 해시로 저장된 이미지 파일의 잠금 행 엔티티 클래스
+ * 같은 내용의 파일을 저장(재사용)하는 작업과 삭제하는 작업이 이 행을 SELECT ... FOR UPDATE로 잠가
+ * 서로 겹치지 않도록 하며, DB 잠금이므로 여러 서버가 같은 S3 저장소를 공유해도 동작합니다.
+ * 행은 파일이 삭제되어도 지우지 않습니다 (같은 내용이 다시 올라오면 그대로 재사용).
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "image_content_locks")
+public class ImageContentLock {
+
+    /**
+     * 이미지 저장소 키 (예: cas/ab/ab12...ef.jpg)
+     */
+    @Id
+    @Column(length = 200)
+    private String storageKey;
+}
@@ -28,7 +28,10 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "markers")
+@Table(name = "markers", indexes = {
+        @Index(name = "idx_markers_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_markers_reported_by_created_at", columnList = "reported_by, created_at, id")
+})
 public class Marker {
 
     /**
@@ -0,0 +1,58 @@
+package com.example.hamkae.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제를 미룬 이미지 파일 엔티티 클래스
+ * 내용 해시로 저장된 파일이 최근에 재사용되어 바로 지울 수 없으면 여기에 기록해 두고,
+ * 유예 기간이 지난 뒤 ImageDeletionSweeper가 참조가 없을 때 삭제합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "pending_image_deletions", indexes = {
+        @Index(name = "idx_pending_image_deletions_delete_after", columnList = "delete_after")
+})
+public class PendingImageDeletion {
+
+    /**
+     * 고유 식별자 (Primary Key)
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 삭제할 이미지 접근 경로
+     */
+    @Column(nullable = false, unique = true, length = 500)
+    private String imagePath;
+
+    /**
+     * 이 일시 이후에 삭제를 다시 시도
+     */
+    @Column(nullable = false)
+    private LocalDateTime deleteAfter;
+
+    /**
+     * 삭제 시도 일시를 늦춥니다.
+     *
+     * @param deleteAfter 새 삭제 시도 일시
+     */
+    public void postpone(LocalDateTime deleteAfter) {
+        if (deleteAfter.isAfter(this.deleteAfter)) {
+            this.deleteAfter = deleteAfter;
+        }
+    }
+}
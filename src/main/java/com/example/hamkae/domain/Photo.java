@@ -24,7 +24,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "photos")
+@Table(name = "photos", indexes = {
+        @Index(name = "idx_photos_image_path", columnList = "image_path")
+})
 public class Photo {
 
     /**
@@ -85,6 +87,63 @@ public class Photo {
     @Column(columnDefinition = "TEXT")
     private String gptResponse;
 
+    /**
+     * 이미지 너비 (픽셀)
+     * 업로드 시 측정되며, 측정할 수 없었던 사진은 null
+     */
+    private Integer width;
+
+    /**
+     * 이미지 높이 (픽셀)
+     */
+    private Integer height;
+
+    /**
+     * 이미지 파일 크기 (바이트)
+     */
+    private Long fileSize;
+
+    /**
+     * 평균 밝기 (0-255)
+     */
+    private Double meanBrightness;
+
+    /**
+     * 대비 (밝기의 표준편차)
+     */
+    private Double contrast;
+
+    /**
+     * 64비트 지각 해시 (유사 이미지 판별용)
+     */
+    private Long perceptualHash;
+
+    /**
+     * 파일 내용의 SHA-256 해시 (16진수 소문자)
+     */
+    @Column(length = 64)
+    private String sha256;
+
+    /**
+     * EXIF GPS 촬영 위치 위도 (위치 정보가 없는 사진은 null)
+     */
+    private Double gpsLatitude;
+
+    /**
+     * EXIF GPS 촬영 위치 경도
+     */
+    private Double gpsLongitude;
+
+    /**
+     * EXIF 촬영 일시 (촬영 기기의 현지 시각, 없는 사진은 null)
+     */
+    private LocalDateTime capturedAt;
+
+    /**
+     * EXIF 이미지 방향 (1-8)
+     */
+    private Integer orientation;
+
     /**
      * 사진 업로드일시
      * 자동 생성되며 수정 불가
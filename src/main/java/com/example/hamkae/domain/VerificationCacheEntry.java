@@ -0,0 +1,76 @@
+package com.example.hamkae.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 검증 결과 캐시 엔티티 클래스
+ * 같은 BEFORE/AFTER 사진 내용을 같은 모델과 프롬프트로 다시 검증할 때 GPT를 호출하지 않도록 응답을 보관합니다.
+ * 키가 사진 내용 해시이므로 사진이 바뀌면 자연히 다른 키가 되어 무효화가 필요 없습니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "verification_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_verification_cache_key",
+                columnNames = {"before_sha256", "after_sha256", "model", "prompt_version"})
+})
+public class VerificationCacheEntry {
+
+    /**
+     * 캐시 고유 식별자 (Primary Key)
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 청소 전 사진 내용의 SHA-256 해시
+     */
+    @Column(nullable = false, length = 64)
+    private String beforeSha256;
+
+    /**
+     * 청소 후 사진 내용의 SHA-256 해시
+     */
+    @Column(nullable = false, length = 64)
+    private String afterSha256;
+
+    /**
+     * 검증에 사용한 GPT 모델명
+     */
+    @Column(nullable = false, length = 50)
+    private String model;
+
+    /**
+     * 검증에 사용한 프롬프트 버전
+     */
+    @Column(nullable = false, length = 20)
+    private String promptVersion;
+
+    /**
+     * GPT 응답 (JSON)
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String gptResponse;
+
+    /**
+     * 캐시 생성일시
+     */
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
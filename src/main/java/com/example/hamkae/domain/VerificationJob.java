@@ -0,0 +1,186 @@
+package com.example.hamkae.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 검증 작업 대기열 엔티티 클래스
+ * 청소 인증 사진 등록과 같은 트랜잭션에서 추가되어, 서버가 재시작되어도 작업이 유실되지 않습니다.
+ * 작업자는 임대(lease) 시간 동안 작업을 점유하며, 실패한 작업은 지수 백오프 후 다시 시도되고
+ * 최대 시도 횟수를 넘기면 DEAD 상태로 남습니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "verification_jobs", indexes = {
+        @Index(name = "idx_verification_jobs_status_next_run", columnList = "status, next_run_at"),
+        @Index(name = "idx_verification_jobs_status_lease", columnList = "status, lease_until")
+})
+public class VerificationJob {
+
+    /**
+     * 작업 고유 식별자 (Primary Key)
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 검증할 마커 ID (마커가 삭제되어도 작업 기록은 남도록 연관관계 대신 ID로 보관)
+     */
+    @Column(nullable = false)
+    private Long markerId;
+
+    /**
+     * 청소 인증 사진을 업로드한 사용자 ID
+     */
+    @Column(nullable = false)
+    private Long userId;
+
+    /**
+     * 작업 상태
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    /**
+     * 지금까지 시도한 횟수 (작업을 점유할 때마다 증가)
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    /**
+     * 다음 실행 가능 일시 (재시도 대기 중이면 백오프가 끝나는 시점)
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextRunAt;
+
+    /**
+     * 작업 점유 만료 일시 (이 시각까지 완료되지 않으면 다른 작업자가 다시 점유할 수 있음)
+     */
+    private LocalDateTime leaseUntil;
+
+    /**
+     * 작업을 점유한 작업자 ID
+     */
+    @Column(length = 100)
+    private String lockedBy;
+
+    /**
+     * 마지막 실패 사유
+     */
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    /**
+     * 작업 생성일시
+     */
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 작업 상태 변경일시
+     */
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    /**
+     * 작업 상태를 나타내는 열거형
+     */
+    public enum JobStatus {
+        PENDING,    // 실행 대기 (재시도 대기 포함)
+        RUNNING,    // 작업자가 점유하여 실행 중
+        SUCCEEDED,  // 완료
+        DEAD        // 최대 시도 횟수 초과로 중단
+    }
+
+    // ========== 비즈니스 메서드 ==========
+
+    /**
+     * 작업자가 작업을 점유합니다.
+     *
+     * @param workerId 작업자 ID
+     * @param leaseUntil 점유 만료 일시
+     */
+    public void claim(String workerId, LocalDateTime leaseUntil) {
+        this.status = JobStatus.RUNNING;
+        this.attempts++;
+        this.lockedBy = workerId;
+        this.leaseUntil = leaseUntil;
+    }
+
+    /**
+     * 작업을 완료 상태로 변경합니다.
+     */
+    public void succeed() {
+        this.status = JobStatus.SUCCEEDED;
+        this.leaseUntil = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 실패한 작업을 지정한 시각 이후 다시 실행하도록 대기 상태로 돌립니다.
+     *
+     * @param nextRunAt 다음 실행 가능 일시
+     * @param error 실패 사유
+     */
+    public void retryAt(LocalDateTime nextRunAt, String error) {
+        this.status = JobStatus.PENDING;
+        this.nextRunAt = nextRunAt;
+        this.leaseUntil = null;
+        this.lockedBy = null;
+        this.lastError = error;
+    }
+
+    /**
+     * 실행하지 못한 점유를 취소하고 시도 횟수를 되돌려 바로 다시 점유할 수 있게 합니다.
+     */
+    public void release() {
+        this.status = JobStatus.PENDING;
+        this.attempts--;
+        this.nextRunAt = LocalDateTime.now();
+        this.leaseUntil = null;
+        this.lockedBy = null;
+    }
+
+    /**
+     * 더 이상 재시도하지 않도록 작업을 중단 상태로 변경합니다.
+     *
+     * @param error 실패 사유
+     */
+    public void markDead(String error) {
+        this.status = JobStatus.DEAD;
+        this.leaseUntil = null;
+        this.lastError = error;
+    }
+
+    /**
+     * 작업자가 아직 이 작업을 점유하고 있는지 확인합니다.
+     * 점유 만료 후 다른 작업자가 다시 점유했다면 false 입니다.
+     *
+     * @param workerId 작업자 ID
+     * @param attempt 점유할 때의 시도 횟수
+     * @return 점유 중이면 true
+     */
+    public boolean isHeldBy(String workerId, int attempt) {
+        return status == JobStatus.RUNNING && workerId.equals(lockedBy) && attempts == attempt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hamkae.repository;
+
+import com.example.hamkae.domain.ImageContentLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 내용 해시 이미지 잠금 행 데이터 접근을 위한 Repository 인터페이스
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface ImageContentLockRepository extends JpaRepository<ImageContentLock, String> {
+
+    /**
+     * 저장소 키의 잠금 행을 배타 잠금(SELECT ... FOR UPDATE)과 함께 조회합니다.
+     * 트랜잭션 안에서 호출해야 하며, 잠금은 커밋 시 해제됩니다.
+     *
+     * @param storageKey 이미지 저장소 키
+     * @return 잠금을 획득한 행 (행이 아직 없으면 빈 값)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ImageContentLock l WHERE l.storageKey = :storageKey")
+    Optional<ImageContentLock> findForUpdate(@Param("storageKey") String storageKey);
+}
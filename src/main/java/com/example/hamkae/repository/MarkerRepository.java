@@ -2,11 +2,15 @@ package com.example.hamkae.repository;
 
 import com.example.hamkae.domain.Marker;
 import com.example.hamkae.domain.Marker.MarkerStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,15 @@ import java.util.Optional;
 @Repository
 public interface MarkerRepository extends JpaRepository<Marker, Long> {
 
+    /**
+     * 마커를 사진 컬렉션과 함께 한 번의 쿼리로 조회합니다.
+     *
+     * @param id 마커 ID
+     * @return 사진이 초기화된 마커
+     */
+    @EntityGraph(attributePaths = "photos")
+    Optional<Marker> findWithPhotosById(Long id);
+
     /**
      * 특정 사용자가 제보한 마커들을 조회합니다.
      *
@@ -44,6 +57,62 @@ public interface MarkerRepository extends JpaRepository<Marker, Long> {
     @Query("SELECT m FROM Marker m WHERE m.status = 'ACTIVE' ORDER BY m.createdAt DESC")
     List<Marker> findActiveMarkers();
 
+    /**
+     * 활성 마커 목록의 첫 페이지를 (등록일시, ID) 내림차순으로 조회합니다.
+     *
+     * @param pageable 조회 개수 (페이지 번호는 항상 0)
+     * @return 활성 마커 목록
+     */
+    @Query("SELECT m FROM Marker m WHERE m.status = 'ACTIVE' ORDER BY m.createdAt DESC, m.id DESC")
+    List<Marker> findActiveMarkersFirstPage(Pageable pageable);
+
+    /**
+     * 커서 (등록일시, ID) 이후의 활성 마커를 조회합니다 (keyset 페이지네이션).
+     * OFFSET 없이 인덱스 (status, created_at, id)를 따라 바로 다음 위치부터 읽습니다.
+     *
+     * @param createdAt 이전 페이지 마지막 마커의 등록일시
+     * @param id 이전 페이지 마지막 마커의 ID
+     * @param pageable 조회 개수 (페이지 번호는 항상 0)
+     * @return 커서 이후의 활성 마커 목록
+     */
+    @Query("SELECT m FROM Marker m WHERE m.status = 'ACTIVE' " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Marker> findActiveMarkersAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /**
+     * 특정 사용자가 제보한 마커 목록의 첫 페이지를 (등록일시, ID) 내림차순으로 조회합니다.
+     *
+     * @param userId 제보자 사용자 ID
+     * @param pageable 조회 개수 (페이지 번호는 항상 0)
+     * @return 해당 사용자가 제보한 마커 목록
+     */
+    @Query("SELECT m FROM Marker m WHERE m.reportedBy.id = :userId ORDER BY m.createdAt DESC, m.id DESC")
+    List<Marker> findByReportedByIdFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 커서 (등록일시, ID) 이후의 특정 사용자 제보 마커를 조회합니다 (keyset 페이지네이션).
+     *
+     * @param userId 제보자 사용자 ID
+     * @param createdAt 이전 페이지 마지막 마커의 등록일시
+     * @param id 이전 페이지 마지막 마커의 ID
+     * @param pageable 조회 개수 (페이지 번호는 항상 0)
+     * @return 커서 이후의 해당 사용자 제보 마커 목록
+     */
+    @Query("SELECT m FROM Marker m WHERE m.reportedBy.id = :userId " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Marker> findByReportedByIdAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
     /**
      * 특정 좌표 범위 내의 마커들을 조회합니다.
      *
@@ -61,6 +130,25 @@ public interface MarkerRepository extends JpaRepository<Marker, Long> {
             @Param("maxLng") Double maxLng
     );
 
+    /**
+     * 활성 상태(ACTIVE)인 마커들의 좌표만 조회합니다.
+     * 메모리 공간 인덱스 재구성 시 사진 등 연관 엔티티를 읽지 않기 위해 사용합니다.
+     *
+     * @return 활성 마커 좌표 목록
+     */
+    @Query("SELECT m.id AS id, m.lat AS lat, m.lng AS lng, m.status AS status, m.createdAt AS createdAt " +
+            "FROM Marker m WHERE m.status = 'ACTIVE'")
+    List<MarkerPoint> findActiveMarkerPoints();
+
+    /**
+     * 모든 상태의 마커 좌표를 조회합니다.
+     * 상태별 밀도 집계(히트맵) 재구성 시 사용합니다.
+     *
+     * @return 전체 마커 좌표 목록
+     */
+    @Query("SELECT m.id AS id, m.lat AS lat, m.lng AS lng, m.status AS status, m.createdAt AS createdAt FROM Marker m")
+    List<MarkerPoint> findAllMarkerPoints();
+
     /**
      * 특정 사용자가 제보한 마커의 개수를 조회합니다.
      *
@@ -76,4 +164,15 @@ public interface MarkerRepository extends JpaRepository<Marker, Long> {
      * @return 해당 상태의 마커 개수
      */
     long countByStatus(MarkerStatus status);
+
+    /**
+     * 마커 좌표 조회용 프로젝션
+     */
+    interface MarkerPoint {
+        Long getId();
+        BigDecimal getLat();
+        BigDecimal getLng();
+        MarkerStatus getStatus();
+        LocalDateTime getCreatedAt();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.hamkae.repository;
+
+import com.example.hamkae.domain.PendingImageDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 삭제를 미룬 이미지 파일 데이터 접근을 위한 Repository 인터페이스
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface PendingImageDeletionRepository extends JpaRepository<PendingImageDeletion, Long> {
+
+    /**
+     * 이미지 경로로 삭제 예약을 조회합니다.
+     *
+     * @param imagePath 이미지 접근 경로
+     * @return 삭제 예약
+     */
+    Optional<PendingImageDeletion> findByImagePath(String imagePath);
+
+    /**
+     * 삭제 시도 일시가 지난 예약을 오래된 순으로 조회합니다.
+     *
+     * @param now 기준 일시
+     * @param pageable 최대 조회 수
+     * @return 삭제 예약 목록
+     */
+    List<PendingImageDeletion> findByDeleteAfterLessThanEqualOrderByDeleteAfter(LocalDateTime now, Pageable pageable);
+}
@@ -1,11 +1,16 @@
 package com.example.hamkae.repository;
 
 import com.example.hamkae.domain.Photo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Photo 엔티티를 위한 데이터 접근 계층 인터페이스
@@ -26,6 +31,17 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
      */
     List<Photo> findByMarkerId(Long markerId);
 
+    /**
+     * 여러 마커에 연결된 사진의 요약 정보를 한 번의 쿼리로 조회합니다.
+     * 마커 목록 응답을 만들 때 마커마다 사진 컬렉션을 지연 로딩하지 않기 위해 사용합니다.
+     *
+     * @param markerIds 마커 ID 목록
+     * @return 사진 요약 목록 (사진 ID 오름차순)
+     */
+    @Query("SELECT p.marker.id AS markerId, p.id AS id, p.type AS type, p.imagePath AS imagePath " +
+            "FROM Photo p WHERE p.marker.id IN :markerIds ORDER BY p.id")
+    List<PhotoSummary> findSummariesByMarkerIdIn(@Param("markerIds") Collection<Long> markerIds);
+
     /**
      * 특정 사용자가 업로드한 모든 사진을 조회합니다.
      * 
@@ -41,6 +57,7 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
      * @param type 사진 타입
      * @return 해당 마커의 특정 타입 사진 목록
      */
+    @EntityGraph(attributePaths = "marker")
     List<Photo> findByMarkerIdAndType(Long markerId, Photo.PhotoType type);
 
     /**
@@ -60,4 +77,41 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
      * @return 해당 마커의 특정 타입 사진 개수
      */
     int countByMarkerIdAndType(Long markerId, Photo.PhotoType type);
-}
+
+    /**
+     * 같은 이미지 파일을 참조하는 사진 수를 조회합니다.
+     * 내용 해시로 저장된 파일은 여러 사진이 공유하므로, 파일 삭제 전 참조 수 확인에 사용합니다.
+     *
+     * @param imagePath 이미지 접근 경로
+     * @return 해당 경로를 참조하는 사진 수
+     */
+    long countByImagePath(String imagePath);
+
+    /**
+     * 접근 경로가 주어진 문자열로 시작하는 사진 하나를 조회합니다.
+     * 파생 이미지가 아직 없을 때 확장자를 모르는 원본 경로를 찾는 데 사용합니다.
+     *
+     * @param imagePathPrefix 접근 경로 앞부분 (예: /images/2025/08/13/abc.)
+     * @return 조회된 사진
+     */
+    Optional<Photo> findFirstByImagePathStartingWith(String imagePathPrefix);
+
+    /**
+     * ID 순으로 사진을 한 페이지씩 조회합니다. (파생 이미지 보충 작업용)
+     *
+     * @param id 이전 페이지의 마지막 사진 ID
+     * @param pageable 페이지 크기
+     * @return 사진 목록
+     */
+    List<Photo> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 마커 응답용 사진 요약 프로젝션
+     */
+    interface PhotoSummary {
+        Long getMarkerId();
+        Long getId();
+        Photo.PhotoType getType();
+        String getImagePath();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.hamkae.repository;
+
+import com.example.hamkae.domain.VerificationCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * AI 검증 결과 캐시 데이터 접근을 위한 Repository 인터페이스
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface VerificationCacheEntryRepository extends JpaRepository<VerificationCacheEntry, Long> {
+
+    /**
+     * 사진 내용 해시, 모델, 프롬프트 버전으로 캐시된 검증 결과를 조회합니다.
+     *
+     * @param beforeSha256 청소 전 사진 내용 해시
+     * @param afterSha256 청소 후 사진 내용 해시
+     * @param model GPT 모델명
+     * @param promptVersion 프롬프트 버전
+     * @return 캐시된 검증 결과
+     */
+    Optional<VerificationCacheEntry> findByBeforeSha256AndAfterSha256AndModelAndPromptVersion(
+            String beforeSha256, String afterSha256, String model, String promptVersion);
+}
@@ -0,0 +1,37 @@
+package com.example.hamkae.repository;
+
+import com.example.hamkae.domain.VerificationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AI 검증 작업 대기열 데이터 접근을 위한 Repository 인터페이스
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface VerificationJobRepository extends JpaRepository<VerificationJob, Long> {
+
+    /**
+     * 실행할 수 있는 작업을 행 잠금과 함께 조회합니다.
+     * 실행 시각이 된 대기 작업과 점유 시간이 만료된 실행 중 작업이 대상이며,
+     * 다른 작업자가 잠근 행은 기다리지 않고 건너뛰므로(SKIP LOCKED) 여러 작업자가 서로 다른 작업을 가져갑니다.
+     * 트랜잭션 안에서 호출해야 하며, 잠금은 커밋 시 해제됩니다.
+     *
+     * @param now 기준 일시
+     * @param limit 최대 조회 수
+     * @return 잠금을 획득한 작업 목록 (실행 예정 순)
+     */
+    @Query(value = "SELECT * FROM verification_jobs " +
+            "WHERE (status = 'PENDING' AND next_run_at <= :now) " +
+            "OR (status = 'RUNNING' AND lease_until < :now) " +
+            "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<VerificationJob> findClaimableForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
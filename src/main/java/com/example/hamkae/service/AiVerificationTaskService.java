@@ -6,13 +6,16 @@ import com.example.hamkae.repository.MarkerRepository;
 import com.example.hamkae.repository.PhotoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
 /**
- * AI 검증을 백그라운드에서 실행하는 작업 서비스
+ * AI 검증 작업 대기열(VerificationJobWorker)에서 실행하는 AI 검증 작업 서비스
+ * 사진 조회와 결과 저장(JPA)은 블로킹 작업이므로 boundedElastic 스케줄러에서 실행하고,
+ * GPT 검증은 GptVerificationService의 논블로킹 파이프라인에 연결합니다.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,47 +27,73 @@ public class AiVerificationTaskService {
     private final GptVerificationService gptVerificationService;
 
     /**
-     * 마커의 BEFORE/AFTER 사진을 비교하여 AI 검증을 비동기로 수행합니다.
+     * 마커의 BEFORE/AFTER 사진을 비교하여 AI 검증을 수행하고 AFTER 사진에 결과를 기록합니다.
+     * GPT 호출 실패처럼 다시 시도할 수 있는 오류이면 사진을 변경하지 않고 결과만 반환합니다.
+     *
+     * @param markerId 마커 ID
+     * @param userId 청소 인증 사진을 업로드한 사용자 ID
+     * @return 검증 결과, 비교할 사진이 없으면 빈 Mono
      */
-    @Async
-    public void verifyMarkerAsync(Long markerId, Long userId) {
-        try {
-            log.info("[ASYNC] AI 검증 시작: markerId={}, userId={}", markerId, userId);
+    public Mono<GptVerificationResponseDTO> verifyMarker(Long markerId, Long userId) {
+        log.info("AI 검증 시작: markerId={}, userId={}", markerId, userId);
 
-            List<Photo> beforePhotos = photoRepository.findByMarkerIdAndType(markerId, Photo.PhotoType.BEFORE);
-            if (beforePhotos.isEmpty()) {
-                log.warn("[ASYNC] BEFORE 사진 없음: markerId={}", markerId);
-                return;
-            }
+        return Mono.zip(findFirstPhoto(markerId, Photo.PhotoType.BEFORE), findFirstPhoto(markerId, Photo.PhotoType.AFTER))
+                .flatMap(photos -> gptVerificationService.verifyCleanup(photos.getT1(), photos.getT2())
+                        .flatMap(result -> Mono.fromCallable(() -> applyResult(markerId, photos.getT2(), result))
+                                .subscribeOn(Schedulers.boundedElastic())));
+    }
 
-            List<Photo> afterPhotos = photoRepository.findByMarkerIdAndType(markerId, Photo.PhotoType.AFTER);
-            if (afterPhotos.isEmpty()) {
-                log.warn("[ASYNC] AFTER 사진 없음: markerId={}", markerId);
-                return;
-            }
+    /**
+     * 재시도를 모두 실패한 마커의 AFTER 사진을 거부 상태로 변경하여 대기 상태로 남지 않게 합니다.
+     *
+     * @param markerId 마커 ID
+     * @param error 실패 사유
+     */
+    public void rejectPendingAfterPhoto(Long markerId, String error) {
+        List<Photo> afterPhotos = photoRepository.findByMarkerIdAndType(markerId, Photo.PhotoType.AFTER);
+        if (afterPhotos.isEmpty() || !afterPhotos.get(0).isPending()) {
+            return;
+        }
+        Photo afterPhoto = afterPhotos.get(0);
+        afterPhoto.reject("AI 검증 실패: " + error);
+        photoRepository.save(afterPhoto);
+    }
 
-            Photo beforePhoto = beforePhotos.get(0);
-            Photo afterPhoto = afterPhotos.get(0);
+    // ========== 내부 메서드 ==========
 
-            GptVerificationResponseDTO result = gptVerificationService.verifyCleanup(beforePhoto, afterPhoto);
+    /**
+     * 마커의 첫 번째 사진을 조회합니다. 사진이 없으면 빈 Mono를 반환합니다.
+     */
+    private Mono<Photo> findFirstPhoto(Long markerId, Photo.PhotoType type) {
+        return Mono.fromCallable(() -> {
+            List<Photo> photos = photoRepository.findByMarkerIdAndType(markerId, type);
+            if (photos.isEmpty()) {
+                log.warn("{} 사진 없음: markerId={}", type, markerId);
+                return null;
+            }
+            return photos.get(0);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
 
-            if (result.isSuccess()) {
-                if ("APPROVED".equals(result.getVerificationResult())) {
-                    afterPhoto.approve(result.getGptResponse());
-                } else {
-                    afterPhoto.reject(result.getGptResponse());
-                }
+    /**
+     * 검증 결과를 AFTER 사진에 기록합니다.
+     */
+    private GptVerificationResponseDTO applyResult(Long markerId, Photo afterPhoto, GptVerificationResponseDTO result) {
+        if (result.isSuccess()) {
+            if ("APPROVED".equals(result.getVerificationResult())) {
+                afterPhoto.approve(result.getGptResponse());
             } else {
-                afterPhoto.reject("AI 검증 실패: " + result.getErrorMessage());
+                afterPhoto.reject(result.getGptResponse());
             }
-
-            photoRepository.save(afterPhoto);
-            log.info("[ASYNC] AI 검증 완료: markerId={}, 결과={}", markerId, result.getVerificationResult());
-
-        } catch (Exception e) {
-            log.error("[ASYNC] AI 검증 중 오류: markerId={}, userId={}", markerId, userId, e);
+        } else if (result.isRetryable()) {
+            log.warn("AI 검증 일시 실패: markerId={}, 사유={}", markerId, result.getErrorMessage());
+            return result;
+        } else {
+            afterPhoto.reject("AI 검증 실패: " + result.getErrorMessage());
         }
+
+        photoRepository.save(afterPhoto);
+        log.info("AI 검증 완료: markerId={}, 결과={}", markerId, result.getVerificationResult());
+        return result;
     }
 }
-
-
@@ -0,0 +1,50 @@
+package com.example.hamkae.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사진 EXIF 헤더에서 읽은 촬영 정보
+ * 사진에 해당 태그가 없으면 각 값은 null 입니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ExifData {
+
+    /**
+     * 촬영 위치 위도 (GPS, 남위는 음수)
+     */
+    private final Double latitude;
+
+    /**
+     * 촬영 위치 경도 (GPS, 서경은 음수)
+     */
+    private final Double longitude;
+
+    /**
+     * 촬영 일시 (DateTimeOriginal, 촬영 기기의 현지 시각)
+     */
+    private final LocalDateTime capturedAt;
+
+    /**
+     * 이미지 방향 (EXIF Orientation, 1-8)
+     */
+    private final Integer orientation;
+
+    /**
+     * 촬영 위치가 있는지 확인합니다.
+     *
+     * @return 위도와 경도가 모두 있으면 true
+     */
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.hamkae.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * JPEG EXIF 헤더 파서
+ * 압축된 픽셀 데이터(SOS 세그먼트) 앞의 헤더 세그먼트만 훑어 APP1 Exif 세그먼트를 찾고,
+ * TIFF 구조에서 GPS 좌표, 촬영 일시, 방향 태그만 읽습니다. 이미지를 디코딩하지 않습니다.
+ * 손상되었거나 지원하지 않는 형식이면 예외 대신 null 또는 비어 있는 값을 반환합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class ExifReader {
+
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_DATE_TIME = 0x0132;
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_GPS_IFD = 0x8825;
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+    private static final int TAG_GPS_LATITUDE_REF = 0x0001;
+    private static final int TAG_GPS_LATITUDE = 0x0002;
+    private static final int TAG_GPS_LONGITUDE_REF = 0x0003;
+    private static final int TAG_GPS_LONGITUDE = 0x0004;
+
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_RATIONAL = 5;
+
+    /**
+     * 타입별 값 하나의 바이트 수 (인덱스: EXIF 타입 번호)
+     */
+    private static final int[] TYPE_SIZES = {0, 1, 1, 2, 4, 8, 1, 1, 2, 4, 8, 4, 8};
+
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+
+    private static final DateTimeFormatter EXIF_DATE_TIME = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+
+    private ExifReader() {
+    }
+
+    /**
+     * JPEG 파일 내용에서 EXIF 촬영 정보를 읽습니다.
+     *
+     * @param bytes 이미지 파일 내용
+     * @return 촬영 정보, JPEG가 아니거나 EXIF 세그먼트가 없으면 null
+     */
+    public static ExifData read(byte[] bytes) {
+        if (bytes.length < 4 || (bytes[0] & 0xff) != 0xFF || (bytes[1] & 0xff) != 0xD8) {
+            return null;
+        }
+        int pos = 2;
+        while (pos + 4 <= bytes.length) {
+            if ((bytes[pos] & 0xff) != 0xFF) {
+                return null;
+            }
+            int marker = bytes[pos + 1] & 0xff;
+            if (marker == 0xFF) {
+                pos++;
+                continue;
+            }
+            // SOS 이후는 압축된 픽셀 데이터, EOI는 파일 끝
+            if (marker == 0xDA || marker == 0xD9) {
+                return null;
+            }
+            int length = ((bytes[pos + 2] & 0xff) << 8) | (bytes[pos + 3] & 0xff);
+            int segmentStart = pos + 4;
+            int segmentEnd = pos + 2 + length;
+            if (length < 2 || segmentEnd > bytes.length) {
+                return null;
+            }
+            if (marker == 0xE1 && startsWith(bytes, segmentStart, EXIF_HEADER)) {
+                try {
+                    return new Tiff(bytes, segmentStart + EXIF_HEADER.length, segmentEnd).read();
+                } catch (IndexOutOfBoundsException e) {
+                    return null;
+                }
+            }
+            pos = segmentEnd;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        if (offset + prefix.length > bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * APP1 세그먼트 안의 TIFF 구조 (IFD 오프셋은 TIFF 헤더 시작 기준)
+     */
+    private static final class Tiff {
+
+        private final byte[] bytes;
+        private final int base;
+        private final int end;
+        private boolean littleEndian;
+
+        private Double latitude;
+        private Double longitude;
+        private String latitudeRef;
+        private String longitudeRef;
+        private String dateTime;
+        private String dateTimeOriginal;
+        private Integer orientation;
+
+        private Tiff(byte[] bytes, int base, int end) {
+            this.bytes = bytes;
+            this.base = base;
+            this.end = end;
+        }
+
+        private ExifData read() {
+            if (base + 8 > end) {
+                return null;
+            }
+            if (bytes[base] == 'I' && bytes[base + 1] == 'I') {
+                littleEndian = true;
+            } else if (!(bytes[base] == 'M' && bytes[base + 1] == 'M')) {
+                return null;
+            }
+            if (u16(base + 2) != 42) {
+                return null;
+            }
+            readIfd(u32(base + 4), IfdKind.IFD0);
+
+            String capturedAt = dateTimeOriginal != null ? dateTimeOriginal : dateTime;
+            return ExifData.builder()
+                    .latitude(signed(latitude, latitudeRef, "S", 90))
+                    .longitude(signed(longitude, longitudeRef, "W", 180))
+                    .capturedAt(parseDateTime(capturedAt))
+                    .orientation(orientation != null && orientation >= 1 && orientation <= 8 ? orientation : null)
+                    .build();
+        }
+
+        private void readIfd(long offset, IfdKind kind) {
+            if (offset <= 0 || offset > end - base - 2) {
+                return;
+            }
+            int ifd = base + (int) offset;
+            int count = u16(ifd);
+            for (int i = 0; i < count; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (entry + 12 > end) {
+                    return;
+                }
+                int tag = u16(entry);
+                int type = u16(entry + 2);
+                long valueCount = u32(entry + 4);
+                if (type <= 0 || type >= TYPE_SIZES.length || valueCount <= 0 || valueCount > end) {
+                    continue;
+                }
+                long byteCount = valueCount * TYPE_SIZES[type];
+                long valueOffset = byteCount <= 4 ? entry + 8 : base + u32(entry + 8);
+                if (valueOffset + byteCount > end) {
+                    continue;
+                }
+                readEntry(kind, tag, type, (int) valueCount, (int) valueOffset);
+            }
+        }
+
+        private void readEntry(IfdKind kind, int tag, int type, int count, int valueOffset) {
+            switch (kind) {
+                case IFD0 -> {
+                    if (tag == TAG_ORIENTATION && type == TYPE_SHORT) {
+                        orientation = u16(valueOffset);
+                    } else if (tag == TAG_DATE_TIME && type == TYPE_ASCII) {
+                        dateTime = ascii(valueOffset, count);
+                    } else if (tag == TAG_EXIF_IFD && type == TYPE_LONG) {
+                        readIfd(u32(valueOffset), IfdKind.EXIF);
+                    } else if (tag == TAG_GPS_IFD && type == TYPE_LONG) {
+                        readIfd(u32(valueOffset), IfdKind.GPS);
+                    }
+                }
+                case EXIF -> {
+                    if (tag == TAG_DATE_TIME_ORIGINAL && type == TYPE_ASCII) {
+                        dateTimeOriginal = ascii(valueOffset, count);
+                    }
+                }
+                case GPS -> {
+                    if (tag == TAG_GPS_LATITUDE_REF && type == TYPE_ASCII) {
+                        latitudeRef = ascii(valueOffset, count);
+                    } else if (tag == TAG_GPS_LONGITUDE_REF && type == TYPE_ASCII) {
+                        longitudeRef = ascii(valueOffset, count);
+                    } else if (tag == TAG_GPS_LATITUDE && type == TYPE_RATIONAL && count == 3) {
+                        latitude = degrees(valueOffset);
+                    } else if (tag == TAG_GPS_LONGITUDE && type == TYPE_RATIONAL && count == 3) {
+                        longitude = degrees(valueOffset);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 도/분/초 RATIONAL 세 개를 도 단위로 변환합니다.
+         */
+        private Double degrees(int offset) {
+            double result = 0;
+            double scale = 1;
+            for (int i = 0; i < 3; i++) {
+                long numerator = u32(offset + i * 8);
+                long denominator = u32(offset + i * 8 + 4);
+                if (denominator == 0) {
+                    return null;
+                }
+                result += (double) numerator / denominator / scale;
+                scale *= 60;
+            }
+            return result;
+        }
+
+        /**
+         * 남위/서경이면 음수로 바꾸고, 범위를 벗어나거나 (0, 0)처럼 GPS 수신 전 기본값이면 버립니다.
+         */
+        private Double signed(Double value, String ref, String negativeRef, double limit) {
+            if (value == null || value > limit || (latitude != null && longitude != null && latitude == 0 && longitude == 0)) {
+                return null;
+            }
+            return negativeRef.equalsIgnoreCase(ref) ? -value : value;
+        }
+
+        private LocalDateTime parseDateTime(String value) {
+            if (value == null || value.length() < 19) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(value.substring(0, 19), EXIF_DATE_TIME);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        private String ascii(int offset, int count) {
+            int length = 0;
+            while (length < count && bytes[offset + length] != 0) {
+                length++;
+            }
+            return new String(bytes, offset, length, StandardCharsets.US_ASCII).trim();
+        }
+
+        private int u16(int offset) {
+            int b0 = bytes[offset] & 0xff;
+            int b1 = bytes[offset + 1] & 0xff;
+            return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+        }
+
+        private long u32(int offset) {
+            long b0 = bytes[offset] & 0xff;
+            long b1 = bytes[offset + 1] & 0xff;
+            long b2 = bytes[offset + 2] & 0xff;
+            long b3 = bytes[offset + 3] & 0xff;
+            return littleEndian
+                    ? (b3 << 24) | (b2 << 16) | (b1 << 8) | b0
+                    : (b0 << 24) | (b1 << 16) | (b2 << 8) | b3;
+        }
+    }
+
+    private enum IfdKind {
+        IFD0, EXIF, GPS
+    }
+}
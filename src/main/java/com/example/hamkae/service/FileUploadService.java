@@ -1,22 +1,27 @@
 package com.example.hamkae.service;
 
+import com.example.hamkae.domain.PendingImageDeletion;
+import com.example.hamkae.repository.PendingImageDeletionRepository;
+import com.example.hamkae.repository.PhotoRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 /**
  * 파일 업로드를 처리하는 서비스 클래스
- * 이미지 파일을 로컬 저장소에 저장하고 접근 경로를 반환합니다.
+ * 이미지 파일을 사진 저장소(PhotoStorage)에 저장하고 접근 경로를 반환합니다.
  * 
  * @author 윤준하
  * @version 1.0
@@ -24,44 +29,60 @@ import java.util.UUID;
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class FileUploadService {
 
     /**
-     * 업로드된 파일을 저장할 기본 디렉토리
-     * application.properties에서 설정값을 읽어옵니다.
+     * 내용 해시 기반으로 저장하는 이미지의 하위 디렉토리
      */
-    @Value("${app.upload.dir}")
-    private String uploadDir;
+    private static final String CONTENT_DIRECTORY = "cas";
 
     /**
-     * 이미지 파일을 업로드하고 저장 경로를 반환합니다.
-     * 
-     * @param file 업로드할 이미지 파일
-     * @return 저장된 파일의 접근 경로 (예: /images/2025/08/13/filename.jpg)
+     * 재사용된 직후의 공유 이미지를 삭제하지 않는 기간
+     */
+    private static final Duration DELETE_GRACE_PERIOD = Duration.ofMinutes(10);
+
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("\\.[A-Za-z0-9]{1,5}");
+
+    private final PhotoRepository photoRepository;
+    private final PendingImageDeletionRepository pendingImageDeletionRepository;
+    private final ImageContentLockService imageContentLockService;
+
+    /**
+     * 사진 파일 저장소 (로컬 파일 시스템 또는 S3 호환 저장소)
+     */
+    private final PhotoStorage photoStorage;
+
+    /**
+     * 이미 메모리로 읽어 둔 이미지 내용을 내용 해시 기반 경로에 저장하고 접근 경로를 반환합니다.
+     * 같은 내용의 파일이 이미 있으면 다시 쓰지 않고 기존 파일을 공유합니다.
+     * 같은 키의 삭제(deleteImage)와 겹치지 않도록 키별 잠금 안에서 확인하고 저장합니다.
+     *
+     * @param bytes 이미지 파일 내용
+     * @param originalFilename 원본 파일명 (확장자 추출용)
+     * @param sha256 파일 내용의 SHA-256 해시 (16진수 소문자)
+     * @return 저장된 파일의 접근 경로 (예: /images/cas/ab/ab12...ef.jpg)
      * @throws IOException 파일 저장 중 오류 발생 시
      */
-    public String uploadImage(MultipartFile file) throws IOException {
-        // 파일 유효성 검사
-        validateImageFile(file);
-
-        // 업로드 디렉토리 생성
-        String uploadPath = createUploadDirectory();
-        
-        // 고유한 파일명 생성
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = getFileExtension(originalFilename);
-        String uniqueFilename = generateUniqueFilename(fileExtension);
-        
-        // 파일 저장
-        Path filePath = Paths.get(uploadPath, uniqueFilename);
-        Files.copy(file.getInputStream(), filePath);
-        
-        // 접근 경로 반환 (웹에서 접근 가능한 경로)
-        String accessPath = "/images/" + getDatePathForWeb() + "/" + uniqueFilename;
-        
-        log.info("이미지 업로드 완료: {} -> {}", originalFilename, accessPath);
-        log.info("저장 경로: {}", filePath.toAbsolutePath());
-        return accessPath;
+    public String storeImage(byte[] bytes, String originalFilename, String sha256) throws IOException {
+        // 같은 내용이면 클라이언트가 보낸 확장자(.jpg/.jpeg 등)와 관계없이 같은 키가 되도록 내용으로 확장자 결정
+        String key = CONTENT_DIRECTORY + "/" + sha256.substring(0, 2) + "/"
+                + sha256 + contentExtension(bytes, originalFilename);
+        String accessPath = PhotoStorage.IMAGE_URL_PREFIX + key;
+
+        return imageContentLockService.withLock(key, () -> {
+            if (photoStorage.exists(key)) {
+                // 삭제 유예 기간을 다시 시작하여, 새 사진 행이 커밋되기 전에 파일이 지워지지 않도록 함
+                photoStorage.touch(key);
+                log.info("동일한 이미지가 이미 저장되어 있어 재사용: {} -> {}", originalFilename, accessPath);
+                return accessPath;
+            }
+
+            photoStorage.put(key, bytes);
+
+            log.info("이미지 저장 완료: {} -> {}", originalFilename, accessPath);
+            return accessPath;
+        });
     }
 
     /**
@@ -70,7 +91,7 @@ public class FileUploadService {
      * @param file 검사할 파일
      * @throws IllegalArgumentException 유효하지 않은 파일인 경우
      */
-    private void validateImageFile(MultipartFile file) {
+    public void validateImageFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("업로드할 파일이 없습니다.");
         }
@@ -86,70 +107,6 @@ public class FileUploadService {
         }
     }
 
-    /**
-     * 업로드 디렉토리를 생성합니다.
-     * 기본 uploads/images 폴더와 날짜별 하위 폴더를 모두 생성합니다.
-     * 
-     * @return 생성된 디렉토리 경로
-     * @throws IOException 디렉토리 생성 실패 시
-     */
-    private String createUploadDirectory() throws IOException {
-        // 1. 기본 uploads/images 폴더 생성
-        Path baseDir = Paths.get(uploadDir);
-        if (!Files.exists(baseDir)) {
-            Files.createDirectories(baseDir);
-            log.info("기본 업로드 디렉토리 생성: {}", baseDir.toAbsolutePath());
-        }
-        
-        // 2. 날짜별 하위 폴더 생성
-        String datePath = getDatePath();
-        String fullPath = uploadDir + datePath;
-        
-        Path directory = Paths.get(fullPath);
-        if (!Files.exists(directory)) {
-            Files.createDirectories(directory);
-            log.info("날짜별 업로드 디렉토리 생성: {}", directory.toAbsolutePath());
-        }
-        
-        return fullPath;
-    }
-
-    /**
-     * 현재 날짜를 기반으로 한 경로를 생성합니다 (운영체제 호환).
-     * Windows: 2025\08\13, Unix: 2025/08/13
-     * 
-     * @return 날짜 기반 경로
-     */
-    private String getDatePath() {
-        LocalDateTime now = LocalDateTime.now();
-        int year = now.getYear();
-        int month = now.getMonthValue();
-        int day = now.getDayOfMonth();
-        
-        // 운영체제 호환 경로 생성
-        return year + File.separator + 
-               String.format("%02d", month) + File.separator + 
-               String.format("%02d", day);
-    }
-
-    /**
-     * 웹 접근용 날짜 경로를 생성합니다 (항상 / 사용).
-     * 예: 2025/08/13
-     * 
-     * @return 웹 접근용 날짜 경로
-     */
-    private String getDatePathForWeb() {
-        LocalDateTime now = LocalDateTime.now();
-        int year = now.getYear();
-        int month = now.getMonthValue();
-        int day = now.getDayOfMonth();
-        
-        // 웹 접근용 경로는 항상 / 사용
-        return year + "/" + 
-               String.format("%02d", month) + "/" + 
-               String.format("%02d", day);
-    }
-
     /**
      * 파일 확장자를 추출합니다.
      * 
@@ -160,40 +117,180 @@ public class FileUploadService {
         if (filename == null || filename.lastIndexOf(".") == -1) {
             return ".jpg"; // 기본 확장자
         }
-        return filename.substring(filename.lastIndexOf("."));
+        String extension = filename.substring(filename.lastIndexOf("."));
+        // 경로 구분자 등이 섞인 확장자는 저장 경로를 벗어날 수 있으므로 기본 확장자 사용
+        return SAFE_EXTENSION.matcher(extension).matches() ? extension : ".jpg";
     }
 
     /**
-     * 고유한 파일명을 생성합니다.
-     * 
-     * @param extension 파일 확장자
-     * @return 고유한 파일명
+     * 파일 내용의 시그니처로 확장자를 결정합니다.
+     * 알 수 없는 형식이면 클라이언트 확장자를 소문자로 바꾸고 .jpeg는 .jpg로 통일하여 사용합니다.
+     *
+     * @param bytes 파일 내용
+     * @param filename 원본 파일명
+     * @return 파일 확장자 (점 포함, 소문자)
      */
-    private String generateUniqueFilename(String extension) {
-        return UUID.randomUUID().toString() + extension;
+    private String contentExtension(byte[] bytes, String filename) {
+        if (startsWith(bytes, 0, 0xFF, 0xD8, 0xFF)) {
+            return ".jpg";
+        }
+        if (startsWith(bytes, 0, 0x89, 'P', 'N', 'G')) {
+            return ".png";
+        }
+        if (startsWith(bytes, 0, 'G', 'I', 'F', '8')) {
+            return ".gif";
+        }
+        if (startsWith(bytes, 0, 'R', 'I', 'F', 'F') && startsWith(bytes, 8, 'W', 'E', 'B', 'P')) {
+            return ".webp";
+        }
+        if (startsWith(bytes, 0, 'B', 'M')) {
+            return ".bmp";
+        }
+        String extension = getFileExtension(filename).toLowerCase(Locale.ROOT);
+        return extension.equals(".jpeg") ? ".jpg" : extension;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int... signature) {
+        if (bytes.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * 업로드된 파일을 삭제합니다.
+     * 내용 해시로 저장된 파일은 여러 사진이 공유하므로, 참조하는 사진이 남아 있으면 삭제하지 않습니다.
+     * 최근에 재사용된 파일이거나 저장소 오류로 지우지 못한 파일은 삭제를 예약하며,
+     * 예약은 ImageDeletionSweeper가 유예 기간이 지난 뒤 다시 처리합니다.
+     * 참조 확인, 재사용 시각 확인, 삭제는 storeImage와 같은 키별 잠금 안에서 수행되므로
+     * 확인 직후 같은 내용이 재사용되어 새 사진이 지워진 파일을 가리키는 일이 없습니다.
+     * 사진 행이 삭제된 뒤(커밋 이후)에 호출해야 합니다.
      * 
      * @param filePath 삭제할 파일 경로
-     * @return 삭제 성공 여부
+     * @return 삭제 성공 여부 (참조가 남아 있어 유지했거나 삭제를 예약한 경우 false)
      */
     public boolean deleteImage(String filePath) {
+        DeleteOutcome outcome;
         try {
-            // /images/ 경로를 제거하고 실제 파일 경로로 변환
-            String relativePath = filePath.replace("/images/", "");
-            Path fullPath = Paths.get(uploadDir, relativePath);
-            
-            if (Files.exists(fullPath)) {
-                Files.delete(fullPath);
-                log.info("이미지 삭제 완료: {}", filePath);
-                return true;
+            // /images/ 경로를 제거하고 저장소 키로 변환
+            String key = PhotoStorage.keyOf(filePath);
+
+            if (key.startsWith(CONTENT_DIRECTORY + "/")) {
+                // 참조 확인부터 파일 삭제까지 같은 키의 저장(재사용)과 겹치지 않도록 키별 잠금 안에서 수행
+                outcome = imageContentLockService.withLock(key, () -> deleteIfUnused(filePath, key, true));
+            } else {
+                outcome = deleteIfUnused(filePath, key, false);
             }
-            return false;
         } catch (IOException e) {
+            log.error("이미지 삭제 실패, 삭제 예약: {}", filePath, e);
+            outcome = DeleteOutcome.deferred(Instant.now().plus(DELETE_GRACE_PERIOD));
+        } catch (IllegalArgumentException e) {
             log.error("이미지 삭제 실패: {}", filePath, e);
             return false;
         }
+
+        // 예약 저장은 잠금 트랜잭션 밖에서 수행 (예약 충돌 예외로 잠금 트랜잭션이 롤백되지 않도록)
+        if (outcome.deferUntil() != null) {
+            deferDeletion(filePath, outcome.deferUntil());
+        }
+        return outcome.deleted();
+    }
+
+    /**
+     * 참조하는 사진이 없으면 원본과 파생 이미지를 삭제합니다.
+     *
+     * @param filePath 삭제할 파일 경로
+     * @param key 저장소 키
+     * @param shared 내용 해시로 저장되어 새 업로드가 재사용할 수 있는 파일인지 여부
+     * @return 삭제 결과
+     */
+    private DeleteOutcome deleteIfUnused(String filePath, String key, boolean shared) throws IOException {
+        long references = photoRepository.countByImagePath(filePath);
+        if (references > 0) {
+            log.info("다른 사진이 참조 중이므로 이미지 유지: {} (참조 {}건)", filePath, references);
+            return DeleteOutcome.KEPT;
+        }
+
+        // 방금 같은 내용이 다시 업로드되어 아직 사진 행이 커밋되지 않았을 수 있으므로 유예 기간 뒤에 다시 확인
+        if (shared) {
+            Instant lastModified = photoStorage.lastModified(key);
+            if (lastModified != null && lastModified.isAfter(Instant.now().minus(DELETE_GRACE_PERIOD))) {
+                log.info("최근 재사용된 이미지이므로 삭제 예약: {}", filePath);
+                return DeleteOutcome.deferred(lastModified.plus(DELETE_GRACE_PERIOD));
+            }
+        }
+
+        // 원본과 함께 생성된 파생 이미지(썸네일 등)도 삭제
+        for (ImageDerivative derivative : ImageDerivative.values()) {
+            photoStorage.delete(derivative.relativePathFor(filePath));
+            photoStorage.delete(derivative.legacyRelativePathFor(filePath));
+        }
+
+        if (photoStorage.delete(key)) {
+            log.info("이미지 삭제 완료: {}", filePath);
+            return DeleteOutcome.DELETED;
+        }
+        return DeleteOutcome.KEPT;
+    }
+
+    /**
+     * 삭제 시도 일시가 지난 예약을 처리합니다.
+     * 다시 미뤄지지 않은 예약(삭제했거나 참조가 생겨 지울 필요가 없어진 경우)은 제거합니다.
+     *
+     * @param limit 한 번에 처리할 최대 예약 수
+     * @return 처리한 예약 수
+     */
+    public int processDeferredDeletions(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingImageDeletion> due = pendingImageDeletionRepository
+                .findByDeleteAfterLessThanEqualOrderByDeleteAfter(now, PageRequest.of(0, limit));
+        for (PendingImageDeletion pending : due) {
+            deleteImage(pending.getImagePath());
+            pendingImageDeletionRepository.findById(pending.getId())
+                    .filter(current -> !current.getDeleteAfter().isAfter(now))
+                    .ifPresent(pendingImageDeletionRepository::delete);
+        }
+        return due.size();
+    }
+
+    /**
+     * 이미지 삭제를 예약합니다. 이미 예약되어 있으면 더 늦은 일시로 미룹니다.
+     */
+    private void deferDeletion(String filePath, Instant deleteAfter) {
+        LocalDateTime at = LocalDateTime.ofInstant(deleteAfter, ZoneId.systemDefault());
+        try {
+            PendingImageDeletion pending = pendingImageDeletionRepository.findByImagePath(filePath).orElse(null);
+            if (pending == null) {
+                pendingImageDeletionRepository.save(PendingImageDeletion.builder()
+                        .imagePath(filePath)
+                        .deleteAfter(at)
+                        .build());
+            } else {
+                pending.postpone(at);
+                pendingImageDeletionRepository.save(pending);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 동시에 같은 경로를 예약함
+            log.debug("이미지 삭제가 이미 예약됨: {}", filePath);
+        } catch (RuntimeException e) {
+            log.error("이미지 삭제 예약 실패: {}", filePath, e);
+        }
+    }
+
+    /**
+     * 이미지 삭제 결과 (삭제 여부, 삭제를 미룬 경우 다시 시도할 일시)
+     */
+    private record DeleteOutcome(boolean deleted, Instant deferUntil) {
+        static final DeleteOutcome DELETED = new DeleteOutcome(true, null);
+        static final DeleteOutcome KEPT = new DeleteOutcome(false, null);
+
+        static DeleteOutcome deferred(Instant deferUntil) {
+            return new DeleteOutcome(false, deferUntil);
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.example.hamkae.service;
+
+/**
+ * 위경도 좌표 간 거리 계산 유틸리티
+ * BigDecimal 대신 double 연산만 사용합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class GeoDistance {
+
+    /**
+     * 지구 평균 반지름 (미터)
+     */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * 두 좌표 사이의 대원 거리(haversine)를 계산합니다.
+     *
+     * @param lat1 첫 번째 좌표 위도
+     * @param lng1 첫 번째 좌표 경도
+     * @param lat2 두 번째 좌표 위도
+     * @param lng2 두 번째 좌표 경도
+     * @return 거리 (미터)
+     */
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinDLat = Math.sin((phi2 - phi1) / 2);
+        double sinDLng = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        double a = sinDLat * sinDLat + Math.cos(phi1) * Math.cos(phi2) * sinDLng * sinDLng;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hamkae.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenAI HTTP 호출 동시 실행 제한기
+ *
+ * 요금제의 요청 한도에 맞춰 동시에 진행 중인 GPT 호출 수만 max-concurrency로 제한합니다.
+ * 호출은 하나의 Flux에 넣고 flatMap 동시성 한도로 실행하므로, 자리를 기다리는 동안 스레드를 점유하지 않습니다.
+ * 이미지 준비나 결과 저장은 제한하지 않으므로 검증 작업은 호출 한도보다 많이 동시에 진행될 수 있습니다.
+ *
+ * 메트릭: verification.gpt.active(진행 중인 호출), verification.gpt.queued(자리를 기다리는 호출)
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+public class GptCallLimiter {
+
+    private final Sinks.Many<Mono<Void>> calls = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final Disposable dispatcher;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public GptCallLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${openai.api.max-concurrency:4}") int maxConcurrency) {
+        // 호출마다 오류를 호출자에게 넘기고 삼키므로 dispatcher는 종료되지 않음
+        this.dispatcher = calls.asFlux().flatMap(call -> call, maxConcurrency).subscribe();
+
+        Gauge.builder("verification.gpt.active", active, AtomicInteger::get)
+                .description("진행 중인 GPT 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("verification.gpt.queued", queued, AtomicInteger::get)
+                .description("호출 자리를 기다리는 GPT 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출을 동시 실행 한도 안에서 실행합니다.
+     * 반환된 Mono를 구독하면 대기열에 들어가며, 자리가 나면 호출을 구독합니다.
+     * 구독을 취소하면 대기 중인 호출은 건너뛰고 진행 중인 호출은 취소합니다.
+     *
+     * @param call 제한할 호출 (타임아웃은 호출 쪽에 걸어 대기 시간이 포함되지 않게 함)
+     * @return 호출 결과
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.create(sink -> {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            Sinks.One<Boolean> cancelSignal = Sinks.one();
+            sink.onCancel(() -> {
+                cancelled.set(true);
+                cancelSignal.tryEmitValue(true);
+            });
+
+            queued.incrementAndGet();
+            Mono<Void> task = Mono.defer(() -> {
+                queued.decrementAndGet();
+                if (cancelled.get()) {
+                    return Mono.<Void>empty();
+                }
+                active.incrementAndGet();
+                return call
+                        .doOnSuccess(sink::success)
+                        .doOnError(sink::error)
+                        .onErrorResume(e -> Mono.empty())
+                        .takeUntilOther(cancelSignal.asMono())
+                        .doFinally(signal -> active.decrementAndGet())
+                        .then();
+            });
+
+            // unicast sink는 동시에 여러 스레드에서 넣을 수 없으므로 직렬화
+            Sinks.EmitResult result;
+            synchronized (calls) {
+                result = calls.tryEmitNext(task);
+            }
+            if (result.isFailure()) {
+                queued.decrementAndGet();
+                sink.error(new IllegalStateException("GPT 호출 제한기가 종료되었습니다: " + result));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.dispose();
+    }
+}
@@ -8,18 +8,19 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import javax.imageio.ImageIO;
+import java.util.Locale;
 
 /**
  * GPT API를 사용하여 사진 비교 검증을 수행하는 서비스
  * 청소 전/후 사진을 비교하여 청소 완료 여부를 AI로 판단합니다.
+ * 검증은 Mono 파이프라인으로 구성되어, 파일 읽기와 디코딩/Base64 인코딩은 boundedElastic 스케줄러에서,
+ * GPT 호출은 WebClient 이벤트 루프에서 스레드를 점유하지 않고 수행됩니다.
  * 
  * @author 윤준하
  * @version 2.0
@@ -30,8 +31,16 @@ import javax.imageio.ImageIO;
 @RequiredArgsConstructor
 public class GptVerificationService {
 
+    /**
+     * GPT에 보내는 프롬프트 버전 (프롬프트나 요청 형식을 바꾸면 올려서 이전 캐시 결과를 쓰지 않게 함)
+     */
+    static final String PROMPT_VERSION = "v1";
+
     private final WebClient openAiWebClient;
     private final ImageValidationService imageValidationService;
+    private final VerificationResultCache verificationResultCache;
+    private final VerificationPreFilter verificationPreFilter;
+    private final GptCallLimiter gptCallLimiter;
 
     @Value("${openai.api.model:gpt-4o}")
     private String modelName;
@@ -48,20 +57,37 @@ public class GptVerificationService {
     @Value("${ai.verification.min-interval-minutes:1}")
     private Integer minIntervalMinutes;
 
+    @Value("${openai.api.timeout:30000}")
+    private Long timeout;
+
     /**
      * 사진 비교 검증을 수행합니다.
+     * 검증 중 발생한 오류는 실패 결과로 변환되므로 반환된 Mono는 오류로 끝나지 않습니다.
      * 
      * @param beforePhoto 청소 전 사진
      * @param afterPhoto 청소 후 사진
      * @return 검증 결과
      */
-    public GptVerificationResponseDTO verifyCleanup(Photo beforePhoto, Photo afterPhoto) {
-        try {
+    public Mono<GptVerificationResponseDTO> verifyCleanup(Photo beforePhoto, Photo afterPhoto) {
+        return Mono.defer(() -> {
             log.info("사진 검증 시작: 마커 ID {}, 사용자 ID {}", 
                     beforePhoto.getMarker().getId(), afterPhoto.getUser().getId());
 
             // 1단계: 이미지 품질 사전 검증
             validateImageQuality(beforePhoto, afterPhoto);
+
+            // BEFORE와 AFTER가 같은 파일이면 청소 전후 비교가 의미 없으므로 GPT 호출 없이 거절
+            if (beforePhoto.getSha256() != null && beforePhoto.getSha256().equals(afterPhoto.getSha256())) {
+                log.info("BEFORE/AFTER 사진 내용이 동일하여 GPT 호출 없이 거절: sha256={}", afterPhoto.getSha256());
+                return Mono.just(GptVerificationResponseDTO.builder()
+                        .success(true)
+                        .verificationResult("REJECTED")
+                        .gptResponse("{\"verification_result\": \"REJECTED\", \"confidence\": 1.0, " +
+                                "\"reason\": \"BEFORE와 AFTER 사진이 동일한 파일입니다.\"}")
+                        .confidence(1.0)
+                        .verifiedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                        .build());
+            }
             
             // 2단계: 위치 일치성 검증
             validateLocationConsistency(beforePhoto, afterPhoto);
@@ -69,26 +95,75 @@ public class GptVerificationService {
             // 3단계: 시간 간격 검증
             validateTimeInterval(beforePhoto, afterPhoto);
             
-            // 4단계: GPT Vision API 검증 (멀티모달 Base64)
-            String gptResponse = callGptVisionJson(beforePhoto, afterPhoto);
-            
-            // 5단계: 응답 파싱 및 결과 생성
-            GptVerificationResponseDTO result = parseGptResponse(gptResponse);
-            
-            log.info("사진 검증 완료: 결과 = {}, 신뢰도 = {}", 
-                    result.getVerificationResult(), result.getConfidence());
-            
-            return result;
-
-        } catch (Exception e) {
+            // 4단계: 로컬 유사도 사전 필터 (거의 같은 사진, 다른 장면은 GPT 호출 없이 거절)
+            // 5단계: GPT Vision API 검증 (멀티모달 Base64), 같은 사진 쌍의 결과가 캐시에 있으면 재사용
+            // 6단계: 응답 파싱 및 결과 생성
+            return verificationPreFilter.screen(beforePhoto, afterPhoto)
+                    .map(this::createPreFilterRejection)
+                    .switchIfEmpty(Mono.defer(() -> verifyWithCache(beforePhoto, afterPhoto)));
+        })
+        .doOnNext(result -> log.info("사진 검증 완료: 결과 = {}, 신뢰도 = {}", 
+                result.getVerificationResult(), result.getConfidence()))
+        .onErrorResume(e -> {
             log.error("사진 검증 중 오류 발생", e);
-            return GptVerificationResponseDTO.builder()
+            return Mono.just(GptVerificationResponseDTO.builder()
                     .success(false)
                     .verificationResult("REJECTED")
                     .errorMessage("검증 중 오류가 발생했습니다: " + e.getMessage())
                     .verifiedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
-                    .build();
+                    .retryable(!(e instanceof IllegalArgumentException))
+                    .build());
+        });
+    }
+
+    /**
+     * 캐시된 GPT 응답이 있으면 사용하고, 없으면 GPT Vision API를 호출한 뒤 성공한 응답을 캐시에 저장합니다.
+     * 내용 해시가 없는 사진(해시 도입 전 업로드)은 캐시를 사용하지 않습니다.
+     * 
+     * @param beforePhoto 청소 전 사진
+     * @param afterPhoto 청소 후 사진
+     * @return 검증 결과
+     */
+    private Mono<GptVerificationResponseDTO> verifyWithCache(Photo beforePhoto, Photo afterPhoto) {
+        String beforeSha256 = beforePhoto.getSha256();
+        String afterSha256 = afterPhoto.getSha256();
+        if (beforeSha256 == null || afterSha256 == null) {
+            return callGptVisionJson(beforePhoto, afterPhoto).map(this::parseGptResponse);
         }
+
+        return verificationResultCache.find(beforeSha256, afterSha256, modelName, PROMPT_VERSION)
+                .doOnNext(cached -> log.info("캐시된 AI 검증 결과 사용: before={}, after={}", beforeSha256, afterSha256))
+                .map(this::parseGptResponse)
+                .switchIfEmpty(Mono.defer(() -> callGptVisionJson(beforePhoto, afterPhoto)
+                        .map(this::parseGptResponse)
+                        .flatMap(result -> result.isSuccess()
+                                ? verificationResultCache.put(beforeSha256, afterSha256, modelName, PROMPT_VERSION,
+                                        result.getGptResponse()).thenReturn(result)
+                                : Mono.just(result))));
+    }
+
+    /**
+     * 사전 필터 판단 근거로 거절 결과를 생성합니다.
+     * 
+     * @param preFilterResult 사전 필터 판단 근거
+     * @return 거절 결과
+     */
+    private GptVerificationResponseDTO createPreFilterRejection(VerificationPreFilter.Result preFilterResult) {
+        String reason = preFilterResult.getDecision() == VerificationPreFilter.Decision.NEAR_IDENTICAL
+                ? "청소 전후 사진이 거의 같아 청소 흔적을 확인할 수 없습니다."
+                : "청소 전후 사진이 서로 다른 장소로 보입니다.";
+        String response = String.format(Locale.ROOT,
+                "{\"verification_result\": \"REJECTED\", \"confidence\": 0.9, \"reason\": \"%s\", " +
+                        "\"prefilter\": \"%s\", \"phash_distance\": %d, \"ssim\": %.3f}",
+                reason, preFilterResult.getDecision(), preFilterResult.getHashDistance(), preFilterResult.getSsim());
+
+        return GptVerificationResponseDTO.builder()
+                .success(true)
+                .verificationResult("REJECTED")
+                .gptResponse(response)
+                .confidence(0.9)
+                .verifiedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .build();
     }
 
     /**
@@ -115,6 +190,10 @@ public class GptVerificationService {
         if (!beforePhoto.getMarker().getId().equals(afterPhoto.getMarker().getId())) {
             throw new IllegalArgumentException("청소 전후 사진이 서로 다른 마커에 연결되어 있습니다.");
         }
+
+        // 청소 후 사진의 EXIF 촬영 위치가 마커 근처인지 확인 (GPS 정보가 없으면 생략)
+        imageValidationService.validateCaptureLocation(afterPhoto.getGpsLatitude(), afterPhoto.getGpsLongitude(),
+                afterPhoto.getMarker().getLat(), afterPhoto.getMarker().getLng());
         log.debug("위치 일치성 검증 완료: 마커 ID {}", beforePhoto.getMarker().getId());
     }
 
@@ -132,7 +211,7 @@ public class GptVerificationService {
             return;
         }
 
-        long timeDiff = java.time.Duration.between(beforePhoto.getCreatedAt(), afterPhoto.getCreatedAt()).toMinutes();
+        long timeDiff = calculateTimeInterval(beforePhoto, afterPhoto);
         if (timeDiff < minIntervalMinutes) {
             throw new IllegalArgumentException("청소 전후 사진의 시간 간격이 너무 짧습니다. 최소 " + minIntervalMinutes + "분 이상이어야 합니다.");
         }
@@ -188,64 +267,81 @@ public class GptVerificationService {
 
     /**
      * GPT Vision API를 호출하여 이미지를 직접 비교합니다.
+     * 두 이미지의 Base64 인코딩은 boundedElastic 스케줄러에서 동시에 수행하고,
+     * HTTP 호출은 응답을 기다리는 동안 스레드를 점유하지 않으며, GptCallLimiter의 동시 호출 한도 안에서 실행됩니다.
      * 
      * @param beforePhoto 청소 전 사진
      * @param afterPhoto 청소 후 사진
      * @return GPT API 응답
      */
-    private String callGptVisionJson(Photo beforePhoto, Photo afterPhoto) {
-        try {
-            String beforeBase64 = imageValidationService.encodeImageToBase64(beforePhoto.getImagePath());
-            String afterBase64 = imageValidationService.encodeImageToBase64(afterPhoto.getImagePath());
-
-            String systemPrompt = "당신은 환경 정리 검증 전문가입니다. 두 이미지를 비교해 실제로 쓰레기가 정리되었는지 판단하세요. 반드시 JSON만 반환하세요.";
-            String userText = "BEFORE와 AFTER 이미지를 비교하여 다음 스키마로만 응답하세요. {\\n" +
-                    "  \"verification_result\": \"APPROVED|REJECTED\",\\n" +
-                    "  \"confidence\": 0.0~1.0,\\n" +
-                    "  \"reason\": \"핵심 근거\"\\n" +
-                    "}";
-
-            var payload = java.util.Map.of(
-                    "model", modelName,
-                    "temperature", 0,
-                    "max_tokens", maxTokens,
-                    "response_format", java.util.Map.of("type", "json_object"),
-                    "messages", java.util.List.of(
-                            java.util.Map.of("role", "system", "content", systemPrompt),
-                            java.util.Map.of(
-                                    "role", "user",
-                                    "content", java.util.List.of(
-                                            java.util.Map.of("type", "text", "text", userText),
-                                            java.util.Map.of("type", "image_url", "image_url", java.util.Map.of(
-                                                    "url", "data:image/jpeg;base64," + beforeBase64,
-                                                    "detail", "low"
-                                            )),
-                                            java.util.Map.of("type", "image_url", "image_url", java.util.Map.of(
-                                                    "url", "data:image/jpeg;base64," + afterBase64,
-                                                    "detail", "low"
-                                            ))
-                                    )
-                            )
-                    )
-            );
-
-            var response = openAiWebClient.post()
-                    .uri("/v1/chat/completions")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            // 매우 단순 파싱: choices[0].message.content 을 추출
-            String content = extractJsonContentFromChatCompletions(response);
-            log.debug("GPT Vision 응답(JSON): {}", content);
-            return content;
+    private Mono<String> callGptVisionJson(Photo beforePhoto, Photo afterPhoto) {
+        return Mono.zip(encodeImage(beforePhoto), encodeImage(afterPhoto))
+                .flatMap(images -> {
+                    var payload = createVisionPayload(images.getT1(), images.getT2());
+                    // 동시 호출 한도는 HTTP 호출에만 적용 (이미지 준비와 결과 저장은 한도와 무관하게 진행)
+                    return gptCallLimiter.limit(openAiWebClient.post()
+                            .uri("/v1/chat/completions")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(payload)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .timeout(Duration.ofMillis(timeout)));
+                })
+                .map(response -> {
+                    // 매우 단순 파싱: choices[0].message.content 을 추출
+                    String content = extractJsonContentFromChatCompletions(response);
+                    log.debug("GPT Vision 응답(JSON): {}", content);
+                    return content;
+                })
+                .onErrorMap(e -> {
+                    log.error("GPT Vision 호출 실패", e);
+                    return new RuntimeException("GPT Vision 호출 실패: " + e.getMessage(), e);
+                });
+    }
 
-        } catch (Exception e) {
-            log.error("GPT Vision 호출 실패", e);
-            throw new RuntimeException("GPT Vision 호출 실패: " + e.getMessage(), e);
-        }
+    /**
+     * 이미지 파일을 읽어 Base64로 인코딩합니다.
+     * 파일 읽기와 디코딩은 블로킹 작업이므로 boundedElastic 스케줄러에서 실행합니다.
+     */
+    private Mono<String> encodeImage(Photo photo) {
+        return Mono.fromCallable(() -> imageValidationService.encodeImageToBase64(photo.getImagePath()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * GPT Vision API 요청 본문을 생성합니다.
+     */
+    private Object createVisionPayload(String beforeBase64, String afterBase64) {
+        String systemPrompt = "당신은 환경 정리 검증 전문가입니다. 두 이미지를 비교해 실제로 쓰레기가 정리되었는지 판단하세요. 반드시 JSON만 반환하세요.";
+        String userText = "BEFORE와 AFTER 이미지를 비교하여 다음 스키마로만 응답하세요. {\\n" +
+                "  \"verification_result\": \"APPROVED|REJECTED\",\\n" +
+                "  \"confidence\": 0.0~1.0,\\n" +
+                "  \"reason\": \"핵심 근거\"\\n" +
+                "}";
+
+        return java.util.Map.of(
+                "model", modelName,
+                "temperature", 0,
+                "max_tokens", maxTokens,
+                "response_format", java.util.Map.of("type", "json_object"),
+                "messages", java.util.List.of(
+                        java.util.Map.of("role", "system", "content", systemPrompt),
+                        java.util.Map.of(
+                                "role", "user",
+                                "content", java.util.List.of(
+                                        java.util.Map.of("type", "text", "text", userText),
+                                        java.util.Map.of("type", "image_url", "image_url", java.util.Map.of(
+                                                "url", "data:image/jpeg;base64," + beforeBase64,
+                                                "detail", "low"
+                                        )),
+                                        java.util.Map.of("type", "image_url", "image_url", java.util.Map.of(
+                                                "url", "data:image/jpeg;base64," + afterBase64,
+                                                "detail", "low"
+                                        ))
+                                )
+                        )
+                )
+        );
     }
 
     private String extractJsonContentFromChatCompletions(String raw) {
@@ -267,101 +363,39 @@ public class GptVerificationService {
 
     /**
      * 이미지 메타데이터를 분석합니다.
+     * 업로드 시 측정하여 Photo에 저장된 값을 사용하므로 파일을 다시 읽지 않습니다.
      */
     private ImageMetadata analyzeImageMetadata(Photo photo) {
-        try {
-            String actualPath = photo.getImagePath().replace("/images/", "C:/together/hamkae/uploads/images/");
-            Path path = Paths.get(actualPath);
-            File file = path.toFile();
-            
-            if (!file.exists()) {
-                log.warn("이미지 파일을 찾을 수 없습니다: {}", actualPath);
-                return new ImageMetadata(0, 0, 0, "UNKNOWN", "UNKNOWN");
-            }
-            
-            BufferedImage image = ImageIO.read(file);
-            if (image == null) {
-                return new ImageMetadata(0, 0, 0, "UNKNOWN", "UNKNOWN");
-            }
-            
-            return new ImageMetadata(
-                image.getWidth(),
-                image.getHeight(),
-                file.length(),
-                determineImageQuality(image),
-                analyzeImageContent(image)
-            );
-            
-        } catch (Exception e) {
-            log.warn("이미지 메타데이터 분석 실패: {}", photo.getImagePath(), e);
+        if (photo.getWidth() == null || photo.getHeight() == null) {
             return new ImageMetadata(0, 0, 0, "UNKNOWN", "UNKNOWN");
         }
+        return new ImageMetadata(
+            photo.getWidth(),
+            photo.getHeight(),
+            photo.getFileSize() != null ? photo.getFileSize() : 0,
+            determineImageQuality(photo.getWidth(), photo.getHeight()),
+            analyzeImageContent(photo.getMeanBrightness(), photo.getContrast())
+        );
     }
 
     /**
-     * 이미지 내용을 간단하게 분석합니다.
+     * 저장된 밝기와 대비로 이미지 특성을 판단합니다.
      */
-    private String analyzeImageContent(BufferedImage image) {
-        try {
-            int width = image.getWidth();
-            int height = image.getHeight();
-            
-            // 이미지의 밝기와 대비를 분석
-            long totalBrightness = 0;
-            long totalContrast = 0;
-            int samplePoints = 0;
-            
-            // 샘플링을 통해 이미지 분석 (전체 픽셀을 분석하면 너무 느림)
-            for (int x = 0; x < width; x += Math.max(1, width / 50)) {
-                for (int y = 0; y < height; y += Math.max(1, height / 50)) {
-                    int rgb = image.getRGB(x, y);
-                    int r = (rgb >> 16) & 0xff;
-                    int g = (rgb >> 8) & 0xff;
-                    int b = rgb & 0xff;
-                    
-                    // 밝기 계산 (RGB 평균)
-                    int brightness = (r + g + b) / 3;
-                    totalBrightness += brightness;
-                    
-                    // 대비 계산 (인접 픽셀과의 차이)
-                    if (x < width - 1 && y < height - 1) {
-                        int nextRgb = image.getRGB(x + 1, y + 1);
-                        int nextR = (nextRgb >> 16) & 0xff;
-                        int nextG = (nextRgb >> 8) & 0xff;
-                        int nextB = nextRgb & 0xff;
-                        int nextBrightness = (nextR + nextG + nextB) / 3;
-                        totalContrast += Math.abs(brightness - nextBrightness);
-                    }
-                    
-                    samplePoints++;
-                }
-            }
-            
-            if (samplePoints == 0) return "UNKNOWN";
-            
-            double avgBrightness = (double) totalBrightness / samplePoints;
-            double avgContrast = (double) totalContrast / samplePoints;
-            
-            // 이미지 특성 판단
-            if (avgBrightness < 50) return "DARK";
-            if (avgBrightness > 200) return "BRIGHT";
-            if (avgContrast > 100) return "HIGH_CONTRAST";
-            if (avgContrast < 30) return "LOW_CONTRAST";
-            return "NORMAL";
-            
-        } catch (Exception e) {
-            log.warn("이미지 내용 분석 실패", e);
-            return "UNKNOWN";
-        }
+    private String analyzeImageContent(Double brightness, Double contrast) {
+        if (brightness == null || contrast == null) return "UNKNOWN";
+
+        // 이미지 특성 판단 (대비는 밝기의 표준편차)
+        if (brightness < 50) return "DARK";
+        if (brightness > 200) return "BRIGHT";
+        if (contrast > 70) return "HIGH_CONTRAST";
+        if (contrast < 20) return "LOW_CONTRAST";
+        return "NORMAL";
     }
 
     /**
      * 이미지 품질을 판단합니다.
      */
-    private String determineImageQuality(BufferedImage image) {
-        int width = image.getWidth();
-        int height = image.getHeight();
-        
+    private String determineImageQuality(int width, int height) {
         if (width >= 1920 && height >= 1080) return "HIGH";
         if (width >= 1280 && height >= 720) return "MEDIUM";
         if (width >= 640 && height >= 480) return "STANDARD";
@@ -370,8 +404,13 @@ public class GptVerificationService {
 
     /**
      * 시간 간격을 계산합니다.
+     * 두 사진 모두 EXIF 촬영 일시가 있으면 촬영 일시로, 아니면 업로드일시로 계산합니다.
+     * (한쪽만 촬영 일시를 쓰면 기기 시간대 차이가 섞이므로 섞어 쓰지 않음)
      */
     private long calculateTimeInterval(Photo beforePhoto, Photo afterPhoto) {
+        if (beforePhoto.getCapturedAt() != null && afterPhoto.getCapturedAt() != null) {
+            return java.time.Duration.between(beforePhoto.getCapturedAt(), afterPhoto.getCapturedAt()).toMinutes();
+        }
         return java.time.Duration.between(beforePhoto.getCreatedAt(), afterPhoto.getCreatedAt()).toMinutes();
     }
 
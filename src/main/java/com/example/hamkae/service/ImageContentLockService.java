@@ -0,0 +1,95 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.ImageContentLock;
+import com.example.hamkae.repository.ImageContentLockRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 내용 해시 이미지 파일의 저장/삭제를 키별로 직렬화하는 서비스 클래스
+ *
+ * 작업마다 새 트랜잭션을 열어 image_content_locks 행을 배타 잠금한 뒤 작업을 실행하고, 커밋 시 잠금을 해제합니다.
+ * 호출한 쪽의 트랜잭션과 무관하게 동작하므로 커밋 이후 콜백(afterCommit)에서도 사용할 수 있습니다.
+ * 잠금 행이 없으면 잠금 트랜잭션을 끝낸 뒤 별도 트랜잭션에서 만들고 다시 잠급니다
+ * (없는 행을 잠근 트랜잭션 안에서 INSERT하면 MySQL 갭 잠금끼리 교착될 수 있음).
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+public class ImageContentLockService {
+
+    private final ImageContentLockRepository imageContentLockRepository;
+
+    /**
+     * 잠금 트랜잭션과 잠금 행 생성에 쓰는 새 트랜잭션 템플릿
+     */
+    private final TransactionTemplate newTransaction;
+
+    public ImageContentLockService(ImageContentLockRepository imageContentLockRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.imageContentLockRepository = imageContentLockRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 저장소 키의 잠금을 잡은 상태에서 작업을 실행합니다.
+     * 같은 키로 실행되는 다른 작업(다른 서버 포함)은 이 작업이 끝날 때까지 기다립니다.
+     *
+     * @param storageKey 이미지 저장소 키
+     * @param action 잠금 안에서 실행할 작업
+     * @return 작업 결과
+     * @throws IOException 작업에서 발생한 입출력 오류
+     */
+    public <T> T withLock(String storageKey, LockedAction<T> action) throws IOException {
+        try {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                AtomicBoolean missing = new AtomicBoolean();
+                T result = newTransaction.execute(status -> {
+                    if (imageContentLockRepository.findForUpdate(storageKey).isEmpty()) {
+                        missing.set(true);
+                        return null;
+                    }
+                    try {
+                        return action.run();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (!missing.get()) {
+                    return result;
+                }
+                createLockRow(storageKey);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        throw new IllegalStateException("이미지 잠금 행을 만들지 못했습니다: " + storageKey);
+    }
+
+    private void createLockRow(String storageKey) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    imageContentLockRepository.saveAndFlush(new ImageContentLock(storageKey)));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 동시에 같은 키의 잠금 행을 만듦
+        }
+    }
+
+    /**
+     * 잠금 안에서 실행할 작업
+     */
+    @FunctionalInterface
+    public interface LockedAction<T> {
+        T run() throws IOException;
+    }
+}
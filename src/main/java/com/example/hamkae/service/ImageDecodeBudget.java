@@ -0,0 +1,199 @@
+package com.example.hamkae.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미지 디코딩 메모리 예산 (디코딩 동시 실행 제어)
+ *
+ * 디코딩한 BufferedImage는 픽셀 수에 비례하는 큰 메모리를 차지하므로, 큰 이미지 업로드가 몰리면 힙이 부족해집니다.
+ * 디코딩 전에 이미지 헤더의 해상도로 필요한 픽셀 메모리를 추정하고,
+ * 그만큼의 예산을 가중치 세마포어에서 확보한 뒤에만 디코딩합니다.
+ * - 요청 처리 경로(업로드 검증/측정): 최대 max-wait-ms까지 대기하고, 그래도 부족하거나 대기 중인 작업이
+ *   max-queue 이상이면 ImageDecodeOverloadException(503, Retry-After)으로 바로 거절합니다.
+ * - 백그라운드 경로(AI 입력 인코딩, 파생 이미지 생성): 예산이 생길 때까지 기다립니다.
+ * 예산 하나보다 큰 이미지는 예산 전체를 확보하여 혼자 디코딩합니다.
+ *
+ * 메트릭: image.decode.queue.depth(대기 중인 작업 수), image.decode.budget.used(사용 중인 바이트),
+ * image.decode.wait(예산 확보 대기 시간), image.decode.rejected(거절 수)
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+public class ImageDecodeBudget {
+
+    /**
+     * 세마포어 허가 하나가 나타내는 바이트 수 (int 범위를 넘지 않도록 KB 단위로 관리)
+     */
+    private static final long UNIT_BYTES = 1024;
+
+    private final Semaphore permits;
+
+    private final int totalUnits;
+
+    /**
+     * 요청 처리 경로의 최대 대기 시간 (밀리초)
+     */
+    private final long maxWaitMs;
+
+    /**
+     * 요청 처리 경로에서 허용하는 최대 대기 작업 수
+     */
+    private final int maxQueue;
+
+    /**
+     * 거절 시 Retry-After로 안내하는 시간 (초)
+     */
+    private final long retryAfterSeconds;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Timer waitTimer;
+
+    private final Counter rejectedCounter;
+
+    public ImageDecodeBudget(
+            MeterRegistry meterRegistry,
+            @Value("${app.images.decode.budget-bytes:0}") long budgetBytes,
+            @Value("${app.images.decode.max-wait-ms:3000}") long maxWaitMs,
+            @Value("${app.images.decode.max-queue:32}") int maxQueue,
+            @Value("${app.images.decode.retry-after-seconds:5}") long retryAfterSeconds) {
+        // 설정하지 않으면 최대 힙의 1/4을 디코딩 예산으로 사용
+        long budget = budgetBytes > 0 ? budgetBytes : Runtime.getRuntime().maxMemory() / 4;
+        this.totalUnits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, budget / UNIT_BYTES));
+        this.permits = new Semaphore(totalUnits, true);
+        this.maxWaitMs = maxWaitMs;
+        this.maxQueue = maxQueue;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("image.decode.queue.depth", waiting, AtomicInteger::get)
+                .description("이미지 디코딩 예산을 기다리는 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("image.decode.budget.used", this, b -> (double) (b.totalUnits - b.permits.availablePermits()) * UNIT_BYTES)
+                .description("디코딩 중인 이미지가 사용 중인 예산")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("image.decode.wait")
+                .description("이미지 디코딩 예산 확보 대기 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("image.decode.rejected")
+                .description("예산 부족으로 거절된 디코딩 요청 수")
+                .register(meterRegistry);
+        log.info("이미지 디코딩 예산: {}MB", (long) totalUnits * UNIT_BYTES / 1024 / 1024);
+    }
+
+    /**
+     * 요청 처리 경로에서 예산을 확보한 뒤 디코딩 작업을 실행합니다.
+     *
+     * @param estimatedBytes 디코딩에 필요한 예상 메모리 (바이트)
+     * @param task 디코딩 작업
+     * @return 작업 결과
+     * @throws ImageDecodeOverloadException 대기 시간 안에 예산을 확보하지 못한 경우
+     * @throws IOException 작업 실패 또는 대기 중 인터럽트 시
+     */
+    public <T> T run(long estimatedBytes, DecodeTask<T> task) throws IOException {
+        int units = unitsFor(estimatedBytes);
+        // 대기열이 가득 차 있으면 기다리지 않고 바로 확보 가능한 경우에만 실행
+        boolean acquired = waiting.get() >= maxQueue ? permits.tryAcquire(units) : acquire(units, maxWaitMs);
+        if (!acquired) {
+            reject(estimatedBytes);
+        }
+        try {
+            return task.run();
+        } finally {
+            permits.release(units);
+        }
+    }
+
+    /**
+     * 백그라운드 경로에서 예산이 생길 때까지 기다린 뒤 디코딩 작업을 실행합니다.
+     *
+     * @param estimatedBytes 디코딩에 필요한 예상 메모리 (바이트)
+     * @param task 디코딩 작업
+     * @return 작업 결과
+     * @throws IOException 작업 실패 또는 대기 중 인터럽트 시
+     */
+    public <T> T runQueued(long estimatedBytes, DecodeTask<T> task) throws IOException {
+        int units = unitsFor(estimatedBytes);
+        acquire(units, -1);
+        try {
+            return task.run();
+        } finally {
+            permits.release(units);
+        }
+    }
+
+    /**
+     * 디코딩한 이미지가 차지할 메모리를 추정합니다. (TYPE_INT_RGB 기준 픽셀당 4바이트)
+     *
+     * @param width 디코딩 결과 너비
+     * @param height 디코딩 결과 높이
+     * @param copies 동시에 유지되는 같은 크기의 이미지 수 (예: 원본 + RGB 변환본 = 2)
+     * @return 예상 메모리 (바이트)
+     */
+    public static long estimateBytes(int width, int height, int copies) {
+        return (long) width * height * 4 * copies;
+    }
+
+    /**
+     * 예산을 확보합니다. 이미 확보 가능하면 대기 수에 포함하지 않습니다.
+     *
+     * @param timeoutMs 최대 대기 시간, 음수이면 확보할 때까지 대기
+     * @return 확보했으면 true
+     */
+    private boolean acquire(int units, long timeoutMs) throws InterruptedIOException {
+        if (permits.tryAcquire(units)) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (timeoutMs < 0) {
+                permits.acquire(units);
+                return true;
+            }
+            return permits.tryAcquire(units, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("이미지 디코딩 대기 중 인터럽트되었습니다.");
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reject(long estimatedBytes) {
+        rejectedCounter.increment();
+        log.warn("이미지 디코딩 예산 부족으로 요청 거절: 필요 {}KB, 남은 예산 {}KB, 대기 {}건",
+                estimatedBytes / UNIT_BYTES, permits.availablePermits(), waiting.get());
+        throw new ImageDecodeOverloadException(retryAfterSeconds);
+    }
+
+    private int unitsFor(long estimatedBytes) {
+        long units = (estimatedBytes + UNIT_BYTES - 1) / UNIT_BYTES;
+        return (int) Math.max(1, Math.min(totalUnits, units));
+    }
+
+    /**
+     * 예산을 확보한 상태에서 실행할 디코딩 작업
+     */
+    @FunctionalInterface
+    public interface DecodeTask<T> {
+        T run() throws IOException;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.hamkae.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 이미지 디코딩 메모리 예산이 부족하여 요청을 받을 수 없을 때 발생하는 예외
+ * 503 응답과 함께 Retry-After 헤더로 다시 시도할 시점을 알려줍니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ImageDecodeOverloadException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public ImageDecodeOverloadException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.hamkae.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약된 이미지 삭제를 주기적으로 처리하는 작업자
+ *
+ * 최근 재사용되어 바로 지우지 못한 내용 해시 파일은 pending_image_deletions에 남아 있다가,
+ * 유예 기간이 지나고 참조하는 사진이 없으면 이 작업자가 원본과 파생 이미지를 삭제합니다.
+ * 예약이 DB에 있으므로 서버가 재시작되어도 삭제가 유실되지 않습니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+public class ImageDeletionSweeper {
+
+    /**
+     * 한 번에 처리할 최대 예약 수
+     */
+    private static final int BATCH_SIZE = 100;
+
+    private final FileUploadService fileUploadService;
+
+    /**
+     * 예약 처리를 실행하는 단일 가상 스레드 실행기
+     */
+    private final ScheduledExecutorService sweeper =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("image-deletion-sweeper").factory());
+
+    public ImageDeletionSweeper(
+            FileUploadService fileUploadService,
+            @Value("${app.images.deletion-sweep-interval-seconds:300}") long sweepIntervalSeconds) {
+        this.fileUploadService = fileUploadService;
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweep() {
+        try {
+            int processed;
+            do {
+                processed = fileUploadService.processDeferredDeletions(BATCH_SIZE);
+            } while (processed == BATCH_SIZE && !sweeper.isShutdown());
+        } catch (Exception e) {
+            log.error("예약된 이미지 삭제 처리 실패", e);
+        }
+    }
+}
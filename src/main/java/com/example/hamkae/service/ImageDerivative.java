@@ -0,0 +1,138 @@
+package com.example.hamkae.service;
+
+/**
+ * 업로드 원본 이미지로부터 미리 만들어 두는 파생 이미지 크기
+ *
+ * 파생 이미지는 원본과 같은 업로드 디렉토리 아래 크기별, 생성 방식 버전별 하위 폴더에 JPEG으로 저장되며,
+ * 원본 경로가 /images/2025/08/13/abc.png 이면 썸네일은 /images/thumb/v2/2025/08/13/abc.jpg 로 제공됩니다.
+ * 파생 이미지 URL은 변경 불가(immutable)로 캐시되므로, 생성 방식이 바뀌면 버전을 올려 새 URL로 다시 생성합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public enum ImageDerivative {
+
+    /**
+     * AI 검증 입력용 (최대 800x600)
+     */
+    AI_INPUT("ai", 800, 600, 0.7f),
+
+    /**
+     * 상세 화면 미리보기용 (긴 변 최대 512px)
+     */
+    PREVIEW("preview", 512, 512, 0.8f),
+
+    /**
+     * 목록/지도 썸네일용 (긴 변 최대 128px)
+     */
+    THUMBNAIL("thumb", 128, 128, 0.8f);
+
+    private static final String IMAGE_URL_PREFIX = "/images/";
+
+    /**
+     * 파생 이미지 생성 방식 버전 (v2: EXIF 방향 적용, 이전 파일은 버전 폴더 없이 저장됨)
+     */
+    private static final String VERSION = "v2";
+
+    private final String directory;
+    private final int maxWidth;
+    private final int maxHeight;
+    private final float quality;
+
+    ImageDerivative(String directory, int maxWidth, int maxHeight, float quality) {
+        this.directory = directory;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.quality = quality;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    public float getQuality() {
+        return quality;
+    }
+
+    /**
+     * 원본 이미지 접근 경로에 대응하는 파생 이미지 접근 경로를 반환합니다.
+     *
+     * @param imagePath 원본 접근 경로 (예: /images/2025/08/13/abc.png)
+     * @return 파생 이미지 접근 경로 (예: /images/thumb/v2/2025/08/13/abc.jpg), 원본 경로가 없으면 null
+     */
+    public String urlFor(String imagePath) {
+        if (imagePath == null) {
+            return null;
+        }
+        return IMAGE_URL_PREFIX + relativePathFor(imagePath);
+    }
+
+    /**
+     * 저장소 키가 가리키는 파생 이미지 종류를 찾습니다.
+     *
+     * @param relativePath 저장소 키 (예: thumb/v2/2025/08/13/abc.jpg)
+     * @return 파생 이미지 종류, 파생 이미지 키가 아니면 null
+     */
+    public static ImageDerivative ofRelativePath(String relativePath) {
+        for (ImageDerivative derivative : values()) {
+            if (relativePath.startsWith(derivative.directory + "/")) {
+                return derivative;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 파생 이미지 키에 대응하는 원본 접근 경로에서 확장자를 뺀 앞부분을 반환합니다.
+     * 파생 이미지는 항상 .jpg 이므로 원본 확장자는 사진 정보에서 찾아야 합니다.
+     *
+     * @param relativePath 파생 이미지 키 (예: thumb/v2/2025/08/13/abc.jpg)
+     * @return 원본 접근 경로 앞부분 (예: /images/2025/08/13/abc.)
+     */
+    public String originalPathPrefixFor(String relativePath) {
+        String relative = relativePath.substring(directory.length() + 1);
+        if (relative.startsWith(VERSION + "/")) {
+            relative = relative.substring(VERSION.length() + 1);
+        }
+        int dot = relative.lastIndexOf('.');
+        return IMAGE_URL_PREFIX + (dot > relative.lastIndexOf('/') ? relative.substring(0, dot + 1) : relative + ".");
+    }
+
+    /**
+     * 업로드 디렉토리 기준 파생 이미지의 상대 경로를 반환합니다.
+     *
+     * @param imagePath 원본 접근 경로 (예: /images/2025/08/13/abc.png)
+     * @return 상대 경로 (예: thumb/v2/2025/08/13/abc.jpg)
+     */
+    public String relativePathFor(String imagePath) {
+        return directory + "/" + VERSION + "/" + withoutExtension(imagePath) + ".jpg";
+    }
+
+    /**
+     * 버전 폴더 도입 전(EXIF 방향 미적용)에 저장된 파생 이미지의 상대 경로를 반환합니다. (원본 삭제 시 함께 정리)
+     *
+     * @param imagePath 원본 접근 경로 (예: /images/2025/08/13/abc.png)
+     * @return 상대 경로 (예: thumb/2025/08/13/abc.jpg)
+     */
+    public String legacyRelativePathFor(String imagePath) {
+        return directory + "/" + withoutExtension(imagePath) + ".jpg";
+    }
+
+    private static String withoutExtension(String imagePath) {
+        String relative = imagePath.startsWith(IMAGE_URL_PREFIX)
+                ? imagePath.substring(IMAGE_URL_PREFIX.length())
+                : imagePath;
+        int slash = relative.lastIndexOf('/');
+        int dot = relative.lastIndexOf('.');
+        return dot > slash ? relative.substring(0, dot) : relative;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Photo;
+import com.example.hamkae.repository.PhotoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 파생 이미지가 없는 기존 사진의 썸네일, 미리보기, AI 입력 이미지를 보충하는 작업자
+ *
+ * 파생 이미지 도입 전에 업로드된 사진을 서버 시작 후 한 번 ID 순으로 훑어 다시 생성합니다.
+ * 사진마다 저장소 존재 확인(S3이면 HEAD 요청)이 필요하므로 매 시작마다 실행하지 않고,
+ * app.images.derivatives.backfill-on-startup=true로 한 서버에서 한 번만 실행하는 일회성 작업입니다.
+ * 업로드 처리와 디코딩 예산을 나눠 쓰므로 한 번에 한 장씩 가상 스레드 하나에서 순서대로 생성합니다.
+ * 보충하지 않았거나 생성에 실패한 파생 이미지는 ImageServingService가 원본으로 대신 제공하면서 다시 생성합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+public class ImageDerivativeBackfill {
+
+    /**
+     * 한 번에 조회할 사진 수
+     */
+    private static final int PAGE_SIZE = 200;
+
+    private final PhotoRepository photoRepository;
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    private final boolean enabled;
+
+    private final ExecutorService runner =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("image-derivative-backfill").factory());
+
+    public ImageDerivativeBackfill(
+            PhotoRepository photoRepository,
+            ImageDerivativeService imageDerivativeService,
+            @Value("${app.images.derivatives.backfill-on-startup:false}") boolean enabled) {
+        this.photoRepository = photoRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            runner.execute(this::backfill);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private void backfill() {
+        long lastId = 0;
+        int generated = 0;
+        int failed = 0;
+        // 내용 해시로 저장된 파일은 여러 사진이 공유하므로 같은 페이지 안의 중복은 한 번만 확인
+        Set<String> checked = new HashSet<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Photo> photos = photoRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, PAGE_SIZE));
+            if (photos.isEmpty()) {
+                break;
+            }
+            checked.clear();
+            for (Photo photo : photos) {
+                lastId = photo.getId();
+                if (photo.getImagePath() == null || !checked.add(photo.getImagePath())) {
+                    continue;
+                }
+                try {
+                    if (imageDerivativeService.generateIfMissing(photo.getImagePath())) {
+                        generated++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("파생 이미지 보충 실패: photoId={}, {}", photo.getId(), photo.getImagePath(), e);
+                }
+            }
+        }
+        log.info("파생 이미지 보충 완료: 생성 {}건, 실패 {}건", generated, failed);
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.hamkae.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드된 원본 이미지로 썸네일, 미리보기, AI 입력용 파생 이미지를 만드는 서비스 클래스
+ *
+ * 파생 이미지는 원본과 같은 사진 저장소에 저장되며, 업로드 요청이 끝난 뒤 크기가 제한된 백그라운드 스레드 풀에서 생성됩니다.
+ * 원본은 가장 큰 파생 크기의 약 2배 해상도로 서브샘플링하여 한 번만 디코딩하고,
+ * 큰 크기부터 차례로 축소하여 각 파생 이미지를 만듭니다.
+ * 파생 이미지는 메타데이터 없이 저장되므로, 원본의 EXIF 방향을 디코딩 직후 픽셀에 적용하여 보이는 방향으로 저장합니다.
+ * 디코딩은 ImageDecodeBudget의 예산을 확보한 뒤에만 수행합니다.
+ * 대기열이 가득 차면 업로드 요청 스레드에서 직접 생성하되, 요청 처리 경로와 같이 제한된 시간만 예산을 기다리고
+ * 그래도 부족하면 생성을 미룹니다. 미룬 파생 이미지는 처음 요청될 때(ImageServingService) 다시 생성됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    /**
+     * EXIF 방향을 찾기 위해 원본 앞부분에서 읽는 최대 바이트 수 (APP1 세그먼트 최대 크기 + 앞선 세그먼트 여유분)
+     */
+    private static final int EXIF_HEADER_BYTES = 128 * 1024;
+
+    /**
+     * 사진 파일 저장소
+     */
+    private final PhotoStorage photoStorage;
+
+    /**
+     * 이미지 디코딩 메모리 예산
+     */
+    private final ImageDecodeBudget decodeBudget;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 생성 작업이 등록되어 끝나지 않은 원본 경로 (같은 원본을 중복 생성하지 않도록 사용)
+     */
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeService(
+            PhotoStorage photoStorage,
+            ImageDecodeBudget decodeBudget,
+            @Value("${app.images.derivatives.threads:2}") int threads,
+            @Value("${app.images.derivatives.queue-capacity:200}") int queueCapacity) {
+        this.photoStorage = photoStorage;
+        this.decodeBudget = decodeBudget;
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("image-derivative-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 원본 이미지의 파생 이미지 생성을 백그라운드 작업으로 등록합니다.
+     * 같은 내용의 이미지가 이미 저장되어 파생 이미지가 모두 있거나, 같은 원본의 생성 작업이 진행 중이면 생략합니다.
+     *
+     * @param imagePath 원본 접근 경로 (예: /images/2025/08/13/abc.jpg)
+     */
+    public void generateAsync(String imagePath) {
+        if (!inProgress.add(imagePath)) {
+            return;
+        }
+        if (hasAllDerivatives(imagePath)) {
+            log.debug("파생 이미지가 이미 존재하여 생성 생략: {}", imagePath);
+            inProgress.remove(imagePath);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(imagePath);
+                } catch (Exception e) {
+                    log.warn("파생 이미지 생성 실패: {}", imagePath, e);
+                } finally {
+                    inProgress.remove(imagePath);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            generateOnCaller(imagePath);
+        }
+    }
+
+    /**
+     * 파생 이미지가 하나라도 없으면 현재 스레드에서 모두 생성합니다. (기존 사진 보충용)
+     *
+     * @param imagePath 원본 접근 경로
+     * @return 생성했으면 true, 이미 모두 있거나 다른 작업이 생성 중이면 false
+     * @throws IOException 원본을 읽을 수 없거나 저장에 실패한 경우
+     */
+    public boolean generateIfMissing(String imagePath) throws IOException {
+        if (!inProgress.add(imagePath)) {
+            return false;
+        }
+        try {
+            if (hasAllDerivatives(imagePath)) {
+                return false;
+            }
+            generate(imagePath);
+            return true;
+        } finally {
+            inProgress.remove(imagePath);
+        }
+    }
+
+    /**
+     * 원본 이미지의 모든 파생 이미지를 생성합니다. 이미 있는 파생 이미지는 덮어씁니다.
+     *
+     * @param imagePath 원본 접근 경로 (예: /images/2025/08/13/abc.jpg)
+     * @throws IOException 원본을 읽을 수 없거나 저장에 실패한 경우
+     */
+    public void generate(String imagePath) throws IOException {
+        generate(imagePath, true);
+    }
+
+    /**
+     * 대기열이 가득 차 호출 스레드(업로드 요청)에서 생성합니다.
+     * 예산 대기 시간이 제한되며, 예산이 부족하면 업로드를 실패시키지 않고 생성을 미룹니다.
+     */
+    private void generateOnCaller(String imagePath) {
+        try {
+            generate(imagePath, false);
+        } catch (ImageDecodeOverloadException e) {
+            log.info("디코딩 예산 부족으로 파생 이미지 생성 보류 (요청 시 생성): {}", imagePath);
+        } catch (Exception e) {
+            log.warn("파생 이미지 생성 실패: {}", imagePath, e);
+        } finally {
+            inProgress.remove(imagePath);
+        }
+    }
+
+    /**
+     * 원본 이미지의 모든 파생 이미지를 생성합니다.
+     *
+     * @param queued true이면 예산이 생길 때까지 기다리고(백그라운드), false이면 제한된 시간만 기다림(요청 스레드)
+     */
+    private void generate(String imagePath, boolean queued) throws IOException {
+        try (InputStream source = new BufferedInputStream(
+                photoStorage.stream(PhotoStorage.keyOf(imagePath)), EXIF_HEADER_BYTES)) {
+            // 같은 스트림을 디코딩에 다시 쓰도록 앞부분만 읽고 되돌림
+            source.mark(EXIF_HEADER_BYTES);
+            ExifData exif = ExifReader.read(source.readNBytes(EXIF_HEADER_BYTES));
+            source.reset();
+            Integer orientation = exif != null ? exif.getOrientation() : null;
+
+            try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+                Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+                if (readers == null || !readers.hasNext()) {
+                    throw new IOException("이미지를 읽을 수 없습니다: " + imagePath);
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    // 저장된 방향 기준 크기 (방향 5-8이면 보이는 방향과 가로/세로가 바뀜)
+                    int width = reader.getWidth(0);
+                    int height = reader.getHeight(0);
+                    boolean swap = ImageOrientation.swapsDimensions(orientation);
+
+                    // 가장 큰 파생 크기의 2배 이상이 남도록 서브샘플링하여 한 번만 디코딩
+                    ImageDerivative largest = ImageDerivative.AI_INPUT;
+                    int maxWidth = swap ? largest.getMaxHeight() : largest.getMaxWidth();
+                    int maxHeight = swap ? largest.getMaxWidth() : largest.getMaxHeight();
+                    int factor = Math.max(1, Math.min(width / (2 * maxWidth), height / (2 * maxHeight)));
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(factor, factor, 0, 0);
+
+                    // 디코딩 결과와 첫 축소 중간 결과가 함께 메모리에 남고, 방향을 적용하면 같은 크기의 사본이 하나 더 생김
+                    long estimatedBytes = ImageDecodeBudget.estimateBytes(
+                            (width + factor - 1) / factor, (height + factor - 1) / factor,
+                            ImageOrientation.isUpright(orientation) ? 2 : 3);
+                    ImageDecodeBudget.DecodeTask<Void> decode = () -> {
+                        writeDerivatives(imagePath, ImageOrientation.apply(reader.read(0, param), orientation));
+                        return null;
+                    };
+                    if (queued) {
+                        decodeBudget.runQueued(estimatedBytes, decode);
+                    } else {
+                        decodeBudget.run(estimatedBytes, decode);
+                    }
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+        log.debug("파생 이미지 생성 완료: {}", imagePath);
+    }
+
+    /**
+     * AI_INPUT -> PREVIEW -> THUMBNAIL 순으로 직전 결과를 다시 축소하여 저장합니다.
+     */
+    private void writeDerivatives(String imagePath, BufferedImage decoded) throws IOException {
+        BufferedImage current = decoded;
+        for (ImageDerivative derivative : ImageDerivative.values()) {
+            current = resize(current, derivative.getMaxWidth(), derivative.getMaxHeight());
+            photoStorage.put(derivative.relativePathFor(imagePath), encodeJpeg(current, derivative.getQuality()));
+        }
+    }
+
+    private boolean hasAllDerivatives(String imagePath) {
+        try {
+            for (ImageDerivative derivative : ImageDerivative.values()) {
+                if (!photoStorage.exists(derivative.relativePathFor(imagePath))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 비율을 유지하며 최대 크기 안으로 축소한 RGB 이미지를 반환합니다.
+     * 한 번에 절반 이상 줄이면 계단 현상이 생기므로 절반씩 나누어 축소합니다.
+     */
+    private static BufferedImage resize(BufferedImage image, int maxWidth, int maxHeight) {
+        double scale = Math.min(1.0, Math.min((double) maxWidth / image.getWidth(),
+                (double) maxHeight / image.getHeight()));
+        int targetWidth = Math.max(1, (int) (image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) (image.getHeight() * scale));
+
+        BufferedImage current = image;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            current = draw(current, width, height);
+        } while (current.getWidth() > targetWidth || current.getHeight() > targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = result.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, width, height, null);
+        g2d.dispose();
+        return result;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
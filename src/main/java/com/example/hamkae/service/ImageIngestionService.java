@@ -0,0 +1,268 @@
+package com.example.hamkae.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * 업로드 이미지를 한 번 읽고 한 번 디코딩하여 검증, 측정, 해시 계산, 저장을 처리하는 서비스 클래스
+ *
+ * 기존에는 품질 검증에서 이미지를 두 번 디코딩하고 저장 시 스트림을 다시 읽었지만,
+ * 이 파이프라인은 멀티파트 스트림을 한 번 읽은 바이트에서 모든 작업을 수행합니다.
+ * EXIF 촬영 정보(GPS, 촬영 일시, 방향)도 같은 바이트의 헤더에서 읽으며,
+ * 파일은 읽는 동안 계산한 SHA-256 해시 경로에 저장되어 같은 내용의 업로드는 한 번만 저장되며,
+ * 저장 후 썸네일 등 파생 이미지 생성은 백그라운드에서 진행됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageIngestionService {
+
+    private final ImageValidationService imageValidationService;
+    private final FileUploadService fileUploadService;
+    private final ImageDerivativeService imageDerivativeService;
+
+    /**
+     * 업로드 이미지를 검증하고 저장합니다.
+     *
+     * @param file 업로드된 이미지 파일
+     * @return 저장 경로와 측정값
+     * @throws IllegalArgumentException 품질 기준을 만족하지 않는 경우
+     * @throws IOException 파일 읽기/저장 중 오류 발생 시
+     */
+    public IngestedImage ingest(MultipartFile file) throws IOException {
+        return ingest(file, exif -> { });
+    }
+
+    /**
+     * 업로드 이미지를 검증하고, EXIF 촬영 정보 검사를 통과한 경우에만 저장합니다.
+     *
+     * @param file 업로드된 이미지 파일
+     * @param exifCheck EXIF 촬영 정보 검사 (EXIF가 없으면 null을 받음), 거절 시 IllegalArgumentException
+     * @return 저장 경로와 측정값
+     * @throws IllegalArgumentException 품질 기준이나 EXIF 검사를 통과하지 못한 경우
+     * @throws IOException 파일 읽기/저장 중 오류 발생 시
+     */
+    public IngestedImage ingest(MultipartFile file, Consumer<ExifData> exifCheck) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        byte[] bytes = readBytes(file, digest);
+        ImageMetrics metrics = imageValidationService.validateImageQuality(file, bytes);
+        ExifData exif = ExifReader.read(bytes);
+        exifCheck.accept(exif);
+        return store(file, bytes, HexFormat.of().formatHex(digest.digest()), metrics, exif);
+    }
+
+    /**
+     * 품질 기준 검증 없이 업로드 이미지를 저장하고 측정값을 계산합니다.
+     * 제보용 사진처럼 기존에 품질 검증을 하지 않던 경로에서 사용하며,
+     * 이미지를 읽을 수 없으면 측정값 없이 저장합니다.
+     *
+     * @param file 업로드된 이미지 파일
+     * @return 저장 경로와 측정값
+     * @throws IllegalArgumentException 이미지 파일이 아니거나 크기 제한을 넘는 경우
+     * @throws IOException 파일 읽기/저장 중 오류 발생 시
+     */
+    public IngestedImage store(MultipartFile file) throws IOException {
+        fileUploadService.validateImageFile(file);
+        MessageDigest digest = newSha256Digest();
+        byte[] bytes = readBytes(file, digest);
+        ImageMetrics metrics;
+        try {
+            metrics = imageValidationService.measureImage(bytes);
+        } catch (ImageDecodeOverloadException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("이미지 측정 실패, 측정값 없이 저장: {}", file.getOriginalFilename(), e);
+            metrics = null;
+        }
+        return store(file, bytes, HexFormat.of().formatHex(digest.digest()), metrics, ExifReader.read(bytes));
+    }
+
+    /**
+     * 여러 업로드 이미지를 병렬로 검증하고 저장합니다.
+     * 이미지마다 가상 스레드에서 처리하므로 전체 지연 시간은 가장 느린 이미지의 처리 시간에 가까워지며,
+     * 디코딩 같은 CPU 작업은 가상 스레드 캐리어 수(코어 수)만큼만 동시에 실행됩니다.
+     *
+     * @param files 업로드된 이미지 파일들 (빈 파일 제외)
+     * @return 입력 순서와 같은 순서의 저장 결과
+     * @throws IllegalArgumentException 하나라도 품질 기준을 만족하지 않는 경우
+     * @throws IOException 파일 읽기/저장 중 오류 발생 시
+     */
+    public List<IngestedImage> ingestAll(List<MultipartFile> files) throws IOException {
+        return processAll(files, this::ingest);
+    }
+
+    /**
+     * 여러 업로드 이미지를 병렬로 검증하고, EXIF 촬영 정보 검사를 통과한 경우에만 저장합니다.
+     *
+     * @param files 업로드된 이미지 파일들 (빈 파일 제외)
+     * @param exifCheck 이미지마다 실행할 EXIF 촬영 정보 검사 (EXIF가 없으면 null을 받음)
+     * @return 입력 순서와 같은 순서의 저장 결과
+     * @throws IllegalArgumentException 하나라도 품질 기준이나 EXIF 검사를 통과하지 못한 경우
+     * @throws IOException 파일 읽기/저장 중 오류 발생 시
+     */
+    public List<IngestedImage> ingestAll(List<MultipartFile> files, Consumer<ExifData> exifCheck) throws IOException {
+        return processAll(files, file -> ingest(file, exifCheck));
+    }
+
+    /**
+     * 품질 기준 검증 없이 여러 업로드 이미지를 병렬로 저장하고 측정값을 계산합니다.
+     *
+     * @param files 업로드된 이미지 파일들 (빈 파일 제외)
+     * @return 입력 순서와 같은 순서의 저장 결과
+     * @throws IllegalArgumentException 이미지 파일이 아니거나 크기 제한을 넘는 경우
+     * @throws IOException 파일 읽기/저장 중 오류 발생 시
+     */
+    public List<IngestedImage> storeAll(List<MultipartFile> files) throws IOException {
+        return processAll(files, this::store);
+    }
+
+    /**
+     * 저장을 마친 이미지들을 삭제합니다.
+     * 이미지를 저장한 뒤 사진 등록이 실패했을 때 호출하며, 다른 사진이 참조하는 파일은 유지됩니다.
+     *
+     * @param images 저장을 마친 이미지들
+     */
+    public void discard(List<IngestedImage> images) {
+        for (IngestedImage image : images) {
+            try {
+                fileUploadService.deleteImage(image.getImagePath());
+            } catch (Exception e) {
+                log.warn("저장된 이미지 정리 실패: {}", image.getImagePath(), e);
+            }
+        }
+    }
+
+    /**
+     * 이미지마다 가상 스레드를 하나씩 사용해 처리하고 입력 순서대로 결과를 모읍니다.
+     * 하나가 실패하면 나머지 작업을 취소하고, 모든 작업이 끝난 뒤 이미 저장된 이미지를 삭제하고 첫 번째 실패를 그대로 던집니다.
+     */
+    private List<IngestedImage> processAll(List<MultipartFile> files, ImageTask task) throws IOException {
+        if (files.size() <= 1) {
+            List<IngestedImage> results = new ArrayList<>();
+            for (MultipartFile file : files) {
+                results.add(task.process(file));
+            }
+            return results;
+        }
+
+        List<IngestedImage> stored = Collections.synchronizedList(new ArrayList<>());
+        List<Future<IngestedImage>> futures = new ArrayList<>();
+        Throwable failure = null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                futures.add(executor.submit(() -> {
+                    IngestedImage image = task.process(file);
+                    stored.add(image);
+                    return image;
+                }));
+            }
+
+            for (Future<IngestedImage> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                    break;
+                } catch (InterruptedException e) {
+                    failure = e;
+                    break;
+                }
+            }
+            if (failure != null) {
+                futures.forEach(f -> f.cancel(true));
+            }
+        }
+        // try-with-resources가 닫히면서 취소되지 않고 끝까지 실행된 작업까지 모두 끝난 상태
+
+        if (failure == null) {
+            List<IngestedImage> results = new ArrayList<>();
+            for (Future<IngestedImage> future : futures) {
+                results.add(future.resultNow());
+            }
+            return results;
+        }
+
+        // 실패 전에 저장을 마친 이미지는 사진으로 등록되지 않으므로 삭제
+        discard(new ArrayList<>(stored));
+        if (failure instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("이미지 처리 중 인터럽트되었습니다.");
+        }
+        throw rethrow(failure);
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException("이미지 처리 실패: " + cause.getMessage(), cause);
+    }
+
+    /**
+     * 업로드 스트림을 읽으면서 동시에 SHA-256 해시를 계산합니다.
+     */
+    private static byte[] readBytes(MultipartFile file, MessageDigest digest) throws IOException {
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private IngestedImage store(MultipartFile file, byte[] bytes, String sha256, ImageMetrics metrics,
+                                ExifData exif) throws IOException {
+        String imagePath = fileUploadService.storeImage(bytes, file.getOriginalFilename(), sha256);
+        imageDerivativeService.generateAsync(imagePath);
+
+        log.debug("이미지 수집 완료: path={}, {} bytes", imagePath, bytes.length);
+        return IngestedImage.builder()
+                .imagePath(imagePath)
+                .sizeBytes(bytes.length)
+                .sha256(sha256)
+                .metrics(metrics)
+                .exif(exif)
+                .build();
+    }
+
+    /**
+     * 업로드 이미지 하나를 처리하는 작업
+     */
+    @FunctionalInterface
+    private interface ImageTask {
+        IngestedImage process(MultipartFile file) throws IOException;
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.hamkae.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 이미지 한 장을 디코딩하여 얻은 측정값
+ * 업로드 시 한 번만 계산하여 검증과 이후 분석에 재사용합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ImageMetrics {
+
+    /**
+     * 이미지 너비 (픽셀)
+     */
+    private final int width;
+
+    /**
+     * 이미지 높이 (픽셀)
+     */
+    private final int height;
+
+    /**
+     * 평균 밝기 (0-255)
+     */
+    private final double averageBrightness;
+
+    /**
+     * 대비 (밝기의 표준편차, 0-127.5)
+     */
+    private final double contrast;
+
+    /**
+     * 64비트 지각 해시 ({@link PerceptualHash})
+     */
+    private final long perceptualHash;
+}
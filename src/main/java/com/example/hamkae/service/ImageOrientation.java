@@ -0,0 +1,71 @@
+package com.example.hamkae.service;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * EXIF 방향(Orientation) 적용 유틸리티
+ * 저장된 픽셀 배열을 EXIF 방향 값(1-8)에 따라 회전/반전하여 실제로 보이는 방향의 이미지로 바꿉니다.
+ * 5-8은 가로와 세로가 바뀌는 방향입니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class ImageOrientation {
+
+    private ImageOrientation() {
+    }
+
+    /**
+     * 변환이 필요 없는 방향인지 확인합니다. (값이 없거나 1)
+     *
+     * @param orientation EXIF 방향 (1-8, 없으면 null)
+     * @return 변환이 필요 없으면 true
+     */
+    public static boolean isUpright(Integer orientation) {
+        return orientation == null || orientation < 2 || orientation > 8;
+    }
+
+    /**
+     * 방향을 적용하면 가로와 세로가 바뀌는지 확인합니다.
+     *
+     * @param orientation EXIF 방향 (1-8, 없으면 null)
+     * @return 90도 회전이 포함된 방향(5-8)이면 true
+     */
+    public static boolean swapsDimensions(Integer orientation) {
+        return orientation != null && orientation >= 5 && orientation <= 8;
+    }
+
+    /**
+     * 이미지에 EXIF 방향을 적용합니다.
+     * 축소 이미지 비교용이므로 픽셀 단위로 옮기며, 변환이 필요 없으면 원본을 그대로 반환합니다.
+     *
+     * @param image 저장된 방향 그대로 디코딩한 이미지
+     * @param orientation EXIF 방향 (1-8, 없으면 null)
+     * @return 보이는 방향으로 바꾼 이미지
+     */
+    public static BufferedImage apply(BufferedImage image, Integer orientation) {
+        if (isUpright(orientation)) {
+            return image;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean swap = swapsDimensions(orientation);
+        BufferedImage oriented = new BufferedImage(swap ? height : width, swap ? width : height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                switch (orientation) {
+                    case 2 -> oriented.setRGB(width - 1 - x, y, rgb);               // 좌우 반전
+                    case 3 -> oriented.setRGB(width - 1 - x, height - 1 - y, rgb);  // 180도 회전
+                    case 4 -> oriented.setRGB(x, height - 1 - y, rgb);              // 상하 반전
+                    case 5 -> oriented.setRGB(y, x, rgb);                           // 주대각선 기준 반전
+                    case 6 -> oriented.setRGB(height - 1 - y, x, rgb);              // 시계 방향 90도 회전
+                    case 7 -> oriented.setRGB(height - 1 - y, width - 1 - x, rgb);  // 부대각선 기준 반전
+                    default -> oriented.setRGB(y, width - 1 - x, rgb);              // 반시계 방향 90도 회전 (8)
+                }
+            }
+        }
+        return oriented;
+    }
+}
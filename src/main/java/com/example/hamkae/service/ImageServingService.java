@@ -0,0 +1,251 @@
+package com.example.hamkae.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.example.hamkae.domain.Photo;
+import com.example.hamkae.repository.PhotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 사진 저장소의 이미지 파일을 HTTP로 전송하는 서비스 클래스
+ *
+ * 저장된 이미지는 내용이 바뀌지 않으므로(내용 해시 또는 UUID 파일명) 1년짜리 immutable 캐시와
+ * 내용 해시 기반 ETag를 내려 주어, 같은 지도 화면을 다시 볼 때 요청 자체가 발생하지 않도록 합니다.
+ * 본문은 Tomcat sendfile로 커널에서 바로 소켓으로 전송하며,
+ * sendfile을 쓸 수 없는 환경에서는 FileChannel.transferTo로 전송합니다.
+ * 단일 구간 Range 요청과 If-None-Match / If-Range 조건부 요청을 지원합니다.
+ * 파생 이미지(썸네일, 미리보기)가 아직 없으면(생성 중, 생성 실패, 파생 이미지 도입 전 사진)
+ * 캐시하지 않는 임시 리다이렉트로 원본을 내려 주고 파생 이미지 생성을 다시 요청합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Service
+public class ImageServingService {
+
+    private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * 내용 해시 기반 파일명 (cas/ab/{sha256}.ext, thumb/cas/ab/{sha256}.jpg 등)
+     */
+    private static final Pattern CONTENT_HASH_NAME = Pattern.compile("(?:^|/)([0-9a-f]{64})\\.[A-Za-z0-9]+$");
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    private final PhotoStorage photoStorage;
+
+    private final PhotoRepository photoRepository;
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    public ImageServingService(PhotoStorage photoStorage, PhotoRepository photoRepository,
+                               ImageDerivativeService imageDerivativeService) {
+        this.photoStorage = photoStorage;
+        this.photoRepository = photoRepository;
+        this.imageDerivativeService = imageDerivativeService;
+    }
+
+    /**
+     * 저장소 키에 해당하는 이미지를 응답으로 전송합니다.
+     * 원격 저장소를 사용하는 경우 로컬 캐시에 내려받은 파일을 전송합니다.
+     *
+     * @param relativePath 저장소 키 (예: 2025/08/13/abc.jpg, thumb/cas/ab/...jpg)
+     * @param request HTTP 요청
+     * @param response HTTP 응답
+     * @throws IOException 파일 전송 중 오류 발생 시
+     */
+    public void serve(String relativePath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file;
+        try {
+            // 저장소 밖의 파일(../ 등)을 가리키는 키는 거부됨
+            file = photoStorage.localPath(relativePath);
+        } catch (IllegalArgumentException e) {
+            file = null;
+        }
+        if (file == null) {
+            if (!redirectToOriginal(relativePath, response)) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
+            return;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        String etag = etagFor(relativePath, attributes);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range가 현재 ETag와 다르면 Range를 무시하고 전체를 전송
+        if (range != null && (ifRange == null || ifRange.trim().equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long contentLength = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(contentLength);
+
+        if ("HEAD".equals(request.getMethod()) || contentLength == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // 응답 본문은 서블릿 반환 후 Tomcat이 sendfile로 직접 전송 (end는 배타적)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = contentLength;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * 없는 파생 이미지 대신 원본으로 임시 리다이렉트하고 파생 이미지 생성을 요청합니다.
+     * 파생 이미지가 생기면 같은 URL로 제공되어야 하므로 리다이렉트 응답은 캐시하지 않습니다.
+     *
+     * @return 리다이렉트했으면 true, 파생 이미지 키가 아니거나 원본 사진이 없으면 false
+     */
+    private boolean redirectToOriginal(String relativePath, HttpServletResponse response) throws IOException {
+        ImageDerivative derivative = ImageDerivative.ofRelativePath(relativePath);
+        if (derivative == null) {
+            return false;
+        }
+        String original = photoRepository.findFirstByImagePathStartingWith(derivative.originalPathPrefixFor(relativePath))
+                .map(Photo::getImagePath)
+                .orElse(null);
+        if (original == null) {
+            return false;
+        }
+        imageDerivativeService.generateAsync(original);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.sendRedirect(original);
+        return true;
+    }
+
+    /**
+     * 내용 해시 파일명이면 해시(파생 이미지는 크기 폴더 포함)를, 그 외에는 크기와 수정 시각을 ETag로 사용합니다.
+     */
+    private static String etagFor(String relativePath, BasicFileAttributes attributes) {
+        Matcher matcher = CONTENT_HASH_NAME.matcher(relativePath);
+        if (matcher.find()) {
+            int slash = relativePath.indexOf('/');
+            String prefix = relativePath.startsWith("cas/") || slash < 0 ? "" : relativePath.substring(0, slash) + "-";
+            return "\"" + prefix + matcher.group(1) + "\"";
+        }
+        return "\"" + Long.toHexString(attributes.size()) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 단일 구간 Range 헤더를 해석합니다.
+     *
+     * @return {start, end} (end 포함), 해석할 수 없는 형식(다중 구간 등)이면 빈 배열(전체 전송),
+     *         범위를 만족할 수 없으면 null
+     */
+    private static long[] parseRange(String range, long length) {
+        Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+        if (!matcher.matches()) {
+            return new long[0];
+        }
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return new long[0];
+                }
+                // bytes=-N : 마지막 N바이트
+                long suffix = Long.parseLong(last);
+                if (suffix == 0 || length == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            if (!last.isEmpty() && Long.parseLong(last) < start) {
+                // 끝이 시작보다 작은 구간은 문법 오류이므로 Range를 무시
+                return new long[0];
+            }
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.hamkae.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * 축소 이미지 기반 SSIM(구조적 유사도) 유틸리티
+ * 두 이미지를 64x64 그레이스케일로 축소한 뒤 8x8 창을 4픽셀 간격으로 옮기며 계산한 SSIM의 평균을 반환합니다.
+ * 1에 가까울수록 구조가 같은 이미지이고, 0 근처이면 서로 관련 없는 이미지입니다.
+ * 가로/세로 비율을 유지하지 않고 정사각형으로 축소하므로 비율이 비슷한 두 이미지를 비교할 때만 의미가 있습니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class ImageSimilarity {
+
+    private static final int SAMPLE_SIZE = 64;
+    private static final int WINDOW_SIZE = 8;
+    private static final int WINDOW_STRIDE = 4;
+
+    /**
+     * 분모가 0에 가까울 때를 위한 안정화 상수 ((0.01 * 255)^2, (0.03 * 255)^2)
+     */
+    private static final double C1 = 6.5025;
+    private static final double C2 = 58.5225;
+
+    private ImageSimilarity() {
+    }
+
+    /**
+     * 두 이미지의 SSIM을 계산합니다.
+     *
+     * @param a 첫 번째 이미지 (서브샘플링된 이미지도 가능)
+     * @param b 두 번째 이미지
+     * @return 평균 SSIM (-1.0~1.0)
+     */
+    public static double ssim(BufferedImage a, BufferedImage b) {
+        double[] x = luma(a);
+        double[] y = luma(b);
+        double pixels = WINDOW_SIZE * WINDOW_SIZE;
+
+        double total = 0;
+        int windows = 0;
+        for (int wy = 0; wy + WINDOW_SIZE <= SAMPLE_SIZE; wy += WINDOW_STRIDE) {
+            for (int wx = 0; wx + WINDOW_SIZE <= SAMPLE_SIZE; wx += WINDOW_STRIDE) {
+                double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+                for (int dy = 0; dy < WINDOW_SIZE; dy++) {
+                    int row = (wy + dy) * SAMPLE_SIZE + wx;
+                    for (int dx = 0; dx < WINDOW_SIZE; dx++) {
+                        double px = x[row + dx];
+                        double py = y[row + dx];
+                        sumX += px;
+                        sumY += py;
+                        sumXX += px * px;
+                        sumYY += py * py;
+                        sumXY += px * py;
+                    }
+                }
+                double meanX = sumX / pixels;
+                double meanY = sumY / pixels;
+                double varX = sumXX / pixels - meanX * meanX;
+                double varY = sumYY / pixels - meanY * meanY;
+                double covariance = sumXY / pixels - meanX * meanY;
+
+                total += ((2 * meanX * meanY + C1) * (2 * covariance + C2))
+                        / ((meanX * meanX + meanY * meanY + C1) * (varX + varY + C2));
+                windows++;
+            }
+        }
+        return total / windows;
+    }
+
+    /**
+     * 이미지를 SAMPLE_SIZE x SAMPLE_SIZE로 축소하여 밝기 값 배열(행 우선)을 반환합니다.
+     */
+    private static double[] luma(BufferedImage image) {
+        BufferedImage small = new BufferedImage(SAMPLE_SIZE, SAMPLE_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = small.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, SAMPLE_SIZE, SAMPLE_SIZE, null);
+        g2d.dispose();
+
+        double[] luma = new double[SAMPLE_SIZE * SAMPLE_SIZE];
+        for (int y = 0; y < SAMPLE_SIZE; y++) {
+            for (int x = 0; x < SAMPLE_SIZE; x++) {
+                int rgb = small.getRGB(x, y);
+                luma[y * SAMPLE_SIZE + x] = 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+            }
+        }
+        return luma;
+    }
+}
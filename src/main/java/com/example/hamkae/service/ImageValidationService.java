@@ -1,16 +1,22 @@
 package com.example.hamkae.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.Base64;
+import java.util.Iterator;
 import java.util.UUID;
 
 /**
@@ -23,6 +29,7 @@ import java.util.UUID;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ImageValidationService {
 
     // 최소 이미지 해상도
@@ -39,6 +46,25 @@ public class ImageValidationService {
     // 최대 파일 크기 (10MB)
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
 
+    // 밝기 분석용 디코딩 시 가로/세로 샘플링 간격 (10픽셀마다 1픽셀)
+    private static final int BRIGHTNESS_SAMPLE_STEP = 10;
+
+    /**
+     * 사진 파일 저장소
+     */
+    private final PhotoStorage photoStorage;
+
+    /**
+     * 이미지 디코딩 메모리 예산
+     */
+    private final ImageDecodeBudget decodeBudget;
+
+    /**
+     * 사진 촬영 위치(EXIF GPS)와 마커 사이의 최대 허용 거리 (미터, 0 이하이면 검증하지 않음)
+     */
+    @Value("${ai.verification.max-photo-distance-meters:1000}")
+    private double maxPhotoDistanceMeters;
+
     /**
      * 이미지 파일의 품질을 검증합니다.
      * 
@@ -46,24 +72,111 @@ public class ImageValidationService {
      * @throws IllegalArgumentException 품질 기준을 만족하지 않는 경우
      */
     public void validateImageQuality(MultipartFile file) {
+        byte[] bytes;
+        try (InputStream in = file.getInputStream()) {
+            bytes = in.readAllBytes();
+        } catch (Exception e) {
+            log.error("이미지 품질 검증 실패: {}", file.getOriginalFilename(), e);
+            throw new IllegalArgumentException("이미지 품질 검증 실패: " + e.getMessage());
+        }
+        validateImageQuality(file, bytes);
+    }
+
+    /**
+     * 이미 읽어 둔 파일 내용으로 이미지 품질을 검증하고 측정값을 반환합니다.
+     * 해상도는 이미지 헤더에서 읽으므로 픽셀을 디코딩하지 않으며,
+     * 밝기 분석은 10픽셀 간격으로 서브샘플링하여 디코딩한 이미지로 수행합니다.
+     * (4096x4096 이미지 기준 디코딩 버퍼가 약 64MB에서 약 0.7MB로 줄어듭니다.)
+     *
+     * @param file 검증할 이미지 파일 (파일명, 크기, 타입 확인용)
+     * @param bytes 파일 내용
+     * @return 이미지 측정값
+     * @throws IllegalArgumentException 품질 기준을 만족하지 않는 경우
+     */
+    public ImageMetrics validateImageQuality(MultipartFile file, byte[] bytes) {
         try {
             // 1. 기본 파일 검증
             validateBasicFile(file);
-            
-            // 2. 이미지 해상도 검증
-            validateImageResolution(file);
-            
+
+            // 2. 이미지 해상도 검증 (헤더만 읽은 뒤 디코딩 전에 수행)
+            ImageMetrics metrics = readMetrics(bytes, true);
+
             // 3. 이미지 내용 검증
-            validateImageContent(file);
-            
+            validateImageContent(metrics.getAverageBrightness());
+
             log.info("이미지 품질 검증 통과: {}", file.getOriginalFilename());
-            
+            return metrics;
+
+        } catch (ImageDecodeOverloadException e) {
+            throw e;
         } catch (Exception e) {
             log.error("이미지 품질 검증 실패: {}", file.getOriginalFilename(), e);
             throw new IllegalArgumentException("이미지 품질 검증 실패: " + e.getMessage());
         }
     }
 
+    /**
+     * 품질 기준 검증 없이 이미지 측정값만 계산합니다.
+     *
+     * @param bytes 이미지 파일 내용
+     * @return 이미지 측정값
+     * @throws IllegalArgumentException 이미지를 읽을 수 없는 경우
+     * @throws IOException 이미지 디코딩 실패 시
+     */
+    public ImageMetrics measureImage(byte[] bytes) throws IOException {
+        return readMetrics(bytes, false);
+    }
+
+    /**
+     * 이미지 헤더에서 해상도를 읽고, 서브샘플링 디코딩한 이미지로 밝기/대비/지각 해시를 계산합니다.
+     *
+     * @param bytes 이미지 파일 내용
+     * @param validateResolution 디코딩 전에 해상도 기준을 검증할지 여부
+     * @return 이미지 측정값
+     * @throws IOException 이미지 디코딩 실패 시
+     */
+    private ImageMetrics readMetrics(byte[] bytes, boolean validateResolution) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("이미지를 읽을 수 없습니다. 파일이 손상되었을 수 있습니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (validateResolution) {
+                    validateImageResolution(width, height);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(BRIGHTNESS_SAMPLE_STEP, BRIGHTNESS_SAMPLE_STEP, 0, 0);
+
+                // 서브샘플링 결과 외에 디코더가 원본 너비의 MCU 행(최대 16행)을 버퍼로 사용
+                long estimatedBytes = ImageDecodeBudget.estimateBytes(
+                        (width + BRIGHTNESS_SAMPLE_STEP - 1) / BRIGHTNESS_SAMPLE_STEP,
+                        (height + BRIGHTNESS_SAMPLE_STEP - 1) / BRIGHTNESS_SAMPLE_STEP, 1)
+                        + ImageDecodeBudget.estimateBytes(width, 16, 1);
+                return decodeBudget.run(estimatedBytes, () -> {
+                    BufferedImage sampled = reader.read(0, param);
+                    double averageBrightness = calculateAverageBrightness(sampled);
+
+                    return ImageMetrics.builder()
+                            .width(width)
+                            .height(height)
+                            .averageBrightness(averageBrightness)
+                            .contrast(calculateContrast(sampled, averageBrightness))
+                            .perceptualHash(PerceptualHash.compute(sampled))
+                            .build();
+                });
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
     /**
      * 기본 파일 검증을 수행합니다.
      * 
@@ -99,18 +212,10 @@ public class ImageValidationService {
     /**
      * 이미지 해상도를 검증합니다.
      * 
-     * @param file 검증할 이미지 파일
-     * @throws IOException 이미지 읽기 실패 시
+     * @param width 이미지 너비
+     * @param height 이미지 높이
      */
-    private void validateImageResolution(MultipartFile file) throws IOException {
-        BufferedImage image = ImageIO.read(file.getInputStream());
-        if (image == null) {
-            throw new IllegalArgumentException("이미지를 읽을 수 없습니다. 파일이 손상되었을 수 있습니다.");
-        }
-
-        int width = image.getWidth();
-        int height = image.getHeight();
-
+    private void validateImageResolution(int width, int height) {
         // 최소 해상도 검증
         if (width < MIN_WIDTH || height < MIN_HEIGHT) {
             throw new IllegalArgumentException(
@@ -133,14 +238,10 @@ public class ImageValidationService {
     /**
      * 이미지 내용을 검증합니다.
      * 
-     * @param file 검증할 이미지 파일
-     * @throws IOException 이미지 읽기 실패 시
+     * @param averageBrightness 이미지 평균 밝기 (0-255)
      */
-    private void validateImageContent(MultipartFile file) throws IOException {
-        BufferedImage image = ImageIO.read(file.getInputStream());
-        
+    private void validateImageContent(double averageBrightness) {
         // 이미지가 너무 어둡거나 밝지 않은지 검증
-        double averageBrightness = calculateAverageBrightness(image);
         if (averageBrightness < 30) {
             throw new IllegalArgumentException("이미지가 너무 어둡습니다. 더 밝은 환경에서 촬영해주세요.");
         }
@@ -153,16 +254,17 @@ public class ImageValidationService {
 
     /**
      * 이미지의 평균 밝기를 계산합니다.
+     * 디코딩 단계에서 이미 서브샘플링된 이미지를 받으므로 모든 픽셀을 사용합니다.
      * 
-     * @param image 분석할 이미지
+     * @param image 분석할 이미지 (서브샘플링된 이미지)
      * @return 평균 밝기 (0-255)
      */
     private double calculateAverageBrightness(BufferedImage image) {
         long totalBrightness = 0;
         int pixelCount = 0;
 
-        for (int y = 0; y < image.getHeight(); y += 10) { // 10픽셀마다 샘플링
-            for (int x = 0; x < image.getWidth(); x += 10) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
                 int rgb = image.getRGB(x, y);
                 int r = (rgb >> 16) & 0xff;
                 int g = (rgb >> 8) & 0xff;
@@ -178,6 +280,30 @@ public class ImageValidationService {
         return pixelCount > 0 ? (double) totalBrightness / pixelCount : 0;
     }
 
+    /**
+     * 이미지의 대비(밝기의 표준편차)를 계산합니다.
+     *
+     * @param image 분석할 이미지 (서브샘플링된 이미지)
+     * @param averageBrightness 평균 밝기
+     * @return 대비 (0-127.5)
+     */
+    private double calculateContrast(BufferedImage image, double averageBrightness) {
+        double sumSquares = 0;
+        int pixelCount = 0;
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = image.getRGB(x, y);
+                int brightness = (((rgb >> 16) & 0xff) + ((rgb >> 8) & 0xff) + (rgb & 0xff)) / 3;
+                double diff = brightness - averageBrightness;
+                sumSquares += diff * diff;
+                pixelCount++;
+            }
+        }
+
+        return pixelCount > 0 ? Math.sqrt(sumSquares / pixelCount) : 0;
+    }
+
     /**
      * 이미지 파일 확장자가 유효한지 검증합니다.
      * 
@@ -210,39 +336,49 @@ public class ImageValidationService {
      */
     public String encodeImageToBase64(String imagePath) throws IOException {
         try {
-            // 파일 경로에서 실제 파일 읽기
-            // imagePath는 "/images/2025/08/17/filename.jpg" 형태
-            // 실제 파일은 "C:/together/hamkae/uploads/images/2025/08/17/filename.jpg"에 저장됨
-            String actualPath = imagePath.replace("/images/", "C:/together/hamkae/uploads/images/");
-            Path path = Paths.get(actualPath);
-            File file = path.toFile();
-            
-            if (!file.exists()) {
-                log.warn("이미지 파일을 찾을 수 없습니다: {}", actualPath);
-                // 상대 경로로도 시도
-                String relativePath = imagePath.replace("/images/", "uploads/images/");
-                path = Paths.get(relativePath);
-                file = path.toFile();
-                
-                if (!file.exists()) {
-                    throw new IOException("이미지 파일을 찾을 수 없습니다: " + imagePath);
-                }
+            // imagePath는 "/images/2025/08/17/filename.jpg" 형태이며, 저장소 키는 "2025/08/17/filename.jpg"
+            // 업로드 시 미리 만들어 둔 AI 입력용 파생 이미지가 있으면 디코딩 없이 그대로 사용
+            String derivativeKey = ImageDerivative.AI_INPUT.relativePathFor(imagePath);
+            if (photoStorage.exists(derivativeKey)) {
+                String base64Image = Base64.getEncoder().encodeToString(photoStorage.get(derivativeKey));
+                log.debug("AI 입력용 파생 이미지 사용: {} -> {} bytes", imagePath, base64Image.length());
+                return base64Image;
             }
 
-            // 이미지 압축 및 최적화
-            BufferedImage originalImage = ImageIO.read(file);
-            if (originalImage == null) {
-                throw new IOException("이미지를 읽을 수 없습니다: " + imagePath);
+            String key = PhotoStorage.keyOf(imagePath);
+            if (!photoStorage.exists(key)) {
+                throw new IOException("이미지 파일을 찾을 수 없습니다: " + imagePath);
+            }
+
+            // 이미지 압축 및 최적화 (원본 디코딩 결과와 RGB 변환본이 함께 메모리에 남으므로 예산 확보 후 수행)
+            String base64Image;
+            try (InputStream source = photoStorage.stream(key);
+                 ImageInputStream input = ImageIO.createImageInputStream(source)) {
+                Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+                if (readers == null || !readers.hasNext()) {
+                    throw new IOException("이미지를 읽을 수 없습니다: " + imagePath);
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(input, true, true);
+                    long estimatedBytes = ImageDecodeBudget.estimateBytes(reader.getWidth(0), reader.getHeight(0), 2)
+                            + ImageDecodeBudget.estimateBytes(800, 600, 1);
+                    base64Image = decodeBudget.runQueued(estimatedBytes, () -> {
+                        BufferedImage originalImage = reader.read(0);
+
+                        // 색상 공간을 RGB로 강제 변환
+                        BufferedImage rgbImage = convertToRGB(originalImage);
+
+                        // 이미지 크기 조정 (최대 800x600으로 제한)
+                        BufferedImage resizedImage = resizeImage(rgbImage, 800, 600);
+
+                        // 압축된 이미지를 Base64로 인코딩
+                        return encodeBufferedImageToBase64(resizedImage, "jpg", 0.7f);
+                    });
+                } finally {
+                    reader.dispose();
+                }
             }
-            
-            // 색상 공간을 RGB로 강제 변환
-            BufferedImage rgbImage = convertToRGB(originalImage);
-            
-            // 이미지 크기 조정 (최대 800x600으로 제한)
-            BufferedImage resizedImage = resizeImage(rgbImage, 800, 600);
-            
-            // 압축된 이미지를 Base64로 인코딩
-            String base64Image = encodeBufferedImageToBase64(resizedImage, "jpg", 0.7f);
             
             log.debug("이미지 Base64 인코딩 완료: {} -> {} bytes (압축됨)", imagePath, base64Image.length());
             return base64Image;
@@ -253,6 +389,56 @@ public class ImageValidationService {
         }
     }
 
+    /**
+     * EXIF 방향을 적용한 유사도 비교용 축소 이미지를 읽습니다.
+     * 업로드 시 만들어 둔 썸네일(방향 적용됨)이 있으면 그대로 사용하고,
+     * 없으면 원본을 서브샘플링하여 긴 변이 약 256px이 되도록 디코딩한 뒤 방향을 적용합니다.
+     *
+     * @param imagePath 이미지 파일 경로
+     * @param orientation 업로드 시 읽은 EXIF 방향 (1-8, 없으면 null)
+     * @return 보이는 방향의 축소 이미지
+     * @throws IOException 파일 읽기 또는 디코딩 실패 시
+     */
+    public BufferedImage loadSimilaritySample(String imagePath, Integer orientation) throws IOException {
+        String thumbnailKey = ImageDerivative.THUMBNAIL.relativePathFor(imagePath);
+        if (photoStorage.exists(thumbnailKey)) {
+            BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(photoStorage.get(thumbnailKey)));
+            if (thumbnail != null) {
+                return thumbnail;
+            }
+        }
+
+        String key = PhotoStorage.keyOf(imagePath);
+        if (!photoStorage.exists(key)) {
+            throw new IOException("이미지 파일을 찾을 수 없습니다: " + imagePath);
+        }
+        try (InputStream source = photoStorage.stream(key);
+             ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("이미지를 읽을 수 없습니다: " + imagePath);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int factor = Math.max(1, Math.max(width, height) / 256);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+
+                // 서브샘플링 결과 외에 디코더가 원본 너비의 MCU 행(최대 16행)을 버퍼로 사용
+                long estimatedBytes = ImageDecodeBudget.estimateBytes(
+                        (width + factor - 1) / factor, (height + factor - 1) / factor, 1)
+                        + ImageDecodeBudget.estimateBytes(width, 16, 1);
+                return ImageOrientation.apply(decodeBudget.runQueued(estimatedBytes, () -> reader.read(0, param)),
+                        orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
     /**
      * 이미지 색상 공간을 RGB로 변환합니다.
      * 
@@ -349,6 +535,32 @@ public class ImageValidationService {
         }
     }
 
+    /**
+     * 사진의 EXIF GPS 촬영 위치가 마커 위치에서 허용 거리 안에 있는지 검증합니다.
+     * GPS 정보가 없는 사진은 판단할 수 없으므로 통과시킵니다.
+     *
+     * @param photoLat 촬영 위치 위도 (없으면 null)
+     * @param photoLng 촬영 위치 경도 (없으면 null)
+     * @param markerLat 마커 위도
+     * @param markerLng 마커 경도
+     * @throws IllegalArgumentException 촬영 위치가 마커에서 너무 먼 경우
+     */
+    public void validateCaptureLocation(Double photoLat, Double photoLng, BigDecimal markerLat, BigDecimal markerLng) {
+        if (maxPhotoDistanceMeters <= 0 || photoLat == null || photoLng == null
+                || markerLat == null || markerLng == null) {
+            return;
+        }
+        double distance = GeoDistance.haversineMeters(photoLat, photoLng,
+                markerLat.doubleValue(), markerLng.doubleValue());
+        if (distance > maxPhotoDistanceMeters) {
+            log.warn("촬영 위치가 마커에서 너무 멂: {}m (최대 {}m)", Math.round(distance), Math.round(maxPhotoDistanceMeters));
+            throw new IllegalArgumentException(String.format(
+                    "사진 촬영 위치가 마커 위치에서 너무 멉니다. (%.1fkm, 최대 %.1fkm)",
+                    distance / 1000, maxPhotoDistanceMeters / 1000));
+        }
+        log.debug("촬영 위치 검증 통과: 마커와 {}m", Math.round(distance));
+    }
+
     /**
      * 이미지가 중복 업로드인지 검증합니다.
      * 
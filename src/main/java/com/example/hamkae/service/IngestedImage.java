@@ -0,0 +1,70 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Photo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 검증과 저장을 마친 업로드 이미지 정보
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class IngestedImage {
+
+    /**
+     * 저장된 파일의 접근 경로 (예: /images/2025/08/13/filename.jpg)
+     */
+    private final String imagePath;
+
+    /**
+     * 파일 크기 (바이트)
+     */
+    private final long sizeBytes;
+
+    /**
+     * 파일 내용의 SHA-256 해시 (16진수 소문자)
+     */
+    private final String sha256;
+
+    /**
+     * 디코딩한 이미지의 측정값 (이미지를 읽을 수 없었으면 null)
+     */
+    private final ImageMetrics metrics;
+
+    /**
+     * EXIF 촬영 정보 (JPEG가 아니거나 EXIF가 없으면 null)
+     */
+    private final ExifData exif;
+
+    /**
+     * 저장 경로, 측정값, EXIF 촬영 정보를 Photo 빌더에 채웁니다.
+     *
+     * @param builder 사진 엔티티 빌더
+     * @return 같은 빌더
+     */
+    public Photo.PhotoBuilder applyTo(Photo.PhotoBuilder builder) {
+        builder.imagePath(imagePath)
+                .fileSize(sizeBytes)
+                .sha256(sha256);
+        if (metrics != null) {
+            builder.width(metrics.getWidth())
+                    .height(metrics.getHeight())
+                    .meanBrightness(metrics.getAverageBrightness())
+                    .contrast(metrics.getContrast())
+                    .perceptualHash(metrics.getPerceptualHash());
+        }
+        if (exif != null) {
+            builder.gpsLatitude(exif.getLatitude())
+                    .gpsLongitude(exif.getLongitude())
+                    .capturedAt(exif.getCapturedAt())
+                    .orientation(exif.getOrientation());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.hamkae.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+/**
+ * 로컬 파일 시스템 사진 저장소 (app.storage.type=local, 기본값)
+ * 파일은 app.upload.dir 아래에 키 경로 그대로 저장됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalPhotoStorage implements PhotoStorage {
+
+    private final Path baseDir;
+
+    public LocalPhotoStorage(@Value("${app.upload.dir}") String uploadDir) {
+        this.baseDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 이동하여, 읽는 쪽에서 쓰다 만 파일을 보지 않도록 합니다.
+     */
+    @Override
+    public void put(String key, byte[] content) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        return Files.readAllBytes(resolve(key));
+    }
+
+    @Override
+    public InputStream stream(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public Instant lastModified(String key) throws IOException {
+        try {
+            return Files.getLastModifiedTime(resolve(key)).toInstant();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        Files.setLastModifiedTime(resolve(key), FileTime.from(Instant.now()));
+    }
+
+    @Override
+    public Path localPath(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    private Path resolve(String key) {
+        Path path = baseDir.resolve(PhotoStorage.validateKey(key)).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("유효하지 않은 저장소 키입니다: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.DTO.MarkerChangeEventDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마커 변경 내역을 Server-Sent Events로 전달하는 변경 피드
+ *
+ * 커밋된 마커 변경마다 단조 증가하는 순번을 붙여 고정 크기 링 버퍼에 보관하고,
+ * 구독 중인 클라이언트에게 변경분만 전송합니다.
+ * 이벤트 ID는 "서버 시작 시각(epoch):순번" 형식이며, 재접속한 클라이언트는 Last-Event-ID 이후의 변경을
+ * 링 버퍼에서 다시 받습니다. 요청한 순번이 이미 버퍼에서 밀려났거나 서버가 재시작되어 epoch가 다르면
+ * 전체 목록을 다시 조회하라는 reset 이벤트를 받습니다.
+ *
+ * 버퍼 갱신, 재전송 대상 선정, 브로드캐스트, 하트비트는 모두 가상 스레드 하나(dispatcher)에서 순서대로 실행되어
+ * 구독 시점과 새 변경이 겹쳐도 누락이나 중복 전송이 없습니다.
+ * 실제 전송(블로킹 쓰기)은 구독자마다 가상 스레드 하나가 크기가 제한된 전송 대기열에서 꺼내 수행하므로,
+ * 느린 클라이언트가 다른 구독자의 전송을 막지 않습니다. 전송 대기열이 가득 찬 구독자는 연결을 종료하며,
+ * 클라이언트는 Last-Event-ID로 재접속하여 밀린 변경(또는 reset)을 받습니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+public class MarkerChangeFeed {
+
+    /**
+     * 하트비트(주석 이벤트) 전송 간격 (초)
+     * 프록시나 로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 전송합니다.
+     */
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 25;
+
+    /**
+     * 링 버퍼에 보관하는 최대 변경 수
+     */
+    private final int bufferSize;
+
+    /**
+     * 구독자별 전송 대기열 크기 (가득 차면 느린 클라이언트로 보고 연결 종료)
+     */
+    private final int sendQueueSize;
+
+    /**
+     * 서버 시작 시각 (재시작 후 이전 순번으로 재접속한 클라이언트를 구분)
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * 구독 연결 유지 시간 (밀리초), 만료되면 클라이언트가 Last-Event-ID로 재접속합니다.
+     */
+    private final long emitterTimeoutMs;
+
+    /**
+     * 변경 내역 링 버퍼 (sequence % bufferSize 위치에 저장)
+     */
+    private final MarkerChangeEventDTO[] buffer;
+
+    /**
+     * 마지막으로 발급한 순번 (0이면 아직 변경 없음)
+     */
+    private long lastSequence;
+
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    /**
+     * 피드 작업을 순서대로 실행하는 단일 가상 스레드 실행기
+     */
+    private final ScheduledExecutorService dispatcher =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("marker-feed").factory());
+
+    public MarkerChangeFeed(
+            @Value("${app.markers.feed.buffer-size:1024}") int bufferSize,
+            @Value("${app.markers.feed.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${app.markers.feed.send-queue-size:256}") int sendQueueSize) {
+        this.bufferSize = bufferSize;
+        this.sendQueueSize = sendQueueSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.buffer = new MarkerChangeEventDTO[bufferSize];
+        dispatcher.scheduleAtFixedRate(this::sendHeartbeat,
+                HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 구독자 한 명의 SSE 연결과 전송 대기열
+     * 전송 스레드 하나만 대기열에서 꺼내 전송하므로 이벤트 순서가 유지됩니다.
+     */
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final Thread sender;
+
+        Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.sender = Thread.ofVirtual().name("marker-feed-sender").unstarted(this::pump);
+        }
+
+        /**
+         * 전송 대기열에 이벤트를 추가합니다.
+         *
+         * @return 대기열이 가득 차 추가하지 못했으면 false
+         */
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            return queue.offer(event);
+        }
+
+        int remainingCapacity() {
+            return queue.remainingCapacity();
+        }
+
+        void close() {
+            sender.interrupt();
+        }
+
+        private void pump() {
+            try {
+                while (true) {
+                    emitter.send(queue.take());
+                }
+            } catch (InterruptedException e) {
+                // 연결 종료
+            } catch (IOException | IllegalStateException e) {
+                log.debug("마커 변경 피드 전송 실패, 구독 해제: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    /**
+     * 변경 피드를 구독합니다.
+     *
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID ("epoch:순번", 최초 구독이면 null)
+     * @return 변경 내역을 전송할 SSE emitter
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, sendQueueSize);
+        emitter.onCompletion(() -> {
+            subscriber.close();
+            dispatcher.execute(() -> subscribers.remove(subscriber));
+        });
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+
+        dispatcher.execute(() -> {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+            subscriber.sender.start();
+        });
+        return emitter;
+    }
+
+    /**
+     * 커밋된 마커 변경을 링 버퍼에 추가하고 구독자에게 전송합니다.
+     *
+     * @param event 마커 변경 이벤트
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarkerChanged(MarkerChangedEvent event) {
+        dispatcher.execute(() -> {
+            MarkerChangeEventDTO change = MarkerChangeEventDTO.builder()
+                    .sequence(++lastSequence)
+                    .type(event.getType().name())
+                    .markerId(event.getMarkerId())
+                    .lat(event.getLat())
+                    .lng(event.getLng())
+                    .createdAt(event.getCreatedAt())
+                    .build();
+            buffer[(int) (change.getSequence() % bufferSize)] = change;
+
+            Iterator<Subscriber> it = subscribers.iterator();
+            while (it.hasNext()) {
+                Subscriber subscriber = it.next();
+                if (!subscriber.offer(changeEvent(change))) {
+                    log.debug("마커 변경 피드 전송 대기열 초과, 느린 구독자 연결 종료");
+                    subscriber.emitter.complete();
+                    it.remove();
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    // ========== 내부 메서드 (dispatcher 스레드에서만 호출) ==========
+
+    /**
+     * lastEventId 이후의 변경을 전송 대기열에 넣습니다.
+     * 서버 재시작(epoch 불일치), 버퍼 초과, 전송 대기열보다 많이 밀린 경우에는 reset 이벤트를 넣습니다.
+     */
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long lastReceived = parseSequence(lastEventId);
+        long oldestRetained = Math.max(1, lastSequence - bufferSize + 1);
+        if (lastReceived < 0 || lastReceived > lastSequence || lastReceived + 1 < oldestRetained
+                || lastSequence - lastReceived > subscriber.remainingCapacity()) {
+            // 이어받을 수 없음 -> 전체 목록을 다시 조회하도록 안내
+            subscriber.offer(SseEmitter.event()
+                    .id(eventId(lastSequence))
+                    .name("reset")
+                    .data(lastSequence));
+            return;
+        }
+        for (long seq = lastReceived + 1; seq <= lastSequence; seq++) {
+            subscriber.offer(changeEvent(buffer[(int) (seq % bufferSize)]));
+        }
+    }
+
+    /**
+     * 이벤트 ID에서 순번을 꺼냅니다.
+     *
+     * @return 이 서버 실행에서 발급한 순번, 다른 epoch이거나 형식이 맞지 않으면 -1
+     */
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.indexOf(':');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    private SseEmitter.SseEventBuilder changeEvent(MarkerChangeEventDTO change) {
+        return SseEmitter.event()
+                .id(eventId(change.getSequence()))
+                .name(change.getType().toLowerCase())
+                .data(change);
+    }
+
+    private void sendHeartbeat() {
+        // 전송 대기열이 가득 찬 구독자는 이미 보낼 데이터가 있으므로 하트비트 생략
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Marker;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 마커 생성/상태 변경/삭제 시 발행되는 애플리케이션 이벤트
+ * 공간 인덱스 등 메모리 기반 조회 구조는 이 이벤트를 받아 커밋 이후에 갱신됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor
+public class MarkerChangedEvent {
+
+    /**
+     * 변경 종류
+     */
+    private final ChangeType type;
+
+    /**
+     * 변경된 마커 ID
+     */
+    private final Long markerId;
+
+    /**
+     * 마커 위도 (double 변환값)
+     */
+    private final double lat;
+
+    /**
+     * 마커 경도 (double 변환값)
+     */
+    private final double lng;
+
+    /**
+     * 마커 등록일시
+     */
+    private final LocalDateTime createdAt;
+
+    /**
+     * 이벤트 발행 시점의 마커 상태 (삭제 이벤트는 삭제 직전 상태)
+     */
+    private final Marker.MarkerStatus status;
+
+    /**
+     * 마커 변경 종류를 나타내는 열거형
+     */
+    public enum ChangeType {
+        CREATED,    // 신규 제보
+        CLEANED,    // 청소 완료
+        REMOVED     // 삭제됨
+    }
+
+    /**
+     * 마커 엔티티로부터 이벤트를 생성하는 정적 팩토리 메서드
+     *
+     * @param type 변경 종류
+     * @param marker 변경된 마커
+     * @return 마커 변경 이벤트
+     */
+    public static MarkerChangedEvent of(ChangeType type, Marker marker) {
+        return new MarkerChangedEvent(
+                type,
+                marker.getId(),
+                marker.getLat().doubleValue(),
+                marker.getLng().doubleValue(),
+                marker.getCreatedAt(),
+                marker.getStatus()
+        );
+    }
+}
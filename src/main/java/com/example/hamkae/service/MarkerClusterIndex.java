@@ -0,0 +1,317 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.DTO.MarkerClusterResponseDTO;
+import com.example.hamkae.repository.MarkerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 줌 레벨별 활성 마커 클러스터를 미리 계산해 두는 메모리 인덱스
+ *
+ * 줌 레벨 z에서는 Web Mercator 좌표를 한 축당 2^(z+2)개의 셀로 나누며 (256px 타일 기준 약 64px),
+ * 줌이 하나 낮아질 때마다 셀 4개가 상위 셀 1개로 합쳐지는 계층 구조(quadtree)를 이룹니다.
+ * 각 셀은 마커 수와 좌표 합을 원시 타입 배열에 보관하므로,
+ * 마커 등록/삭제 시 줌 레벨마다 셀 하나씩만 갱신하면 되고 요청마다 다시 계산하지 않습니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarkerClusterIndex {
+
+    /**
+     * 지원하는 최소/최대 줌 레벨
+     */
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 20;
+
+    /**
+     * 256px 타일 한 장을 한 축당 몇 개의 셀로 나눌지 (2^2 = 4, 셀 하나 약 64px)
+     */
+    private static final int CELL_BITS_PER_TILE = 2;
+
+    private final MarkerRepository markerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ZoomLevel[] levels = createLevels();
+
+    /**
+     * 인덱스에 포함된 마커 ID (중복 추가/삭제 방지용)
+     */
+    private final Set<Long> markerIds = new HashSet<>();
+
+    /**
+     * 애플리케이션 시작 시 DB의 활성 마커로 클러스터 트리를 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<MarkerRepository.MarkerPoint> points = markerRepository.findActiveMarkerPoints();
+
+        lock.writeLock().lock();
+        try {
+            for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+                levels[z] = new ZoomLevel(z);
+            }
+            markerIds.clear();
+            for (MarkerRepository.MarkerPoint point : points) {
+                apply(point.getId(), point.getLat().doubleValue(), point.getLng().doubleValue(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("마커 클러스터 인덱스 구성 완료: 마커 수={}, 최대 줌 셀 수={}", points.size(), levels[MAX_ZOOM].size);
+    }
+
+    /**
+     * 마커 변경 이벤트를 클러스터 트리에 반영합니다.
+     *
+     * @param event 마커 변경 이벤트
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarkerChanged(MarkerChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == MarkerChangedEvent.ChangeType.CREATED) {
+                apply(event.getMarkerId(), event.getLat(), event.getLng(), 1);
+            } else {
+                apply(event.getMarkerId(), event.getLat(), event.getLng(), -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 지정한 범위와 줌 레벨의 클러스터 목록을 조회합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @param zoom 줌 레벨 (범위를 벗어나면 0~20으로 보정)
+     * @return 클러스터 목록 (마커가 하나뿐인 클러스터는 markerId 포함)
+     */
+    public List<MarkerClusterResponseDTO> getClusters(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+        int z = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        int cellsPerAxis = 1 << (z + CELL_BITS_PER_TILE);
+
+        // 위도가 클수록 Mercator y는 작아지므로 maxLat이 최소 y
+        int minX = WebMercator.cellIndex(WebMercator.lngToX(minLng), cellsPerAxis);
+        int maxX = WebMercator.cellIndex(WebMercator.lngToX(maxLng), cellsPerAxis);
+        int minY = WebMercator.cellIndex(WebMercator.latToY(maxLat), cellsPerAxis);
+        int maxY = WebMercator.cellIndex(WebMercator.latToY(minLat), cellsPerAxis);
+
+        List<MarkerClusterResponseDTO> clusters = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            ZoomLevel level = levels[z];
+            long cellsInRange = (long) (maxX - minX + 1) * (maxY - minY + 1);
+
+            if (cellsInRange > level.size) {
+                for (int slot = 0; slot < level.keys.length; slot++) {
+                    if (level.counts[slot] == 0) {
+                        continue;
+                    }
+                    int cx = (int) level.keys[slot];
+                    int cy = (int) (level.keys[slot] >> 32);
+                    if (cx >= minX && cx <= maxX && cy >= minY && cy <= maxY) {
+                        clusters.add(level.toCluster(slot));
+                    }
+                }
+            } else {
+                for (int cy = minY; cy <= maxY; cy++) {
+                    for (int cx = minX; cx <= maxX; cx++) {
+                        int slot = level.find(cellKey(cx, cy));
+                        if (slot >= 0) {
+                            clusters.add(level.toCluster(slot));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return clusters;
+    }
+
+    // ========== 내부 메서드 (쓰기 락을 잡은 상태에서 호출) ==========
+
+    /**
+     * 모든 줌 레벨에서 마커가 속한 셀을 갱신합니다.
+     *
+     * @param markerId 마커 ID
+     * @param lat 위도
+     * @param lng 경도
+     * @param delta 추가 시 1, 제거 시 -1
+     */
+    private void apply(Long markerId, double lat, double lng, int delta) {
+        boolean changed = delta > 0 ? markerIds.add(markerId) : markerIds.remove(markerId);
+        if (!changed) {
+            return;
+        }
+
+        double x = WebMercator.lngToX(lng);
+        double y = WebMercator.latToY(lat);
+        for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+            int cellsPerAxis = 1 << (z + CELL_BITS_PER_TILE);
+            long key = cellKey(WebMercator.cellIndex(x, cellsPerAxis), WebMercator.cellIndex(y, cellsPerAxis));
+            levels[z].add(key, markerId, lat, lng, delta);
+        }
+    }
+
+    private static ZoomLevel[] createLevels() {
+        ZoomLevel[] created = new ZoomLevel[MAX_ZOOM + 1];
+        for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+            created[z] = new ZoomLevel(z);
+        }
+        return created;
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cy << 32) | (cx & 0xffffffffL);
+    }
+
+    /**
+     * 한 줌 레벨의 셀들을 보관하는 open addressing 해시 테이블
+     * 마커 수가 0이 된 슬롯은 빈 슬롯으로 간주하며, 삭제 시 backward shift로 탐색 연속성을 유지합니다.
+     */
+    private static class ZoomLevel {
+        final int zoom;
+        long[] keys = new long[16];
+        int[] counts = new int[16];
+        double[] sumLats = new double[16];
+        double[] sumLngs = new double[16];
+        long[] sumIds = new long[16];
+        int size;
+
+        ZoomLevel(int zoom) {
+            this.zoom = zoom;
+        }
+
+        void add(long key, long markerId, double lat, double lng, int delta) {
+            int slot = find(key);
+            if (slot < 0) {
+                if (delta < 0) {
+                    return;
+                }
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                }
+                slot = insertSlot(key);
+                size++;
+            }
+            counts[slot] += delta;
+            sumLats[slot] += delta * lat;
+            sumLngs[slot] += delta * lng;
+            sumIds[slot] += delta * markerId;
+            if (counts[slot] == 0) {
+                removeSlot(slot);
+                size--;
+            }
+        }
+
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; counts[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        MarkerClusterResponseDTO toCluster(int slot) {
+            int count = counts[slot];
+            return MarkerClusterResponseDTO.builder()
+                    .lat(sumLats[slot] / count)
+                    .lng(sumLngs[slot] / count)
+                    .count(count)
+                    // 마커가 하나뿐이면 ID 합계가 곧 그 마커의 ID
+                    .markerId(count == 1 ? sumIds[slot] : null)
+                    .zoom(zoom)
+                    .build();
+        }
+
+        private int insertSlot(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (counts[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            sumLats[slot] = 0;
+            sumLngs[slot] = 0;
+            sumIds[slot] = 0;
+            return slot;
+        }
+
+        private void removeSlot(int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (counts[next] != 0) {
+                int home = hash(keys[next]) & mask;
+                // home이 (hole, next] 구간 밖에 있으면 hole로 당겨도 탐색이 끊기지 않음
+                boolean movable = hole <= next
+                        ? (home <= hole || home > next)
+                        : (home <= hole && home > next);
+                if (movable) {
+                    keys[hole] = keys[next];
+                    counts[hole] = counts[next];
+                    sumLats[hole] = sumLats[next];
+                    sumLngs[hole] = sumLngs[next];
+                    sumIds[hole] = sumIds[next];
+                    counts[next] = 0;
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            counts[hole] = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            double[] oldLats = sumLats;
+            double[] oldLngs = sumLngs;
+            long[] oldIds = sumIds;
+
+            int capacity = oldKeys.length * 2;
+            keys = new long[capacity];
+            counts = new int[capacity];
+            sumLats = new double[capacity];
+            sumLngs = new double[capacity];
+            sumIds = new long[capacity];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = insertSlot(oldKeys[i]);
+                    counts[slot] = oldCounts[i];
+                    sumLats[slot] = oldLats[i];
+                    sumLngs[slot] = oldLngs[i];
+                    sumIds[slot] = oldIds[i];
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
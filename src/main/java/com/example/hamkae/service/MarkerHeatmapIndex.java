@@ -0,0 +1,288 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.DTO.HeatmapCellResponseDTO;
+import com.example.hamkae.domain.Marker.MarkerStatus;
+import com.example.hamkae.repository.MarkerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 마커 수를 격자 셀, 상태, 등록 월별로 미리 집계해 두는 히트맵 인덱스
+ *
+ * 0.001도(약 110m) 기본 격자 셀마다 (등록 월, 상태)별 마커 수를 보관합니다.
+ * 히트맵 요청은 범위 내 기본 셀의 카운트를 요청 해상도의 셀로 합산하는 배열 연산만 수행하며,
+ * 테이블 전체에 대한 GROUP BY는 시작 시 재구성할 때 한 번만 일어납니다.
+ * 마커 등록/청소 완료/삭제 이벤트는 커밋 이후에 카운트 증감으로 반영됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarkerHeatmapIndex {
+
+    /**
+     * 기본 격자 셀 한 변의 크기 (도 단위)
+     */
+    public static final double BASE_CELL_DEG = 0.001;
+
+    /**
+     * 요청할 수 있는 최대 해상도 (도 단위, 셀 배수 계산이 int 범위를 넘지 않도록 제한)
+     */
+    public static final double MAX_RESOLUTION_DEG = 180.0;
+
+    /**
+     * 한 번의 요청으로 반환할 수 있는 최대 셀 수 (범위 / 해상도)
+     */
+    public static final int MAX_OUTPUT_CELLS = 40_000;
+
+    private static final MarkerStatus[] STATUSES = MarkerStatus.values();
+
+    private final MarkerRepository markerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 기본 셀 키 -> 셀별 월/상태 카운트
+     */
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    /**
+     * 애플리케이션 시작 시 DB의 모든 마커로 집계를 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<MarkerRepository.MarkerPoint> points = markerRepository.findAllMarkerPoints();
+
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            for (MarkerRepository.MarkerPoint point : points) {
+                add(point.getLat().doubleValue(), point.getLng().doubleValue(),
+                        point.getCreatedAt(), point.getStatus(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("마커 히트맵 집계 구성 완료: 마커 수={}, 셀 수={}", points.size(), cells.size());
+    }
+
+    /**
+     * 마커 변경 이벤트를 카운트 증감으로 반영합니다.
+     *
+     * @param event 마커 변경 이벤트
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarkerChanged(MarkerChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case CREATED -> add(event.getLat(), event.getLng(), event.getCreatedAt(), event.getStatus(), 1);
+                case CLEANED -> {
+                    add(event.getLat(), event.getLng(), event.getCreatedAt(), MarkerStatus.ACTIVE, -1);
+                    add(event.getLat(), event.getLng(), event.getCreatedAt(), MarkerStatus.CLEANED, 1);
+                }
+                case REMOVED -> add(event.getLat(), event.getLng(), event.getCreatedAt(), event.getStatus(), -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 지정한 범위의 마커 밀도를 요청 해상도의 셀 단위로 조회합니다.
+     * 출력 셀은 전역 격자에 맞춰 정렬되므로 지도를 이동해도 셀 경계가 바뀌지 않습니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @param resolutionDeg 출력 셀 한 변의 크기 (도 단위, 기본 셀 크기의 배수로 맞춰짐)
+     * @param from 집계 시작 월 (null이면 제한 없음)
+     * @param to 집계 종료 월 (null이면 제한 없음)
+     * @return 마커가 있는 셀 목록
+     * @throws IllegalArgumentException 해상도가 올바르지 않거나 출력 셀 수가 너무 많은 경우
+     */
+    public List<HeatmapCellResponseDTO> getHeatmap(double minLat, double maxLat, double minLng, double maxLng,
+                                                   double resolutionDeg, YearMonth from, YearMonth to) {
+        if (!(resolutionDeg > 0)) {
+            throw new IllegalArgumentException("해상도는 0보다 커야 합니다.");
+        }
+        if (resolutionDeg > MAX_RESOLUTION_DEG) {
+            throw new IllegalArgumentException("해상도는 " + MAX_RESOLUTION_DEG + "도 이하여야 합니다.");
+        }
+        int factor = (int) Math.max(1, Math.round(resolutionDeg / BASE_CELL_DEG));
+        double cellDeg = factor * BASE_CELL_DEG;
+
+        // 격자 밖의 범위는 격자 경계로 잘라, 셀 순회가 int 범위 끝까지 이어지지 않도록 함
+        int minRow = Math.max(0, row(minLat));
+        int maxRow = Math.min(row(90.0), row(maxLat));
+        int minCol = Math.max(0, col(minLng));
+        int maxCol = Math.min(col(180.0), col(maxLng));
+        if (minRow > maxRow || minCol > maxCol) {
+            return new ArrayList<>();
+        }
+        int outMinRow = Math.floorDiv(minRow, factor);
+        int outMinCol = Math.floorDiv(minCol, factor);
+        long outRowSpan = (long) Math.floorDiv(maxRow, factor) - outMinRow + 1;
+        long outColSpan = (long) Math.floorDiv(maxCol, factor) - outMinCol + 1;
+        if (outRowSpan * outColSpan > MAX_OUTPUT_CELLS) {
+            throw new IllegalArgumentException("요청 범위에 비해 해상도가 너무 세밀합니다. 셀 수는 최대 "
+                    + MAX_OUTPUT_CELLS + "개입니다.");
+        }
+        int outRows = (int) outRowSpan;
+        int outCols = (int) outColSpan;
+
+        int fromBucket = from != null ? bucket(from.getYear(), from.getMonthValue()) : Integer.MIN_VALUE;
+        int toBucket = to != null ? bucket(to.getYear(), to.getMonthValue()) : Integer.MAX_VALUE;
+        int[] out = new int[outRows * outCols * STATUSES.length];
+        long cellsInRange = ((long) maxRow - minRow + 1) * ((long) maxCol - minCol + 1);
+
+        lock.readLock().lock();
+        try {
+            if (cellsInRange > cells.size()) {
+                for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                    int r = (int) (entry.getKey() >> 32);
+                    int c = (int) (long) entry.getKey();
+                    if (r >= minRow && r <= maxRow && c >= minCol && c <= maxCol) {
+                        int offset = ((r / factor - outMinRow) * outCols + (c / factor - outMinCol)) * STATUSES.length;
+                        entry.getValue().sumInto(out, offset, fromBucket, toBucket);
+                    }
+                }
+            } else {
+                for (int r = minRow; r <= maxRow; r++) {
+                    for (int c = minCol; c <= maxCol; c++) {
+                        Cell cell = cells.get(cellKey(r, c));
+                        if (cell != null) {
+                            int offset = ((r / factor - outMinRow) * outCols + (c / factor - outMinCol)) * STATUSES.length;
+                            cell.sumInto(out, offset, fromBucket, toBucket);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<HeatmapCellResponseDTO> result = new ArrayList<>();
+        for (int i = 0; i < outRows * outCols; i++) {
+            int offset = i * STATUSES.length;
+            int total = 0;
+            for (int s = 0; s < STATUSES.length; s++) {
+                total += out[offset + s];
+            }
+            if (total == 0) {
+                continue;
+            }
+            int outRow = outMinRow + i / outCols;
+            int outCol = outMinCol + i % outCols;
+            result.add(HeatmapCellResponseDTO.builder()
+                    .lat((outRow + 0.5) * cellDeg - 90.0)
+                    .lng((outCol + 0.5) * cellDeg - 180.0)
+                    .count(total)
+                    .activeCount(out[offset + MarkerStatus.ACTIVE.ordinal()])
+                    .cleanedCount(out[offset + MarkerStatus.CLEANED.ordinal()])
+                    .build());
+        }
+        return result;
+    }
+
+    // ========== 내부 메서드 (쓰기 락을 잡은 상태에서 호출) ==========
+
+    private void add(double lat, double lng, LocalDateTime createdAt, MarkerStatus status, int delta) {
+        if (createdAt == null || status == null) {
+            return;
+        }
+        long key = cellKey(row(lat), col(lng));
+        Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+        cell.add(bucket(createdAt.getYear(), createdAt.getMonthValue()), status.ordinal(), delta);
+        if (cell.total <= 0) {
+            cells.remove(key);
+        }
+    }
+
+    private static int row(double lat) {
+        return (int) Math.floor((lat + 90.0) / BASE_CELL_DEG);
+    }
+
+    private static int col(double lng) {
+        return (int) Math.floor((lng + 180.0) / BASE_CELL_DEG);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * 등록 월을 정수 버킷으로 변환합니다 (연도 * 12 + 월 - 1).
+     */
+    private static int bucket(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * 기본 격자 셀 하나의 월별/상태별 카운트
+     * buckets는 오름차순으로 정렬되어 있으며, counts[i * 상태 수 + 상태 순서]에 카운트를 저장합니다.
+     */
+    private static class Cell {
+        int[] buckets = new int[0];
+        int[] counts = new int[0];
+        int total;
+
+        void add(int bucket, int status, int delta) {
+            int i = Arrays.binarySearch(buckets, bucket);
+            if (i < 0) {
+                if (delta < 0) {
+                    return;
+                }
+                i = -i - 1;
+                buckets = insert(buckets, i, 1, bucket);
+                counts = insert(counts, i * STATUSES.length, STATUSES.length, 0);
+            }
+            int index = i * STATUSES.length + status;
+            if (counts[index] + delta < 0) {
+                return;
+            }
+            counts[index] += delta;
+            total += delta;
+        }
+
+        void sumInto(int[] out, int offset, int fromBucket, int toBucket) {
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] < fromBucket) {
+                    continue;
+                }
+                if (buckets[i] > toBucket) {
+                    break;
+                }
+                for (int s = 0; s < STATUSES.length; s++) {
+                    out[offset + s] += counts[i * STATUSES.length + s];
+                }
+            }
+        }
+
+        private static int[] insert(int[] array, int at, int length, int value) {
+            int[] grown = new int[array.length + length];
+            System.arraycopy(array, 0, grown, 0, at);
+            System.arraycopy(array, at, grown, at + length, array.length - at);
+            Arrays.fill(grown, at, at + length, value);
+            return grown;
+        }
+    }
+}
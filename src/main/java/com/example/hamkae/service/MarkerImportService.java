@@ -0,0 +1,460 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.DTO.MarkerImportResultDTO;
+import com.example.hamkae.domain.Marker.MarkerStatus;
+import com.example.hamkae.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV/GeoJSON 데이터로 마커를 일괄 등록하는 서비스 클래스
+ *
+ * 입력을 한 행(피처)씩 읽어 검증한 뒤 설정된 크기만큼 모아 JDBC 배치 INSERT로 저장합니다.
+ * Marker 엔티티는 IDENTITY 전략이라 Hibernate 배치 INSERT가 동작하지 않으므로 JdbcTemplate을 직접 사용하며,
+ * 배치마다 별도 트랜잭션으로 커밋한 뒤 생성된 ID로 마커 변경 이벤트를 발행해 메모리 인덱스를 갱신합니다.
+ * 읽는 도중 입력 오류(IO 오류, 문서 구조 파싱 오류)가 나면 이미 커밋된 배치는 되돌리지 않으므로,
+ * 그때까지 저장한 수와 중단된 행 번호를 결과에 담아 부분 등록임을 알립니다.
+ *
+ * 지원 형식:
+ * <pre>
+ * CSV      헤더 행 필수. lat(latitude), lng(lon, longitude) 필수, description, created_at 선택
+ * GeoJSON  FeatureCollection의 Point 피처. properties.description, properties.created_at 선택
+ * </pre>
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarkerImportService {
+
+    /**
+     * 응답에 포함할 최대 행별 오류 수
+     */
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_MARKER_SQL =
+            "INSERT INTO markers (lat, lng, description, status, reported_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 한 번의 배치 INSERT로 저장할 행 수
+     */
+    @Value("${app.markers.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 입력 스트림의 마커 데이터를 일괄 등록합니다.
+     * 잘못된 행은 건너뛰고 행 번호와 사유를 결과에 기록합니다.
+     * 행을 읽기 시작한 뒤 입력 오류로 중단되면 예외 대신 aborted=true인 결과를 반환합니다.
+     *
+     * @param in 입력 스트림 (UTF-8)
+     * @param format 입력 형식 (csv 또는 geojson)
+     * @param userId 제보자로 기록할 사용자 ID
+     * @return 등록 결과 (성공/실패 수, 처리 속도, 행별 오류)
+     * @throws IllegalArgumentException 형식이나 헤더가 올바르지 않아 한 행도 읽지 못한 경우
+     * @throws IOException 첫 행을 읽기 전에 입력 오류가 발생한 경우
+     */
+    public MarkerImportResultDTO importMarkers(InputStream in, String format, Long userId) throws IOException {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        ImportSession session = new ImportSession(userId);
+        long started = System.nanoTime();
+
+        try {
+            switch (format.toLowerCase(Locale.ROOT)) {
+                case "csv" -> readCsv(in, session);
+                case "geojson", "json" -> readGeoJson(in, session);
+                default -> throw new IllegalArgumentException("지원하지 않는 형식입니다: " + format);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (session.totalRows == 0) {
+                // 저장된 마커가 없으므로 요청 전체 실패로 처리
+                throw e;
+            }
+            session.abort(e);
+        }
+        // 중단된 경우에도 중단 전까지 읽은 올바른 행은 저장
+        session.flush();
+
+        long elapsedNanos = System.nanoTime() - started;
+        int imported = session.importedCount;
+        if (session.aborted) {
+            log.warn("마커 일괄 등록 중단: 행 {}, 사유={}, 전체={}, 성공={}, 실패={}",
+                    session.readingRow, session.abortReason, session.totalRows, imported, session.failedCount);
+        } else {
+            log.info("마커 일괄 등록 완료: 전체={}, 성공={}, 실패={}, 소요={}ms",
+                    session.totalRows, imported, session.failedCount, elapsedNanos / 1_000_000);
+        }
+
+        return MarkerImportResultDTO.builder()
+                .totalRows(session.totalRows)
+                .importedCount(imported)
+                .failedCount(session.failedCount)
+                .aborted(session.aborted)
+                .abortedAtRow(session.aborted ? session.readingRow : null)
+                .abortReason(session.abortReason)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(elapsedNanos > 0 ? session.totalRows * 1_000_000_000.0 / elapsedNanos : 0)
+                .errors(session.errors)
+                .build();
+    }
+
+    // ========== CSV ==========
+
+    private void readCsv(InputStream in, ImportSession session) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+
+        List<String> header = parseCsvLine(headerLine);
+        int latIndex = -1;
+        int lngIndex = -1;
+        int descriptionIndex = -1;
+        int createdAtIndex = -1;
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "lat", "latitude" -> latIndex = i;
+                case "lng", "lon", "longitude" -> lngIndex = i;
+                case "description" -> descriptionIndex = i;
+                case "created_at", "createdat" -> createdAtIndex = i;
+                default -> { }
+            }
+        }
+        if (latIndex < 0 || lngIndex < 0) {
+            throw new IllegalArgumentException("CSV 헤더에 lat, lng 열이 필요합니다.");
+        }
+
+        String line;
+        int lineNumber = 1;
+        session.readingRow = 2;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            session.readingRow = lineNumber + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            session.totalRows++;
+            try {
+                List<String> fields = parseCsvLine(line);
+                session.add(lineNumber,
+                        field(fields, latIndex),
+                        field(fields, lngIndex),
+                        field(fields, descriptionIndex),
+                        field(fields, createdAtIndex));
+            } catch (IllegalArgumentException e) {
+                session.fail(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * CSV 한 줄을 필드 목록으로 분리합니다 (큰따옴표 인용, "" 이스케이프 지원).
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // ========== GeoJSON ==========
+
+    /**
+     * FeatureCollection을 스트리밍 파서로 읽어 피처를 하나씩 처리합니다.
+     * features 배열 외의 최상위 필드는 건너뛰므로 전체 문서를 메모리에 올리지 않습니다.
+     */
+    private void readGeoJson(InputStream in, ImportSession session) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("GeoJSON FeatureCollection 객체가 아닙니다.");
+            }
+            boolean foundFeatures = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"features".equals(fieldName) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                foundFeatures = true;
+                int featureNumber = 0;
+                session.readingRow = 1;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    featureNumber++;
+                    session.totalRows++;
+                    JsonNode feature = parser.readValueAsTree();
+                    try {
+                        addFeature(session, featureNumber, feature);
+                    } catch (IllegalArgumentException e) {
+                        session.fail(featureNumber, e.getMessage());
+                    }
+                    session.readingRow = featureNumber + 1;
+                }
+            }
+            if (!foundFeatures) {
+                throw new IllegalArgumentException("GeoJSON에 features 배열이 없습니다.");
+            }
+        }
+    }
+
+    private void addFeature(ImportSession session, int featureNumber, JsonNode feature) {
+        JsonNode geometry = feature.path("geometry");
+        if (!"Point".equals(geometry.path("type").asText())) {
+            throw new IllegalArgumentException("Point 형식의 geometry만 지원합니다.");
+        }
+        JsonNode coordinates = geometry.path("coordinates");
+        if (!coordinates.isArray() || coordinates.size() < 2) {
+            throw new IllegalArgumentException("좌표가 올바르지 않습니다.");
+        }
+
+        JsonNode properties = feature.path("properties");
+        // GeoJSON 좌표 순서는 [경도, 위도]
+        session.add(featureNumber,
+                coordinates.get(1).asText(),
+                coordinates.get(0).asText(),
+                textOrNull(properties.path("description")),
+                textOrNull(properties.path("created_at")));
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    // ========== 배치 저장 ==========
+
+    /**
+     * 일괄 등록 진행 상태와 배치 버퍼
+     */
+    private class ImportSession {
+        final Long userId;
+        final List<PendingMarker> pending = new ArrayList<>();
+        final List<MarkerImportResultDTO.RowError> errors = new ArrayList<>();
+        int totalRows;
+        int importedCount;
+        int failedCount;
+
+        /**
+         * 지금 읽고 있는 행(피처) 번호 (입력 오류로 중단되면 이 번호를 보고)
+         */
+        int readingRow;
+        boolean aborted;
+        String abortReason;
+
+        ImportSession(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(int row, String lat, String lng, String description, String createdAt) {
+            pending.add(new PendingMarker(row,
+                    coordinate(lat, "위도", 90),
+                    coordinate(lng, "경도", 180),
+                    description,
+                    createdAt != null ? parseDateTime(createdAt) : LocalDateTime.now()));
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void fail(int row, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(MarkerImportResultDTO.RowError.builder().row(row).message(message).build());
+            }
+            failedCount++;
+        }
+
+        void abort(Exception e) {
+            aborted = true;
+            abortReason = e.getMessage();
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingMarker> batch = new ArrayList<>(pending);
+            pending.clear();
+            try {
+                insertBatch(batch, userId);
+                importedCount += batch.size();
+            } catch (DataAccessException e) {
+                log.warn("마커 일괄 등록 배치 실패: 행 {}~{}", batch.get(0).row, batch.get(batch.size() - 1).row, e);
+                for (PendingMarker marker : batch) {
+                    fail(marker.row, "저장 실패: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 배치 하나를 별도 트랜잭션으로 저장하고, 커밋 이후 반영될 마커 생성 이벤트를 발행합니다.
+     */
+    private void insertBatch(List<PendingMarker> batch, Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_MARKER_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingMarker marker = batch.get(i);
+                            ps.setBigDecimal(1, marker.lat);
+                            ps.setBigDecimal(2, marker.lng);
+                            if (marker.description != null) {
+                                ps.setString(3, marker.description);
+                            } else {
+                                ps.setNull(3, Types.VARCHAR);
+                            }
+                            ps.setString(4, MarkerStatus.ACTIVE.name());
+                            ps.setLong(5, userId);
+                            ps.setObject(6, marker.createdAt);
+                            ps.setObject(7, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+                PendingMarker marker = batch.get(i);
+                long markerId = ((Number) keys.get(i).values().iterator().next()).longValue();
+                eventPublisher.publishEvent(new MarkerChangedEvent(
+                        MarkerChangedEvent.ChangeType.CREATED,
+                        markerId,
+                        marker.lat.doubleValue(),
+                        marker.lng.doubleValue(),
+                        marker.createdAt,
+                        MarkerStatus.ACTIVE));
+            }
+        });
+    }
+
+    private static BigDecimal coordinate(String value, String name, int limit) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " 값이 없습니다.");
+        }
+        BigDecimal coordinate;
+        try {
+            coordinate = new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " 값이 숫자가 아닙니다: " + value);
+        }
+        if (coordinate.abs().compareTo(BigDecimal.valueOf(limit)) > 0) {
+            throw new IllegalArgumentException(name + " 값이 범위를 벗어났습니다: " + value);
+        }
+        // markers.lat/lng 컬럼 정밀도(소수점 8자리)에 맞춤
+        return coordinate.setScale(8, RoundingMode.HALF_UP);
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("등록일시 형식이 올바르지 않습니다: " + value);
+        }
+    }
+
+    /**
+     * 저장 대기 중인 마커 한 건
+     */
+    private static class PendingMarker {
+        final int row;
+        final BigDecimal lat;
+        final BigDecimal lng;
+        final String description;
+        final LocalDateTime createdAt;
+
+        PendingMarker(int row, BigDecimal lat, BigDecimal lng, String description, LocalDateTime createdAt) {
+            this.row = row;
+            this.lat = lat;
+            this.lng = lng;
+            this.description = description;
+            this.createdAt = createdAt;
+        }
+    }
+}
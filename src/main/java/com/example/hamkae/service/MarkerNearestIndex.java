@@ -0,0 +1,414 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.repository.MarkerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 활성 마커의 최근접 이웃(k-nearest) 검색을 위한 KD-tree 인덱스
+ *
+ * 트리는 위도/경도 원시 타입 배열을 중앙값 기준으로 재배치한 암시적(implicit) 균형 KD-tree이며,
+ * 한 번 만들어지면 변경되지 않는 스냅샷으로 보관됩니다.
+ * 마커 추가/삭제는 스냅샷에 딸린 작은 변경분(delta) 배열을 복사하여(copy-on-write) 새 스냅샷을 만들고,
+ * 변경분이 일정 크기를 넘으면 트리를 다시 만듭니다.
+ * 조회는 volatile 스냅샷 참조만 읽으므로 쓰기 중에도 락 없이 동시에 수행됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarkerNearestIndex {
+
+    /**
+     * 변경분이 이 크기를 넘으면 트리를 재구성합니다.
+     */
+    private static final int REBUILD_THRESHOLD = 512;
+
+    private final MarkerRepository markerRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 애플리케이션 시작 시 DB의 활성 마커로 트리를 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<MarkerRepository.MarkerPoint> points = markerRepository.findActiveMarkerPoints();
+
+        int n = points.size();
+        long[] ids = new long[n];
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        for (int i = 0; i < n; i++) {
+            MarkerRepository.MarkerPoint point = points.get(i);
+            ids[i] = point.getId();
+            lats[i] = point.getLat().doubleValue();
+            lngs[i] = point.getLng().doubleValue();
+        }
+        snapshot = Snapshot.build(ids, lats, lngs);
+        log.info("마커 최근접 인덱스 구성 완료: 마커 수={}", n);
+    }
+
+    /**
+     * 마커 변경 이벤트를 인덱스에 반영합니다.
+     *
+     * @param event 마커 변경 이벤트
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onMarkerChanged(MarkerChangedEvent event) {
+        Snapshot current = snapshot.without(event.getMarkerId());
+        if (event.getType() == MarkerChangedEvent.ChangeType.CREATED) {
+            current = current.with(event.getMarkerId(), event.getLat(), event.getLng());
+        }
+        if (current.deltaSize() > REBUILD_THRESHOLD) {
+            current = current.compact();
+        }
+        snapshot = current;
+    }
+
+    /**
+     * 기준 좌표에서 가까운 순서로 최대 k개의 활성 마커를 찾습니다.
+     *
+     * @param lat 기준 위도
+     * @param lng 기준 경도
+     * @param k 최대 결과 수
+     * @param maxMeters 최대 검색 반경 (미터)
+     * @return 가까운 순서로 정렬된 마커 ID와 거리
+     */
+    public Neighbors findNearest(double lat, double lng, int k, double maxMeters) {
+        Snapshot current = snapshot;
+        NeighborHeap heap = new NeighborHeap(k, maxMeters);
+
+        current.search(lat, lng, 0, current.ids.length, 0, heap);
+        for (int i = 0; i < current.addedIds.length; i++) {
+            heap.offer(current.addedIds[i],
+                    GeoDistance.haversineMeters(lat, lng, current.addedLats[i], current.addedLngs[i]));
+        }
+        return heap.toSortedNeighbors();
+    }
+
+    /**
+     * 최근접 검색 결과 (가까운 순서)
+     */
+    public static class Neighbors {
+        public final long[] ids;
+        public final double[] distances;
+
+        Neighbors(long[] ids, double[] distances) {
+            this.ids = ids;
+            this.distances = distances;
+        }
+    }
+
+    /**
+     * 변경되지 않는 KD-tree와 변경분으로 이루어진 인덱스 스냅샷
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new double[0], new double[0], new long[0],
+                new long[0], new long[0], new double[0], new double[0]);
+
+        // KD-tree (구간 [lo, hi)의 중앙 원소가 노드, 깊이가 짝수면 위도 / 홀수면 경도 기준)
+        final long[] ids;
+        final double[] lats;
+        final double[] lngs;
+
+        // 트리에 있는 마커 ID (오름차순, 삭제 이벤트마다 트리 포함 여부를 이진 탐색으로 확인)
+        final long[] sortedIds;
+
+        // 트리에서 삭제된 마커 ID (오름차순)
+        final long[] removedIds;
+
+        // 트리 구성 이후 추가된 마커
+        final long[] addedIds;
+        final double[] addedLats;
+        final double[] addedLngs;
+
+        Snapshot(long[] ids, double[] lats, double[] lngs, long[] sortedIds, long[] removedIds,
+                 long[] addedIds, double[] addedLats, double[] addedLngs) {
+            this.ids = ids;
+            this.lats = lats;
+            this.lngs = lngs;
+            this.sortedIds = sortedIds;
+            this.removedIds = removedIds;
+            this.addedIds = addedIds;
+            this.addedLats = addedLats;
+            this.addedLngs = addedLngs;
+        }
+
+        static Snapshot build(long[] ids, double[] lats, double[] lngs) {
+            buildTree(ids, lats, lngs, 0, ids.length, 0);
+            long[] sortedIds = ids.clone();
+            Arrays.sort(sortedIds);
+            return new Snapshot(ids, lats, lngs, sortedIds, new long[0], new long[0], new double[0], new double[0]);
+        }
+
+        int deltaSize() {
+            return removedIds.length + addedIds.length;
+        }
+
+        Snapshot with(long id, double lat, double lng) {
+            int n = addedIds.length;
+            long[] newIds = Arrays.copyOf(addedIds, n + 1);
+            double[] newLats = Arrays.copyOf(addedLats, n + 1);
+            double[] newLngs = Arrays.copyOf(addedLngs, n + 1);
+            newIds[n] = id;
+            newLats[n] = lat;
+            newLngs[n] = lng;
+            return new Snapshot(ids, lats, lngs, sortedIds, removedIds, newIds, newLats, newLngs);
+        }
+
+        Snapshot without(long id) {
+            for (int i = 0; i < addedIds.length; i++) {
+                if (addedIds[i] == id) {
+                    return new Snapshot(ids, lats, lngs, sortedIds, removedIds,
+                            removeAt(addedIds, i), removeAt(addedLats, i), removeAt(addedLngs, i));
+                }
+            }
+            if (Arrays.binarySearch(sortedIds, id) < 0 || Arrays.binarySearch(removedIds, id) >= 0) {
+                return this;
+            }
+            long[] newRemoved = Arrays.copyOf(removedIds, removedIds.length + 1);
+            newRemoved[removedIds.length] = id;
+            Arrays.sort(newRemoved);
+            return new Snapshot(ids, lats, lngs, sortedIds, newRemoved, addedIds, addedLats, addedLngs);
+        }
+
+        /**
+         * 삭제분을 제외하고 추가분을 합쳐 새 트리를 만듭니다.
+         */
+        Snapshot compact() {
+            int capacity = ids.length - removedIds.length + addedIds.length;
+            long[] newIds = new long[capacity];
+            double[] newLats = new double[capacity];
+            double[] newLngs = new double[capacity];
+            int n = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (Arrays.binarySearch(removedIds, ids[i]) < 0) {
+                    newIds[n] = ids[i];
+                    newLats[n] = lats[i];
+                    newLngs[n] = lngs[i];
+                    n++;
+                }
+            }
+            System.arraycopy(addedIds, 0, newIds, n, addedIds.length);
+            System.arraycopy(addedLats, 0, newLats, n, addedIds.length);
+            System.arraycopy(addedLngs, 0, newLngs, n, addedIds.length);
+            n += addedIds.length;
+            return build(Arrays.copyOf(newIds, n), Arrays.copyOf(newLats, n), Arrays.copyOf(newLngs, n));
+        }
+
+        void search(double lat, double lng, int lo, int hi, int depth, NeighborHeap heap) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (removedIds.length == 0 || Arrays.binarySearch(removedIds, ids[mid]) < 0) {
+                heap.offer(ids[mid], GeoDistance.haversineMeters(lat, lng, lats[mid], lngs[mid]));
+            }
+
+            boolean byLat = (depth & 1) == 0;
+            double split = byLat ? lats[mid] : lngs[mid];
+            boolean goLeft = (byLat ? lat : lng) < split;
+
+            if (goLeft) {
+                search(lat, lng, lo, mid, depth + 1, heap);
+            } else {
+                search(lat, lng, mid + 1, hi, depth + 1, heap);
+            }
+
+            // 분할면까지의 거리가 현재 k번째 거리보다 가까울 때만 반대편 탐색
+            if (planeDistance(lat, lng, split, byLat) <= heap.worstDistance()) {
+                if (goLeft) {
+                    search(lat, lng, mid + 1, hi, depth + 1, heap);
+                } else {
+                    search(lat, lng, lo, mid, depth + 1, heap);
+                }
+            }
+        }
+
+        /**
+         * 분할면(위도선 또는 경도선)까지의 최소 거리 (하한값)
+         */
+        private static double planeDistance(double lat, double lng, double split, boolean byLat) {
+            if (byLat) {
+                return GeoDistance.EARTH_RADIUS_METERS * Math.abs(Math.toRadians(lat - split));
+            }
+            double dLng = Math.abs(Math.toRadians(lng - split));
+            if (dLng >= Math.PI / 2) {
+                return 0;
+            }
+            double sinDistance = Math.sin(dLng) * Math.cos(Math.toRadians(lat));
+            return GeoDistance.EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, sinDistance));
+        }
+
+        private static void buildTree(long[] ids, double[] lats, double[] lngs, int lo, int hi, int depth) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            select(ids, lats, lngs, lo, hi, mid, (depth & 1) == 0);
+            buildTree(ids, lats, lngs, lo, mid, depth + 1);
+            buildTree(ids, lats, lngs, mid + 1, hi, depth + 1);
+        }
+
+        /**
+         * 구간 [lo, hi)에서 nth 번째 원소가 제자리에 오도록 부분 정렬합니다. (quickselect)
+         */
+        private static void select(long[] ids, double[] lats, double[] lngs, int lo, int hi, int nth, boolean byLat) {
+            double[] keys = byLat ? lats : lngs;
+            int left = lo;
+            int right = hi - 1;
+            while (right > left) {
+                double pivot = keys[(left + right) >>> 1];
+                int i = left;
+                int j = right;
+                while (i <= j) {
+                    while (keys[i] < pivot) {
+                        i++;
+                    }
+                    while (keys[j] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(ids, lats, lngs, i, j);
+                        i++;
+                        j--;
+                    }
+                }
+                if (nth <= j) {
+                    right = j;
+                } else if (nth >= i) {
+                    left = i;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private static void swap(long[] ids, double[] lats, double[] lngs, int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double lat = lats[i];
+            lats[i] = lats[j];
+            lats[j] = lat;
+            double lng = lngs[i];
+            lngs[i] = lngs[j];
+            lngs[j] = lng;
+        }
+
+        private static long[] removeAt(long[] values, int index) {
+            long[] result = new long[values.length - 1];
+            System.arraycopy(values, 0, result, 0, index);
+            System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+            return result;
+        }
+
+        private static double[] removeAt(double[] values, int index) {
+            double[] result = new double[values.length - 1];
+            System.arraycopy(values, 0, result, 0, index);
+            System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+            return result;
+        }
+    }
+
+    /**
+     * 거리 기준 상위 k개를 유지하는 최대 힙 (루트가 현재 k번째로 먼 후보)
+     */
+    private static final class NeighborHeap {
+        final long[] ids;
+        final double[] distances;
+        final double maxDistance;
+        int size;
+
+        NeighborHeap(int k, double maxDistance) {
+            this.ids = new long[k];
+            this.distances = new double[k];
+            this.maxDistance = maxDistance;
+        }
+
+        double worstDistance() {
+            return size < ids.length ? maxDistance : distances[0];
+        }
+
+        void offer(long id, double distance) {
+            if (distance > worstDistance()) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                distances[size] = distance;
+                siftUp(size++);
+            } else {
+                ids[0] = id;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        Neighbors toSortedNeighbors() {
+            long[] sortedIds = new long[size];
+            double[] sortedDistances = new double[size];
+            // 힙에서 가장 먼 원소부터 꺼내 뒤에서부터 채움
+            for (int i = size - 1; i >= 0; i--) {
+                sortedIds[i] = ids[0];
+                sortedDistances[i] = distances[0];
+                size--;
+                ids[0] = ids[size];
+                distances[0] = distances[size];
+                siftDown(0);
+            }
+            return new Neighbors(sortedIds, sortedDistances);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (distances[parent] >= distances[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = index * 2 + 1;
+                int largest = index;
+                if (left < size && distances[left] > distances[largest]) {
+                    largest = left;
+                }
+                if (left + 1 < size && distances[left + 1] > distances[largest]) {
+                    largest = left + 1;
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double distance = distances[i];
+            distances[i] = distances[j];
+            distances[j] = distance;
+        }
+    }
+}
@@ -3,16 +3,44 @@ package com.example.hamkae.service;
 import com.example.hamkae.domain.Marker;
 import com.example.hamkae.domain.Photo;
 import com.example.hamkae.domain.User;
+import com.example.hamkae.DTO.HeatmapCellResponseDTO;
+import com.example.hamkae.DTO.MarkerClusterResponseDTO;
+import com.example.hamkae.DTO.MarkerPageResponseDTO;
 import com.example.hamkae.DTO.MarkerRequestDTO;
 import com.example.hamkae.DTO.MarkerResponseDTO;
+import com.example.hamkae.DTO.NearestMarkerResponseDTO;
 import com.example.hamkae.repository.MarkerRepository;
+import com.example.hamkae.repository.PhotoRepository;
 import com.example.hamkae.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -31,7 +59,41 @@ public class MarkerService {
 
     private final MarkerRepository markerRepository;
     private final UserRepository userRepository;
+    private final PhotoRepository photoRepository;
     private final FileUploadService fileUploadService;
+    private final MarkerSpatialIndex markerSpatialIndex;
+    private final MarkerClusterIndex markerClusterIndex;
+    private final MarkerNearestIndex markerNearestIndex;
+    private final MarkerHeatmapIndex markerHeatmapIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 커서 기반 목록 조회 시 한 페이지의 최대 크기
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * NDJSON 스트리밍 시 출력 버퍼를 비우는 마커 간격
+     */
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
+    /**
+     * 사진을 IN 조건으로 일괄 조회할 때 한 번에 넘기는 마커 ID 수
+     */
+    private static final int PHOTO_BATCH_SIZE = 1000;
+
+    /**
+     * 활성 마커와 사진을 한 번에 읽는 스트리밍용 쿼리
+     * 마커별 행이 연속되도록 (등록일시, ID) 순으로 정렬합니다.
+     */
+    private static final String STREAM_ACTIVE_MARKERS_SQL =
+            "SELECT m.id, m.lat, m.lng, m.description, m.status, m.created_at, " +
+            "p.id AS photo_id, p.type AS photo_type, p.image_path " +
+            "FROM markers m LEFT JOIN photos p ON p.marker_id = m.id " +
+            "WHERE m.status = 'ACTIVE' " +
+            "ORDER BY m.created_at DESC, m.id DESC, p.id";
 
     /**
      * 새로운 마커를 등록합니다.
@@ -43,6 +105,21 @@ public class MarkerService {
      */
     @Transactional
     public Long registerMarker(MarkerRequestDTO request, Long userId) {
+        return registerMarker(request, userId, new ArrayList<>());
+    }
+
+    /**
+     * 새로운 마커를 제보 사진과 함께 한 트랜잭션에서 등록합니다.
+     * 사진은 미리 저장을 마친 상태로 전달되며, 모두 BEFORE 타입으로 연결됩니다.
+     *
+     * @param request 마커 등록 요청 데이터
+     * @param userId 마커를 등록할 사용자 ID
+     * @param images 저장을 마친 제보 사진들
+     * @return 등록된 마커의 ID
+     * @throws RuntimeException 사용자를 찾을 수 없는 경우
+     */
+    @Transactional
+    public Long registerMarker(MarkerRequestDTO request, Long userId, List<IngestedImage> images) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
@@ -53,7 +130,17 @@ public class MarkerService {
                 .reportedBy(user)
                 .build();
 
+        // 마커에 사진 추가 (양방향 관계 설정, CASCADE로 함께 저장됨)
+        for (IngestedImage image : images) {
+            marker.addPhoto(image.applyTo(Photo.builder())
+                    .marker(marker)
+                    .user(user)
+                    .type(Photo.PhotoType.BEFORE)
+                    .build());
+        }
+
         Marker savedMarker = markerRepository.save(marker);
+        eventPublisher.publishEvent(MarkerChangedEvent.of(MarkerChangedEvent.ChangeType.CREATED, savedMarker));
         return savedMarker.getId();
     }
 
@@ -69,6 +156,25 @@ public class MarkerService {
      */
     @Transactional
     public Long addPhotoToMarker(Long markerId, String imagePath, String photoType, Long userId) {
+        return addPhotoToMarker(markerId, Photo.builder().imagePath(imagePath), photoType, userId);
+    }
+
+    /**
+     * 업로드 시 측정한 이미지 정보와 함께 마커에 사진을 추가합니다.
+     *
+     * @param markerId 마커 ID
+     * @param image 저장된 이미지와 측정값
+     * @param photoType 사진 타입 (BEFORE, AFTER)
+     * @param userId 사진을 업로드한 사용자 ID
+     * @return 추가된 사진의 ID
+     * @throws RuntimeException 마커나 사용자를 찾을 수 없는 경우
+     */
+    @Transactional
+    public Long addPhotoToMarker(Long markerId, IngestedImage image, String photoType, Long userId) {
+        return addPhotoToMarker(markerId, image.applyTo(Photo.builder()), photoType, userId);
+    }
+
+    private Long addPhotoToMarker(Long markerId, Photo.PhotoBuilder photoBuilder, String photoType, Long userId) {
         Marker marker = markerRepository.findById(markerId)
                 .orElseThrow(() -> new RuntimeException("마커를 찾을 수 없습니다."));
         
@@ -82,10 +188,9 @@ public class MarkerService {
             throw new RuntimeException("유효하지 않은 사진 타입입니다: " + photoType);
         }
 
-        Photo photo = Photo.builder()
+        Photo photo = photoBuilder
                 .marker(marker)
                 .user(user)
-                .imagePath(imagePath)
                 .type(type)
                 .build();
 
@@ -103,9 +208,199 @@ public class MarkerService {
      */
     public List<MarkerResponseDTO> getAllActiveMarkers() {
         List<Marker> markers = markerRepository.findActiveMarkers();
-        return markers.stream()
-                .map(MarkerResponseDTO::from)
+        return toResponses(markers);
+    }
+
+    /**
+     * 활성 마커를 커서 기반으로 한 페이지씩 조회합니다.
+     *
+     * @param cursor 이전 페이지 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (1~500)
+     * @return 마커 목록과 다음 페이지 커서
+     * @throws IllegalArgumentException 커서나 페이지 크기가 올바르지 않은 경우
+     */
+    public MarkerPageResponseDTO getActiveMarkersPage(String cursor, int size) {
+        validatePageSize(size);
+        // 다음 페이지 존재 여부를 COUNT 없이 알기 위해 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Marker> markers;
+        if (cursor == null || cursor.isBlank()) {
+            markers = markerRepository.findActiveMarkersFirstPage(limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            markers = markerRepository.findActiveMarkersAfter(position.createdAt, position.id, limit);
+        }
+        return toPage(markers, size);
+    }
+
+    /**
+     * 활성 마커 전체를 NDJSON(한 줄에 마커 하나)으로 출력 스트림에 씁니다.
+     * 전진 전용(forward-only) JDBC 커서로 마커와 사진을 한 번에 읽으며,
+     * 마커 한 건씩 변환해 바로 내보내므로 마커 수와 관계없이 메모리 사용량이 일정합니다.
+     *
+     * @param out 응답 출력 스트림
+     * @throws UncheckedIOException 출력 중 오류가 발생한 경우 (클라이언트 연결 종료 등)
+     */
+    public void streamActiveMarkers(OutputStream out) {
+        NdjsonMarkerWriter writer = new NdjsonMarkerWriter(out);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_ACTIVE_MARKERS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL Connector/J는 Integer.MIN_VALUE일 때 결과를 한 행씩 스트리밍합니다.
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, writer);
+        writer.finish();
+        log.debug("활성 마커 스트리밍 완료: 마커 수={}", writer.count);
+    }
+
+    /**
+     * 지도 화면 범위 내의 활성 마커를 조회합니다.
+     * 메모리 공간 인덱스에서 범위 내 마커 ID를 찾은 뒤 해당 마커들만 조회합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @return 범위 내 활성 마커 목록 (최신순)
+     * @throws IllegalArgumentException 범위가 올바르지 않은 경우
+     */
+    public List<MarkerResponseDTO> getMarkersInViewport(double minLat, double maxLat, double minLng, double maxLng) {
+        validateBounds(minLat, maxLat, minLng, maxLng);
+
+        long[] markerIds = markerSpatialIndex.findInBounds(minLat, maxLat, minLng, maxLng);
+        if (markerIds.length == 0) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = Arrays.stream(markerIds).boxed().collect(Collectors.toList());
+        List<Marker> markers = markerRepository.findAllById(ids).stream()
+                .filter(Marker::isActive)
+                .sorted(Comparator.comparing(Marker::getCreatedAt).reversed())
                 .collect(Collectors.toList());
+        return toResponses(markers);
+    }
+
+    /**
+     * 조회 범위가 위경도 범위 안에 있고 최소값이 최대값보다 크지 않은지 확인합니다.
+     *
+     * @throws IllegalArgumentException 범위가 올바르지 않은 경우
+     */
+    private static void validateBounds(double minLat, double maxLat, double minLng, double maxLng) {
+        // NaN은 범위 비교를 모두 통과하므로 범위 안에 있는지를 확인
+        if (!(minLat >= -90 && maxLat <= 90) || !(minLng >= -180 && maxLng <= 180)) {
+            throw new IllegalArgumentException("좌표 범위가 올바르지 않습니다.");
+        }
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("조회 범위가 올바르지 않습니다. 최소값은 최대값보다 클 수 없습니다.");
+        }
+    }
+
+    /**
+     * 지도 화면 범위와 줌 레벨에 해당하는 마커 클러스터를 조회합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @param zoom 지도 줌 레벨 (0~20)
+     * @return 클러스터 중심 좌표와 마커 수 목록
+     * @throws IllegalArgumentException 범위가 올바르지 않은 경우
+     */
+    public List<MarkerClusterResponseDTO> getMarkerClusters(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("조회 범위가 올바르지 않습니다. 최소값은 최대값보다 클 수 없습니다.");
+        }
+        if (zoom < MarkerClusterIndex.MIN_ZOOM || zoom > MarkerClusterIndex.MAX_ZOOM) {
+            throw new IllegalArgumentException("줌 레벨은 " + MarkerClusterIndex.MIN_ZOOM + "~" + MarkerClusterIndex.MAX_ZOOM + " 사이여야 합니다.");
+        }
+        return markerClusterIndex.getClusters(minLat, maxLat, minLng, maxLng, zoom);
+    }
+
+    /**
+     * 지정한 범위의 마커 밀도(히트맵)를 조회합니다.
+     * 미리 집계된 격자 카운트를 합산하므로 DB를 조회하지 않습니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @param resolutionDeg 셀 한 변의 크기 (도 단위)
+     * @param from 집계 시작 월 (yyyy-MM, null이면 제한 없음)
+     * @param to 집계 종료 월 (yyyy-MM, null이면 제한 없음)
+     * @return 마커가 있는 셀별 상태별 마커 수
+     * @throws IllegalArgumentException 요청 값이 올바르지 않은 경우
+     */
+    public List<HeatmapCellResponseDTO> getHeatmap(double minLat, double maxLat, double minLng, double maxLng,
+                                                   double resolutionDeg, String from, String to) {
+        validateBounds(minLat, maxLat, minLng, maxLng);
+
+        YearMonth fromMonth;
+        YearMonth toMonth;
+        try {
+            fromMonth = from != null && !from.isBlank() ? YearMonth.parse(from) : null;
+            toMonth = to != null && !to.isBlank() ? YearMonth.parse(to) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("기간은 yyyy-MM 형식이어야 합니다.");
+        }
+        if (fromMonth != null && toMonth != null && fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("시작 월은 종료 월보다 늦을 수 없습니다.");
+        }
+
+        return markerHeatmapIndex.getHeatmap(minLat, maxLat, minLng, maxLng, resolutionDeg, fromMonth, toMonth);
+    }
+
+    /**
+     * 기준 좌표에서 가까운 활성 마커를 거리순으로 조회합니다.
+     *
+     * @param lat 기준 위도
+     * @param lng 기준 경도
+     * @param k 최대 조회 개수 (1~100)
+     * @param maxMeters 최대 검색 반경 (미터, null이면 제한 없음)
+     * @return 거리순으로 정렬된 주변 마커 목록
+     * @throws IllegalArgumentException 요청 값이 올바르지 않은 경우
+     */
+    public List<NearestMarkerResponseDTO> getNearestMarkers(double lat, double lng, int k, Double maxMeters) {
+        // NaN은 범위 비교를 모두 통과하므로 범위 안에 있는지를 확인
+        if (!(lat >= -90 && lat <= 90) || !(lng >= -180 && lng <= 180)) {
+            throw new IllegalArgumentException("좌표 범위가 올바르지 않습니다.");
+        }
+        if (k < 1 || k > 100) {
+            throw new IllegalArgumentException("조회 개수는 1~100 사이여야 합니다.");
+        }
+        if (maxMeters != null && !(maxMeters > 0)) {
+            throw new IllegalArgumentException("검색 반경은 0보다 커야 합니다.");
+        }
+
+        MarkerNearestIndex.Neighbors neighbors = markerNearestIndex.findNearest(
+                lat, lng, k, maxMeters != null ? maxMeters : Double.MAX_VALUE);
+        if (neighbors.ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = Arrays.stream(neighbors.ids).boxed().collect(Collectors.toList());
+        Map<Long, Marker> markersById = markerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Marker::getId, Function.identity()));
+
+        List<Marker> markers = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        for (int i = 0; i < neighbors.ids.length; i++) {
+            Marker marker = markersById.get(neighbors.ids[i]);
+            if (marker != null && marker.isActive()) {
+                markers.add(marker);
+                distances.add(neighbors.distances[i]);
+            }
+        }
+
+        List<MarkerResponseDTO> responses = toResponses(markers);
+        List<NearestMarkerResponseDTO> result = new ArrayList<>();
+        for (int i = 0; i < responses.size(); i++) {
+            result.add(NearestMarkerResponseDTO.builder()
+                    .distanceMeters(distances.get(i))
+                    .marker(responses.get(i))
+                    .build());
+        }
+        return result;
     }
 
     /**
@@ -116,7 +411,7 @@ public class MarkerService {
      * @throws RuntimeException 마커를 찾을 수 없는 경우
      */
     public MarkerResponseDTO getMarkerById(Long markerId) {
-        Marker marker = markerRepository.findById(markerId)
+        Marker marker = markerRepository.findWithPhotosById(markerId)
                 .orElseThrow(() -> new RuntimeException("마커를 찾을 수 없습니다."));
         return MarkerResponseDTO.from(marker);
     }
@@ -129,14 +424,34 @@ public class MarkerService {
      */
     public List<MarkerResponseDTO> getMarkersByUserId(Long userId) {
         List<Marker> markers = markerRepository.findByReportedById(userId);
-        return markers.stream()
-                .map(MarkerResponseDTO::from)
-                .collect(Collectors.toList());
+        return toResponses(markers);
+    }
+
+    /**
+     * 특정 사용자가 제보한 마커들을 커서 기반으로 한 페이지씩 조회합니다.
+     *
+     * @param userId 제보자 사용자 ID
+     * @param cursor 이전 페이지 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (1~500)
+     * @return 마커 목록과 다음 페이지 커서
+     * @throws IllegalArgumentException 커서나 페이지 크기가 올바르지 않은 경우
+     */
+    public MarkerPageResponseDTO getMarkersByUserIdPage(Long userId, String cursor, int size) {
+        validatePageSize(size);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Marker> markers;
+        if (cursor == null || cursor.isBlank()) {
+            markers = markerRepository.findByReportedByIdFirstPage(userId, limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            markers = markerRepository.findByReportedByIdAfter(userId, position.createdAt, position.id, limit);
+        }
+        return toPage(markers, size);
     }
 
     /**
      * 마커를 완전히 삭제합니다 (제보자만 가능).
-     * 마커와 연결된 모든 사진의 로컬 파일도 함께 삭제됩니다.
+     * 마커와 연결된 사진의 로컬 파일은 커밋 이후, 다른 사진이 참조하지 않는 경우에만 삭제됩니다.
      * 
      * @param markerId 삭제할 마커 ID
      * @param userId 삭제를 요청한 사용자 ID
@@ -152,26 +467,189 @@ public class MarkerService {
         }
 
         try {
-            // 연결된 사진들의 로컬 파일 삭제
-            List<String> deletedFiles = new ArrayList<>();
-            for (Photo photo : marker.getPhotos()) {
-                String imagePath = photo.getImagePath();
-                if (fileUploadService.deleteImage(imagePath)) {
-                    deletedFiles.add(imagePath);
-                    log.info("사진 파일 삭제 완료: {}", imagePath);
-                } else {
-                    log.warn("사진 파일 삭제 실패: {}", imagePath);
-                }
-            }
+            List<String> imagePaths = marker.getPhotos().stream()
+                    .map(Photo::getImagePath)
+                    .distinct()
+                    .collect(Collectors.toList());
 
             // 마커와 연결된 모든 사진 삭제 (CASCADE로 자동 삭제됨)
             markerRepository.delete(marker);
-            
-            log.info("마커 완전 삭제 완료: ID={}, 삭제된 사진 파일 수={}", markerId, deletedFiles.size());
+            eventPublisher.publishEvent(MarkerChangedEvent.of(MarkerChangedEvent.ChangeType.REMOVED, marker));
+
+            // 사진 파일은 내용 해시로 공유되므로, 사진 행이 실제로 지워진 커밋 이후에 참조 수를 확인하여 삭제
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteImageFiles(markerId, imagePaths);
+                }
+            });
+
+            log.info("마커 완전 삭제 완료: ID={}, 사진 파일 수={}", markerId, imagePaths.size());
             
         } catch (Exception e) {
             log.error("마커 삭제 중 오류 발생: markerId={}", markerId, e);
             throw new RuntimeException("마커 삭제 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
+
+    /**
+     * 삭제된 마커의 사진 파일 중 더 이상 참조되지 않는 파일을 삭제합니다.
+     */
+    private void deleteImageFiles(Long markerId, List<String> imagePaths) {
+        int deletedCount = 0;
+        for (String imagePath : imagePaths) {
+            try {
+                if (fileUploadService.deleteImage(imagePath)) {
+                    deletedCount++;
+                }
+            } catch (Exception e) {
+                log.warn("사진 파일 삭제 실패: {}", imagePath, e);
+            }
+        }
+        log.info("마커 사진 파일 정리 완료: markerId={}, 삭제된 사진 파일 수={}", markerId, deletedCount);
+    }
+
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+    }
+
+    /**
+     * size + 1건 조회한 결과를 페이지 응답으로 변환합니다.
+     */
+    private MarkerPageResponseDTO toPage(List<Marker> markers, int size) {
+        boolean hasNext = markers.size() > size;
+        List<Marker> page = hasNext ? markers.subList(0, size) : markers;
+        String nextCursor = hasNext ? PageCursor.encode(page.get(page.size() - 1)) : null;
+
+        return MarkerPageResponseDTO.builder()
+                .markers(toResponses(page))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 마커 목록을 응답 DTO로 변환합니다.
+     * 마커마다 사진 컬렉션을 지연 로딩하는 대신 사진을 IN 조건으로 일괄 조회하므로,
+     * 마커 수와 관계없이 (마커 수 / PHOTO_BATCH_SIZE)회의 쿼리만 추가로 실행됩니다.
+     *
+     * @param markers 변환할 마커 목록 (순서 유지)
+     * @return 마커 응답 목록
+     */
+    private List<MarkerResponseDTO> toResponses(List<Marker> markers) {
+        if (markers.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = markers.stream().map(Marker::getId).collect(Collectors.toList());
+        Map<Long, List<MarkerResponseDTO.PhotoSimpleDTO>> photosByMarkerId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += PHOTO_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + PHOTO_BATCH_SIZE, ids.size()));
+            for (PhotoRepository.PhotoSummary photo : photoRepository.findSummariesByMarkerIdIn(batch)) {
+                photosByMarkerId.computeIfAbsent(photo.getMarkerId(), k -> new ArrayList<>())
+                        .add(MarkerResponseDTO.PhotoSimpleDTO.of(
+                                photo.getId(), photo.getType().name(), photo.getImagePath()));
+            }
+        }
+
+        return markers.stream()
+                .map(marker -> MarkerResponseDTO.from(marker,
+                        photosByMarkerId.getOrDefault(marker.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * keyset 페이지네이션 위치 (등록일시, ID)
+     * 클라이언트에는 "등록일시|ID"를 URL-safe Base64로 인코딩한 문자열로 전달됩니다.
+     */
+    private static class PageCursor {
+        final LocalDateTime createdAt;
+        final Long id;
+
+        PageCursor(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        static String encode(Marker marker) {
+            String raw = marker.getCreatedAt() + "|" + marker.getId();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new PageCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+        }
+    }
+
+    /**
+     * 마커-사진 조인 결과를 마커 단위로 묶어 NDJSON으로 출력하는 행 처리기
+     * 같은 마커의 행은 연속해서 들어오므로 현재 마커 하나만 메모리에 유지합니다.
+     */
+    private class NdjsonMarkerWriter implements RowCallbackHandler {
+        private final OutputStream out;
+        private MarkerResponseDTO current;
+        private int count;
+
+        NdjsonMarkerWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long markerId = rs.getLong("id");
+            if (current == null || current.getId() != markerId) {
+                write(current);
+                current = MarkerResponseDTO.builder()
+                        .id(markerId)
+                        .lat(rs.getBigDecimal("lat"))
+                        .lng(rs.getBigDecimal("lng"))
+                        .description(rs.getString("description"))
+                        .status(rs.getString("status"))
+                        .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                        .photos(new ArrayList<>())
+                        .build();
+            }
+
+            long photoId = rs.getLong("photo_id");
+            if (!rs.wasNull()) {
+                current.getPhotos().add(MarkerResponseDTO.PhotoSimpleDTO.of(
+                        photoId, rs.getString("photo_type"), rs.getString("image_path")));
+            }
+        }
+
+        void finish() {
+            write(current);
+            current = null;
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void write(MarkerResponseDTO marker) {
+            if (marker == null) {
+                return;
+            }
+            try {
+                out.write(objectMapper.writeValueAsBytes(marker));
+                out.write('\n');
+                if (++count % STREAM_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
\ No newline at end of file
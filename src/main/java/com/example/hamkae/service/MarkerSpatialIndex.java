@@ -0,0 +1,304 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.repository.MarkerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 활성 마커를 균일 격자(uniform grid)로 나누어 보관하는 메모리 공간 인덱스
+ * 지도 화면 범위(viewport) 조회 시 테이블 전체를 스캔하지 않고 겹치는 셀만 확인합니다.
+ *
+ * 셀 하나에는 마커 ID와 위도/경도를 원시 타입 배열로 저장하며,
+ * 마커 등록/청소 완료/삭제 이벤트를 트랜잭션 커밋 이후에 반영합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarkerSpatialIndex {
+
+    private final MarkerRepository markerRepository;
+
+    /**
+     * 격자 셀 한 변의 크기 (도 단위, 기본 0.01도 ≒ 1.1km)
+     */
+    @Value("${app.markers.index.cell-size-deg:0.01}")
+    private double cellSizeDeg;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 셀 키 -> 셀 데이터
+     */
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    /**
+     * 마커 ID -> 마커가 속한 셀 키
+     */
+    private final Map<Long, Long> cellKeyByMarkerId = new HashMap<>();
+
+    /**
+     * 애플리케이션 시작 시 DB의 활성 마커로 인덱스를 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<MarkerRepository.MarkerPoint> points = markerRepository.findActiveMarkerPoints();
+
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            cellKeyByMarkerId.clear();
+            for (MarkerRepository.MarkerPoint point : points) {
+                insert(point.getId(), point.getLat().doubleValue(), point.getLng().doubleValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("마커 공간 인덱스 구성 완료: 마커 수={}, 셀 수={}", points.size(), cells.size());
+    }
+
+    /**
+     * 마커 변경 이벤트를 인덱스에 반영합니다.
+     * 롤백된 변경이 반영되지 않도록 커밋 이후에 실행되며,
+     * 이 인덱스를 읽어 만드는 캐시(타일 등)보다 먼저 갱신되도록 우선 순위를 높게 둡니다.
+     *
+     * @param event 마커 변경 이벤트
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarkerChanged(MarkerChangedEvent event) {
+        if (event.getType() == MarkerChangedEvent.ChangeType.CREATED) {
+            put(event.getMarkerId(), event.getLat(), event.getLng());
+        } else {
+            remove(event.getMarkerId());
+        }
+    }
+
+    /**
+     * 마커를 인덱스에 추가합니다. 이미 존재하면 위치를 갱신합니다.
+     *
+     * @param markerId 마커 ID
+     * @param lat 위도
+     * @param lng 경도
+     */
+    public void put(Long markerId, double lat, double lng) {
+        lock.writeLock().lock();
+        try {
+            delete(markerId);
+            insert(markerId, lat, lng);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 마커를 인덱스에서 제거합니다.
+     *
+     * @param markerId 마커 ID
+     */
+    public void remove(Long markerId) {
+        lock.writeLock().lock();
+        try {
+            delete(markerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 지정한 좌표 범위에 포함되는 마커 ID를 조회합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @return 범위 내 마커 ID 배열
+     */
+    public long[] findInBounds(double minLat, double maxLat, double minLng, double maxLng) {
+        LongBuffer result = new LongBuffer();
+        forEachInBounds(minLat, maxLat, minLng, maxLng, (id, lat, lng) -> result.add(id));
+        return result.toArray();
+    }
+
+    /**
+     * 지정한 좌표 범위에 포함되는 마커마다 visitor를 호출합니다.
+     * 범위와 겹치는 셀만 확인하며, 범위가 넓어 셀 수가 점유 셀 수보다 많으면 점유 셀만 순회합니다.
+     * visitor는 읽기 락을 잡은 상태에서 호출되므로 가볍게 유지해야 합니다.
+     *
+     * @param minLat 최소 위도
+     * @param maxLat 최대 위도
+     * @param minLng 최소 경도
+     * @param maxLng 최대 경도
+     * @param visitor 범위 내 마커를 전달받을 콜백
+     */
+    public void forEachInBounds(double minLat, double maxLat, double minLng, double maxLng, PointVisitor visitor) {
+        // 격자 밖의 범위는 격자 경계로 잘라, 셀 순회가 int 범위 끝까지 이어지지 않도록 함
+        int minRow = Math.max(0, row(minLat));
+        int maxRow = Math.min(row(90.0), row(maxLat));
+        int minCol = Math.max(0, col(minLng));
+        int maxCol = Math.min(col(180.0), col(maxLng));
+        if (minRow > maxRow || minCol > maxCol) {
+            return;
+        }
+        long cellsInRange = ((long) maxRow - minRow + 1) * ((long) maxCol - minCol + 1);
+
+        lock.readLock().lock();
+        try {
+            if (cellsInRange > cells.size()) {
+                for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                    int r = (int) (entry.getKey() >> 32);
+                    int c = (int) (long) entry.getKey();
+                    if (r >= minRow && r <= maxRow && c >= minCol && c <= maxCol) {
+                        entry.getValue().visit(minLat, maxLat, minLng, maxLng, visitor);
+                    }
+                }
+            } else {
+                for (int r = minRow; r <= maxRow; r++) {
+                    for (int c = minCol; c <= maxCol; c++) {
+                        Cell cell = cells.get(cellKey(r, c));
+                        if (cell != null) {
+                            cell.visit(minLat, maxLat, minLng, maxLng, visitor);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 인덱스에 저장된 마커 수를 반환합니다.
+     *
+     * @return 마커 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellKeyByMarkerId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== 내부 메서드 (쓰기 락을 잡은 상태에서 호출) ==========
+
+    private void insert(Long markerId, double lat, double lng) {
+        long key = cellKey(row(lat), col(lng));
+        cells.computeIfAbsent(key, k -> new Cell()).add(markerId, lat, lng);
+        cellKeyByMarkerId.put(markerId, key);
+    }
+
+    private void delete(Long markerId) {
+        Long key = cellKeyByMarkerId.remove(markerId);
+        if (key == null) {
+            return;
+        }
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(markerId) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90.0) / cellSizeDeg);
+    }
+
+    private int col(double lng) {
+        return (int) Math.floor((lng + 180.0) / cellSizeDeg);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * 범위 조회 결과를 박싱 없이 전달받기 위한 콜백 인터페이스
+     */
+    @FunctionalInterface
+    public interface PointVisitor {
+        void visit(long markerId, double lat, double lng);
+    }
+
+    /**
+     * 격자 셀 하나에 속한 마커들을 원시 타입 배열로 저장하는 내부 클래스
+     */
+    private static class Cell {
+        long[] ids = new long[4];
+        double[] lats = new double[4];
+        double[] lngs = new double[4];
+        int size;
+
+        void add(long id, double lat, double lng) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    // 마지막 원소로 덮어써서 O(1) 삭제
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lngs[i] = lngs[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void visit(double minLat, double maxLat, double minLng, double maxLng, PointVisitor visitor) {
+            for (int i = 0; i < size; i++) {
+                double lat = lats[i];
+                double lng = lngs[i];
+                if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                    visitor.visit(ids[i], lat, lng);
+                }
+            }
+        }
+    }
+
+    /**
+     * 조회 결과를 박싱 없이 모으기 위한 가변 long 배열
+     */
+    private static class LongBuffer {
+        long[] values = new long[16];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.hamkae.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 활성 마커를 z/x/y 타일 단위의 바이너리 데이터로 제공하는 서비스
+ *
+ * 타일 포맷 (모든 정수는 unsigned LEB128 varint, 좌표 차분은 zigzag 인코딩):
+ * <pre>
+ * "HMT" 1      매직 바이트와 포맷 버전
+ * z, x, y      타일 좌표
+ * count        마커 수
+ * count회 반복 (마커 ID 오름차순):
+ *   idDelta    이전 마커 ID와의 차이
+ *   dx, dy     이전 마커와의 타일 내부 좌표 차이 (0~4095 격자, zigzag)
+ * </pre>
+ *
+ * 생성된 타일은 크기가 제한된 LRU 캐시에 보관되며,
+ * 마커가 등록/청소 완료/삭제되면 해당 마커가 포함된 타일(줌 레벨마다 1장)만 무효화됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarkerTileService {
+
+    /**
+     * 지원하는 최대 줌 레벨
+     */
+    public static final int MAX_ZOOM = 20;
+
+    /**
+     * 타일 내부 좌표 해상도 (Mapbox Vector Tile 기본값과 동일)
+     */
+    private static final int EXTENT = 4096;
+
+    private static final byte[] MAGIC = {'H', 'M', 'T', 1};
+
+    private final MarkerSpatialIndex markerSpatialIndex;
+
+    /**
+     * 캐시에 보관할 최대 타일 수
+     */
+    @Value("${app.markers.tiles.cache-size:2048}")
+    private int cacheSize;
+
+    /**
+     * 접근 순서 기반 LRU 타일 캐시 (tileKey -> 인코딩된 타일)
+     */
+    private final Map<Long, byte[]> tileCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    /**
+     * 무효화가 일어날 때마다 증가하는 값
+     * 타일 생성 도중 무효화가 끼어들면 오래된 타일을 캐시에 넣지 않기 위해 사용합니다.
+     */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * 타일을 조회합니다. 캐시에 없으면 공간 인덱스에서 생성하여 캐시에 저장합니다.
+     *
+     * @param z 줌 레벨 (0~20)
+     * @param x 타일 x 좌표
+     * @param y 타일 y 좌표
+     * @return 인코딩된 타일 바이트
+     * @throws IllegalArgumentException 타일 좌표가 올바르지 않은 경우
+     */
+    public byte[] getTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new IllegalArgumentException("줌 레벨은 0~" + MAX_ZOOM + " 사이여야 합니다.");
+        }
+        int tilesPerAxis = 1 << z;
+        if (x < 0 || x >= tilesPerAxis || y < 0 || y >= tilesPerAxis) {
+            throw new IllegalArgumentException("타일 좌표가 범위를 벗어났습니다: " + z + "/" + x + "/" + y);
+        }
+
+        long key = tileKey(z, x, y);
+        synchronized (tileCache) {
+            byte[] cached = tileCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long invalidationsBefore = invalidationCount.get();
+        byte[] tile = buildTile(z, x, y);
+        synchronized (tileCache) {
+            if (invalidationCount.get() == invalidationsBefore) {
+                tileCache.put(key, tile);
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * 마커 변경 시 해당 마커가 포함된 타일들을 캐시에서 제거합니다.
+     * 공간 인덱스가 먼저 갱신된 뒤 실행되어야 하므로 낮은 우선 순위로 실행됩니다.
+     *
+     * @param event 마커 변경 이벤트
+     */
+    @Order(100)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarkerChanged(MarkerChangedEvent event) {
+        double px = WebMercator.lngToX(event.getLng());
+        double py = WebMercator.latToY(event.getLat());
+
+        synchronized (tileCache) {
+            invalidationCount.incrementAndGet();
+            for (int z = 0; z <= MAX_ZOOM; z++) {
+                int tilesPerAxis = 1 << z;
+                tileCache.remove(tileKey(z,
+                        WebMercator.cellIndex(px, tilesPerAxis),
+                        WebMercator.cellIndex(py, tilesPerAxis)));
+            }
+        }
+        log.debug("마커 타일 캐시 무효화: markerId={}, type={}", event.getMarkerId(), event.getType());
+    }
+
+    /**
+     * 공간 인덱스에서 타일 범위의 마커를 읽어 바이너리 타일을 생성합니다.
+     */
+    private byte[] buildTile(int z, int x, int y) {
+        int tilesPerAxis = 1 << z;
+        double minLng = WebMercator.xToLng((double) x / tilesPerAxis);
+        double maxLng = WebMercator.xToLng((double) (x + 1) / tilesPerAxis);
+        double maxLat = WebMercator.yToLat((double) y / tilesPerAxis);
+        double minLat = WebMercator.yToLat((double) (y + 1) / tilesPerAxis);
+
+        TileFeatures features = new TileFeatures();
+        markerSpatialIndex.forEachInBounds(minLat, maxLat, minLng, maxLng, (id, lat, lng) -> {
+            double px = WebMercator.lngToX(lng) * tilesPerAxis - x;
+            double py = WebMercator.latToY(lat) * tilesPerAxis - y;
+            // 경계선 위의 마커는 인접 타일과 중복될 수 있으므로 [0, 1) 범위만 포함
+            if (px >= 0 && px < 1 && py >= 0 && py < 1) {
+                features.add(id, (int) (px * EXTENT), (int) (py * EXTENT));
+            }
+        });
+        features.sortById();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + features.size * 6);
+        out.write(MAGIC, 0, MAGIC.length);
+        writeVarint(out, z);
+        writeVarint(out, x);
+        writeVarint(out, y);
+        writeVarint(out, features.size);
+
+        long prevId = 0;
+        int prevX = 0;
+        int prevY = 0;
+        for (int i = 0; i < features.size; i++) {
+            writeVarint(out, features.ids[i] - prevId);
+            writeVarint(out, zigzag(features.xs[i] - prevX));
+            writeVarint(out, zigzag(features.ys[i] - prevY));
+            prevId = features.ids[i];
+            prevX = features.xs[i];
+            prevY = features.ys[i];
+        }
+        return out.toByteArray();
+    }
+
+    private static long tileKey(int z, int x, int y) {
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * 타일에 포함될 마커를 원시 타입 배열로 모으는 내부 클래스
+     */
+    private static class TileFeatures {
+        long[] ids = new long[16];
+        int[] xs = new int[16];
+        int[] ys = new int[16];
+        int size;
+
+        void add(long id, int x, int y) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            ids[size] = id;
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+
+        void sortById() {
+            // 공간 인덱스 순회 순서는 ID 순서와 무관하므로 인덱스 배열을 정렬해 재배치
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+
+            long[] sortedIds = new long[size];
+            int[] sortedXs = new int[size];
+            int[] sortedYs = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedXs[i] = xs[order[i]];
+                sortedYs[i] = ys[order[i]];
+            }
+            ids = sortedIds;
+            xs = sortedXs;
+            ys = sortedYs;
+        }
+    }
+}
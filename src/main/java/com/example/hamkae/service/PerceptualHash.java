@@ -0,0 +1,98 @@
+package com.example.hamkae.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * DCT 기반 64비트 지각 해시(pHash) 유틸리티
+ * 이미지를 32x32 그레이스케일로 축소한 뒤 저주파 8x8 DCT 계수가 중앙값보다 큰지를 비트로 기록합니다.
+ * 두 해시의 해밍 거리가 작을수록 시각적으로 비슷한 이미지입니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class PerceptualHash {
+
+    private static final int SAMPLE_SIZE = 32;
+    private static final int HASH_SIZE = 8;
+
+    /**
+     * DCT 계산용 코사인 테이블 [주파수][좌표]
+     */
+    private static final double[][] COS_TABLE = new double[HASH_SIZE][SAMPLE_SIZE];
+
+    static {
+        for (int u = 0; u < HASH_SIZE; u++) {
+            for (int x = 0; x < SAMPLE_SIZE; x++) {
+                COS_TABLE[u][x] = Math.cos((2 * x + 1) * u * Math.PI / (2.0 * SAMPLE_SIZE));
+            }
+        }
+    }
+
+    private PerceptualHash() {
+    }
+
+    /**
+     * 이미지의 지각 해시를 계산합니다.
+     *
+     * @param image 해시를 계산할 이미지 (서브샘플링된 이미지도 가능)
+     * @return 64비트 지각 해시
+     */
+    public static long compute(BufferedImage image) {
+        BufferedImage small = new BufferedImage(SAMPLE_SIZE, SAMPLE_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = small.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, SAMPLE_SIZE, SAMPLE_SIZE, null);
+        g2d.dispose();
+
+        double[][] luma = new double[SAMPLE_SIZE][SAMPLE_SIZE];
+        for (int y = 0; y < SAMPLE_SIZE; y++) {
+            for (int x = 0; x < SAMPLE_SIZE; x++) {
+                int rgb = small.getRGB(x, y);
+                luma[y][x] = 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+            }
+        }
+
+        double[] coefficients = new double[HASH_SIZE * HASH_SIZE];
+        for (int v = 0; v < HASH_SIZE; v++) {
+            for (int u = 0; u < HASH_SIZE; u++) {
+                double sum = 0;
+                for (int y = 0; y < SAMPLE_SIZE; y++) {
+                    double rowSum = 0;
+                    for (int x = 0; x < SAMPLE_SIZE; x++) {
+                        rowSum += luma[y][x] * COS_TABLE[u][x];
+                    }
+                    sum += rowSum * COS_TABLE[v][y];
+                }
+                coefficients[v * HASH_SIZE + u] = sum;
+            }
+        }
+
+        // 전체 밝기를 나타내는 DC 성분은 중앙값 계산에서 제외
+        double[] ac = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(ac);
+        double median = ac[ac.length / 2];
+
+        long hash = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 두 지각 해시 사이의 해밍 거리를 계산합니다.
+     *
+     * @param a 첫 번째 해시
+     * @param b 두 번째 해시
+     * @return 서로 다른 비트 수 (0~64)
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.hamkae.service;
 
-import com.example.hamkae.DTO.GptVerificationResponseDTO;
 import com.example.hamkae.domain.Marker;
 import com.example.hamkae.domain.Photo;
 import com.example.hamkae.domain.User;
@@ -10,7 +9,9 @@ import com.example.hamkae.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -37,13 +38,15 @@ public class PhotoService {
     private final PhotoRepository photoRepository;
     private final MarkerRepository markerRepository;
     private final UserRepository userRepository;
-    private final FileUploadService fileUploadService;
-    private final GptVerificationService gptVerificationService;
     private final ImageValidationService imageValidationService;
-    private final AiVerificationTaskService aiVerificationTaskService;
+    private final VerificationJobService verificationJobService;
+    private final ImageIngestionService imageIngestionService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 청소 인증용 사진들을 업로드하고 AI 검증을 수행합니다.
+     * 이미지 검증과 저장은 이미지마다 병렬로 처리하며, DB 연결을 잡지 않은 상태에서 수행합니다.
+     * 모든 이미지 처리가 끝난 뒤 사진 등록은 한 트랜잭션에서 수행됩니다.
      * 
      * @param markerId 마커 ID
      * @param images 업로드할 이미지 파일들
@@ -51,60 +54,59 @@ public class PhotoService {
      * @return 업로드된 사진들의 ID 리스트
      * @throws RuntimeException 마커나 사용자를 찾을 수 없는 경우
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Long> uploadCleanupPhotos(Long markerId, MultipartFile[] images, Long userId) {
-        // 마커 존재 여부 확인
+        // 마커 존재 여부 확인 (촬영 위치 검증용 좌표도 함께 조회)
         Marker marker = markerRepository.findById(markerId)
                 .orElseThrow(() -> new RuntimeException("마커를 찾을 수 없습니다."));
         
         // 사용자 존재 여부 확인
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
+        }
         
         // 청소 인증용 사진은 무조건 AFTER 타입
         Photo.PhotoType photoType = Photo.PhotoType.AFTER;
-        
-        List<Long> photoIds = new ArrayList<>();
+
+        List<MultipartFile> files = new ArrayList<>();
+        if (images != null) {
+            for (MultipartFile image : images) {
+                if (!image.isEmpty()) {
+                    files.add(image);
+                }
+            }
+        }
+        if (files.isEmpty()) {
+            return new ArrayList<>();
+        }
         
         try {
-            if (images != null && images.length > 0) {
-                for (MultipartFile image : images) {
-                    if (!image.isEmpty()) {
-                        // 1단계: 이미지 품질 검증
-                        imageValidationService.validateImageQuality(image);
-                        
-                        // 2단계: 중복 업로드 검증
-                        int existingPhotos = photoRepository.countByMarkerIdAndType(markerId, photoType);
-                        imageValidationService.validateDuplicateUpload(markerId, photoType.name(), userId, existingPhotos);
-                        
-                        // 3단계: 이미지 파일 업로드
-                        String imagePath = fileUploadService.uploadImage(image);
-                        
-                        // 4단계: Photo 엔티티 생성
-                        Photo photo = Photo.builder()
-                                .marker(marker)
-                                .user(user)
-                                .imagePath(imagePath)
-                                .type(photoType)
-                                .build();
-                        
-                        // 5단계: 사진 저장
-                        Photo savedPhoto = photoRepository.save(photo);
-                        photoIds.add(savedPhoto.getId());
-                        
-                        // 6단계: 마커에 사진 추가 (양방향 관계 설정)
-                        marker.addPhoto(savedPhoto);
-                        
-                        log.info("청소 인증용 사진 업로드 완료: markerId={}, type=AFTER, photoId={}", 
-                                markerId, savedPhoto.getId());
-                    }
+            // 1단계: 중복 업로드 검증 (요청 단위로 한 번, 같은 요청의 여러 장은 허용)
+            int existingPhotos = photoRepository.countByMarkerIdAndType(markerId, photoType);
+            imageValidationService.validateDuplicateUpload(markerId, photoType.name(), userId, existingPhotos);
+
+            // 2~3단계: 이미지 품질 검증, EXIF 촬영 위치 검증 및 파일 저장 (이미지마다 병렬, 한 번 읽고 한 번 디코딩)
+            // 마커에서 멀리 떨어진 곳에서 찍은 사진은 저장과 GPT 검증 전에 거절
+            List<IngestedImage> ingestedImages = imageIngestionService.ingestAll(files, exif -> {
+                if (exif != null) {
+                    imageValidationService.validateCaptureLocation(
+                            exif.getLatitude(), exif.getLongitude(), marker.getLat(), marker.getLng());
                 }
-                
-                // 마커 저장 (양방향 관계 설정)
-                markerRepository.save(marker);
-                
-                // AI 검증은 백그라운드 비동기 작업으로 수행하여 업로드 응답 지연을 줄임
-                performAiVerificationAsync(markerId, userId);
+            });
+
+            // 4~6단계: Photo 엔티티 생성 및 저장, AI 검증 작업 등록 (한 트랜잭션)
+            // AI 검증은 커밋 이후 작업 대기열에서 수행하여 업로드 응답 지연을 줄이고, 재시작 시에도 유실되지 않음
+            // 등록이 실패하면 트랜잭션 전에 저장한 이미지는 참조하는 사진이 없으므로 삭제
+            List<Long> photoIds;
+            try {
+                photoIds = transactionTemplate.execute(status -> {
+                    List<Long> savedIds = savePhotos(markerId, userId, photoType, ingestedImages);
+                    verificationJobService.enqueue(markerId, userId);
+                    return savedIds;
+                });
+            } catch (RuntimeException e) {
+                imageIngestionService.discard(ingestedImages);
+                throw e;
             }
             
             log.info("청소 인증용 사진들 업로드 완료: markerId={}, type=AFTER, count={}", 
@@ -119,76 +121,35 @@ public class PhotoService {
     }
 
     /**
-     * 업로드 이후 AI 검증을 비동기로 수행합니다.
+     * 저장을 마친 이미지들을 마커의 사진으로 등록합니다. 트랜잭션 안에서 호출되어야 합니다.
      */
-    public void performAiVerificationAsync(Long markerId, Long userId) {
-        aiVerificationTaskService.verifyMarkerAsync(markerId, userId);
-    }
+    private List<Long> savePhotos(Long markerId, Long userId, Photo.PhotoType photoType,
+                                  List<IngestedImage> ingestedImages) {
+        Marker marker = markerRepository.findById(markerId)
+                .orElseThrow(() -> new RuntimeException("마커를 찾을 수 없습니다."));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-    /**
-     * AI 검증을 수행합니다.
-     * 마커의 BEFORE 사진과 방금 업로드된 AFTER 사진을 비교하여 청소 완료 여부를 판단합니다.
-     * 
-     * @param markerId 마커 ID
-     * @param userId 사용자 ID
-     */
-    @Transactional
-    public void performAiVerification(Long markerId, Long userId) {
-        try {
-            log.info("AI 검증 시작: markerId={}, userId={}", markerId, userId);
-            
-            // 마커의 BEFORE 사진들 조회
-            List<Photo> beforePhotos = photoRepository.findByMarkerIdAndType(markerId, Photo.PhotoType.BEFORE);
-            if (beforePhotos.isEmpty()) {
-                log.warn("BEFORE 사진이 없어 AI 검증을 건너뜁니다: markerId={}", markerId);
-                return;
-            }
-            
-            // 마커의 AFTER 사진들 조회 (방금 업로드된 것들)
-            List<Photo> afterPhotos = photoRepository.findByMarkerIdAndType(markerId, Photo.PhotoType.AFTER);
-            if (afterPhotos.isEmpty()) {
-                log.warn("AFTER 사진이 없어 AI 검증을 건너뜁니다: markerId={}", markerId);
-                return;
-            }
-            
-            // 첫 번째 BEFORE 사진과 첫 번째 AFTER 사진으로 검증 수행
-            Photo beforePhoto = beforePhotos.get(0);
-            Photo afterPhoto = afterPhotos.get(0);
-            
-            // GPT API를 통한 사진 비교 검증
-            GptVerificationResponseDTO verificationResult = gptVerificationService.verifyCleanup(beforePhoto, afterPhoto);
-            
-            // 검증 결과를 AFTER 사진에 저장
-            if (verificationResult.isSuccess()) {
-                if ("APPROVED".equals(verificationResult.getVerificationResult())) {
-                    afterPhoto.approve(verificationResult.getGptResponse());
-                    log.info("AI 검증 승인: markerId={}, photoId={}, 신뢰도={}", 
-                            markerId, afterPhoto.getId(), verificationResult.getConfidence());
-                    
-                    // TODO: 포인트 지급 로직 추가 예정
-                    // user.addPoints(gptVerificationService.getPointsReward());
-                    
-                } else {
-                    afterPhoto.reject(verificationResult.getGptResponse());
-                    log.info("AI 검증 거부: markerId={}, photoId={}, 신뢰도={}", 
-                            markerId, afterPhoto.getId(), verificationResult.getConfidence());
-                }
-                
-                // 사진 상태 업데이트
-                photoRepository.save(afterPhoto);
-                
-            } else {
-                log.error("AI 검증 실패: markerId={}, error={}", markerId, verificationResult.getErrorMessage());
-                afterPhoto.reject("AI 검증 실패: " + verificationResult.getErrorMessage());
-                photoRepository.save(afterPhoto);
-            }
-            
-            log.info("AI 검증 완료: markerId={}, 결과={}", markerId, verificationResult.getVerificationResult());
-            
-        } catch (Exception e) {
-            log.error("AI 검증 중 오류 발생: markerId={}, userId={}", markerId, userId, e);
-            // 검증 실패 시에도 사진은 정상적으로 업로드된 상태로 유지
+        List<Long> photoIds = new ArrayList<>();
+        for (IngestedImage ingested : ingestedImages) {
+            // Photo 엔티티 생성 (업로드 시 측정한 이미지 정보 포함)
+            Photo photo = ingested.applyTo(Photo.builder())
+                    .marker(marker)
+                    .user(user)
+                    .type(photoType)
+                    .build();
+
+            Photo savedPhoto = photoRepository.save(photo);
+            photoIds.add(savedPhoto.getId());
+
+            // 마커에 사진 추가 (양방향 관계 설정)
+            marker.addPhoto(savedPhoto);
+
+            log.info("청소 인증용 사진 업로드 완료: markerId={}, type={}, photoId={}",
+                    markerId, photoType, savedPhoto.getId());
         }
+        markerRepository.save(marker);
+        return photoIds;
     }
 
     /**
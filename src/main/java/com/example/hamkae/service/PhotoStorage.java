@@ -0,0 +1,128 @@
+package com.example.hamkae.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * 사진 파일 저장소 추상화
+ *
+ * 파일은 키(업로드 루트 기준 상대 경로, 예: cas/ab/ab12...ef.jpg, thumb/cas/ab/ab12...ef.jpg)로 식별하며,
+ * 웹 접근 경로는 항상 "/images/" + 키 입니다.
+ * app.storage.type 설정에 따라 로컬 파일 시스템 또는 S3 호환 저장소 구현이 사용됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public interface PhotoStorage {
+
+    /**
+     * 웹 접근 경로의 접두사
+     */
+    String IMAGE_URL_PREFIX = "/images/";
+
+    /**
+     * 파일을 저장합니다. 같은 키의 파일이 있으면 덮어씁니다.
+     *
+     * @param key 저장소 키
+     * @param content 파일 내용
+     * @throws IOException 저장 실패 시
+     */
+    void put(String key, byte[] content) throws IOException;
+
+    /**
+     * 파일 내용을 모두 읽습니다.
+     *
+     * @param key 저장소 키
+     * @return 파일 내용
+     * @throws java.nio.file.NoSuchFileException 파일이 없는 경우
+     * @throws IOException 읽기 실패 시
+     */
+    byte[] get(String key) throws IOException;
+
+    /**
+     * 파일을 스트림으로 엽니다. 호출자가 스트림을 닫아야 합니다.
+     *
+     * @param key 저장소 키
+     * @return 파일 입력 스트림
+     * @throws java.nio.file.NoSuchFileException 파일이 없는 경우
+     * @throws IOException 읽기 실패 시
+     */
+    InputStream stream(String key) throws IOException;
+
+    /**
+     * 파일을 삭제합니다.
+     *
+     * @param key 저장소 키
+     * @return 파일이 있어서 삭제했으면 true
+     * @throws IOException 삭제 실패 시
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * 파일 존재 여부를 확인합니다.
+     *
+     * @param key 저장소 키
+     * @return 존재하면 true
+     * @throws IOException 확인 실패 시
+     */
+    boolean exists(String key) throws IOException;
+
+    /**
+     * 파일의 마지막 수정 시각을 조회합니다.
+     *
+     * @param key 저장소 키
+     * @return 마지막 수정 시각, 파일이 없으면 null
+     * @throws IOException 조회 실패 시
+     */
+    Instant lastModified(String key) throws IOException;
+
+    /**
+     * 파일 내용은 그대로 두고 마지막 수정 시각을 현재로 갱신합니다.
+     *
+     * @param key 저장소 키
+     * @throws IOException 갱신 실패 시
+     */
+    void touch(String key) throws IOException;
+
+    /**
+     * 파일을 직접 전송(sendfile)할 수 있는 로컬 파일 경로를 반환합니다.
+     * 원격 저장소 구현은 로컬 캐시에 내려받은 경로를 반환합니다.
+     *
+     * @param key 저장소 키
+     * @return 로컬 파일 경로, 파일이 없으면 null
+     * @throws IOException 조회 실패 시
+     */
+    Path localPath(String key) throws IOException;
+
+    /**
+     * 웹 접근 경로를 저장소 키로 변환합니다.
+     *
+     * @param imagePath 웹 접근 경로 (예: /images/cas/ab/ab12...ef.jpg)
+     * @return 저장소 키 (예: cas/ab/ab12...ef.jpg)
+     */
+    static String keyOf(String imagePath) {
+        return imagePath.startsWith(IMAGE_URL_PREFIX) ? imagePath.substring(IMAGE_URL_PREFIX.length()) : imagePath;
+    }
+
+    /**
+     * 저장소 키가 상위 디렉토리 이동이나 절대 경로를 포함하지 않는지 검사합니다.
+     *
+     * @param key 저장소 키
+     * @return 같은 키
+     * @throws IllegalArgumentException 허용되지 않는 키인 경우
+     */
+    static String validateKey(String key) {
+        if (key == null || key.isEmpty() || key.startsWith("/") || key.contains("\\") || key.contains(":")) {
+            throw new IllegalArgumentException("유효하지 않은 저장소 키입니다: " + key);
+        }
+        for (String segment : key.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                throw new IllegalArgumentException("유효하지 않은 저장소 키입니다: " + key);
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,413 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.DTO.UploadSessionResponseDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 이어 올리기(resumable) 사진 업로드 서비스
+ *
+ * 모바일 데이터처럼 연결이 자주 끊기는 환경에서 큰 멀티파트 요청 하나가 실패하면 모든 사진을 다시 보내야 하므로,
+ * 사진마다 업로드 세션을 만들고 청크를 오프셋과 함께 나누어 받습니다.
+ * 1. 세션 생성: 파일명, MIME 타입, 전체 크기를 등록하고 세션 ID를 받습니다.
+ * 2. 청크 전송: 현재 오프셋을 함께 보내면 요청 본문을 임시 파일 끝에 이어 씁니다.
+ *    연결이 끊기면 상태 조회로 서버가 받은 오프셋을 확인하고 그 위치부터 다시 보냅니다.
+ * 3. 완료: 모든 바이트를 받은 세션 ID를 사진 등록 API(upload_ids)로 전달하면
+ *    일반 업로드와 같은 검증/저장 파이프라인(ImageIngestionService, FileUploadService)을 거쳐 등록됩니다.
+ *
+ * 청크는 FileChannel.transferFrom으로 요청 스트림에서 임시 파일로 바로 옮기므로 청크 전체를 메모리에 올리지 않습니다.
+ * 세션 정보는 메모리에만 보관하므로 여러 서버로 운영할 때는 같은 서버로 요청이 가도록 해야 하며,
+ * 마지막 청크 이후 session-ttl 동안 완료되지 않은 세션과 임시 파일은 주기적으로 정리됩니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Service
+public class ResumableUploadService {
+
+    /**
+     * 만료 세션 정리 주기 (초)
+     */
+    private static final long CLEANUP_INTERVAL_SECONDS = 60;
+
+    /**
+     * 임시 파일 확장자
+     */
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * 파일명 최대 길이 (저장 시 확장자만 사용하므로 길게 보관할 필요가 없음)
+     */
+    private static final int MAX_FILENAME_LENGTH = 255;
+
+    private final Path uploadDir;
+
+    /**
+     * 세션당 최대 파일 크기 (바이트)
+     */
+    private final long maxSize;
+
+    /**
+     * 마지막 청크 이후 세션 유지 시간
+     */
+    private final Duration sessionTtl;
+
+    /**
+     * 사용자당 동시에 열어 둘 수 있는 최대 세션 수
+     */
+    private final int maxSessionsPerUser;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 만료 세션을 정리하는 가상 스레드 실행기
+     */
+    private final ScheduledExecutorService cleaner =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("upload-cleaner").factory());
+
+    public ResumableUploadService(
+            @Value("${app.uploads.resumable.dir:${java.io.tmpdir}/hamkae-uploads}") String uploadDir,
+            @Value("${app.uploads.resumable.max-size:10485760}") long maxSize,
+            @Value("${app.uploads.resumable.session-ttl-minutes:60}") long sessionTtlMinutes,
+            @Value("${app.uploads.resumable.max-sessions-per-user:20}") int maxSessionsPerUser) throws IOException {
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.maxSize = maxSize;
+        this.sessionTtl = Duration.ofMinutes(sessionTtlMinutes);
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        Files.createDirectories(this.uploadDir);
+        // 세션 정보는 메모리에만 있으므로 재시작 전에 남은 임시 파일은 이어 받을 수 없음
+        deleteOrphanFiles();
+        cleaner.scheduleAtFixedRate(this::removeExpiredSessions,
+                CLEANUP_INTERVAL_SECONDS, CLEANUP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * 업로드 세션을 생성합니다.
+     *
+     * @param userId 업로드하는 사용자 ID
+     * @param filename 원본 파일명
+     * @param contentType 파일 MIME 타입
+     * @param size 전체 파일 크기 (바이트)
+     * @return 생성된 세션 정보
+     * @throws ResponseStatusException 크기나 타입이 허용되지 않거나 열린 세션이 너무 많은 경우
+     * @throws IOException 임시 파일 생성 실패 시
+     */
+    public UploadSessionResponseDTO createSession(Long userId, String filename, String contentType, long size)
+            throws IOException {
+        if (size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 크기가 올바르지 않습니다.");
+        }
+        if (size > maxSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "파일 크기가 너무 큽니다. (최대 " + maxSize + "바이트)");
+        }
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "이미지 파일만 업로드할 수 있습니다.");
+        }
+        long openSessions = sessions.values().stream()
+                .filter(session -> session.userId.equals(userId))
+                .count();
+        if (openSessions >= maxSessionsPerUser) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "진행 중인 업로드가 너무 많습니다. 기존 업로드를 완료하거나 취소해주세요.");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        if (filename != null && filename.length() > MAX_FILENAME_LENGTH) {
+            filename = filename.substring(filename.length() - MAX_FILENAME_LENGTH);
+        }
+        Path path = uploadDir.resolve(uploadId + PART_SUFFIX);
+        Files.createFile(path);
+
+        UploadSession session = new UploadSession(uploadId, userId, filename, contentType, size, path);
+        sessions.put(uploadId, session);
+        log.info("업로드 세션 생성: uploadId={}, userId={}, size={}", uploadId, userId, size);
+        return toResponse(session);
+    }
+
+    /**
+     * 업로드 세션 상태를 조회합니다.
+     *
+     * @param uploadId 세션 ID
+     * @param userId 요청한 사용자 ID
+     * @return 세션 정보 (offset이 다음 청크의 시작 위치)
+     * @throws ResponseStatusException 세션이 없거나 다른 사용자의 세션인 경우
+     */
+    public UploadSessionResponseDTO getSession(String uploadId, Long userId) {
+        return toResponse(find(uploadId, userId));
+    }
+
+    /**
+     * 요청 본문을 청크로 받아 임시 파일의 offset 위치에 이어 씁니다.
+     * 요청 스트림에서 파일로 직접 옮기며, 도중에 연결이 끊기면 그때까지 받은 바이트까지 오프셋이 늘어납니다.
+     *
+     * @param uploadId 세션 ID
+     * @param userId 요청한 사용자 ID
+     * @param offset 클라이언트가 알고 있는 현재 오프셋
+     * @param contentLength 청크 길이 (모르면 -1)
+     * @param body 요청 본문 스트림
+     * @return 청크를 반영한 세션 정보
+     * @throws ResponseStatusException 오프셋 불일치(409), 선언한 크기 초과(413), 다른 요청이 같은 세션을 처리 중인 경우(409)
+     * @throws IOException 요청 읽기 또는 파일 쓰기 실패 시
+     */
+    public UploadSessionResponseDTO appendChunk(String uploadId, Long userId, long offset, long contentLength,
+                                                InputStream body) throws IOException {
+        UploadSession session = find(uploadId, userId);
+        if (!session.busy.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 요청이 같은 업로드를 처리 중입니다.");
+        }
+        try {
+            if (offset != session.offset) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "오프셋이 일치하지 않습니다. (현재 " + session.offset + ")");
+            }
+            long remaining = session.size - offset;
+            if (contentLength > remaining) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "선언한 파일 크기를 초과했습니다.");
+            }
+
+            try (FileChannel channel = FileChannel.open(session.path, StandardOpenOption.WRITE)) {
+                // 이전 청크가 중간에 끊겨 파일이 오프셋보다 길게 남았다면 잘라냄
+                channel.truncate(offset);
+                boolean overflow = false;
+                try {
+                    ReadableByteChannel source = Channels.newChannel(body);
+                    long position = offset;
+                    while (position < session.size) {
+                        long transferred = channel.transferFrom(source, position, session.size - position);
+                        if (transferred == 0) {
+                            break;
+                        }
+                        position += transferred;
+                    }
+                    overflow = position == session.size && body.read() != -1;
+                } finally {
+                    if (overflow) {
+                        channel.truncate(offset);
+                    }
+                    session.offset = Math.min(channel.size(), session.size);
+                    session.touch();
+                }
+                if (overflow) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "선언한 파일 크기를 초과했습니다.");
+                }
+            }
+
+            if (session.isComplete()) {
+                log.info("업로드 수신 완료: uploadId={}, size={}", uploadId, session.size);
+            }
+            return toResponse(session);
+        } finally {
+            session.busy.set(false);
+        }
+    }
+
+    /**
+     * 업로드 세션을 취소하고 임시 파일을 삭제합니다.
+     *
+     * @param uploadId 세션 ID
+     * @param userId 요청한 사용자 ID
+     * @throws ResponseStatusException 세션이 없거나 처리 중인 경우
+     */
+    public void cancelSession(String uploadId, Long userId) {
+        UploadSession session = find(uploadId, userId);
+        if (!session.busy.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 요청이 같은 업로드를 처리 중입니다.");
+        }
+        remove(session);
+    }
+
+    /**
+     * 모든 바이트를 받은 세션들을 사진 등록에 사용하기 위해 가져옵니다.
+     * 가져간 세션은 complete 또는 release를 호출할 때까지 다른 요청에서 사용할 수 없습니다.
+     *
+     * @param uploadIds 세션 ID 목록
+     * @param userId 요청한 사용자 ID
+     * @return 임시 파일을 감싼 업로드 파일 목록 (uploadIds 순서)
+     * @throws ResponseStatusException 세션이 없거나 아직 완료되지 않았거나 처리 중인 경우
+     */
+    public List<MultipartFile> claim(List<String> uploadIds, Long userId) {
+        List<UploadSession> claimed = new ArrayList<>();
+        try {
+            for (String uploadId : new LinkedHashSet<>(uploadIds)) {
+                UploadSession session = find(uploadId, userId);
+                if (!session.busy.compareAndSet(false, true)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "다른 요청이 같은 업로드를 처리 중입니다: " + uploadId);
+                }
+                claimed.add(session);
+                if (!session.isComplete()) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "아직 업로드가 완료되지 않았습니다: " + uploadId + " (" + session.offset + "/" + session.size + ")");
+                }
+            }
+        } catch (RuntimeException e) {
+            claimed.forEach(session -> session.busy.set(false));
+            throw e;
+        }
+
+        List<MultipartFile> files = new ArrayList<>();
+        for (UploadSession session : claimed) {
+            files.add(new ResumableUploadFile(session.path, session.filename, session.contentType, session.size));
+        }
+        return files;
+    }
+
+    /**
+     * 사진 등록을 마친 세션들을 삭제합니다.
+     *
+     * @param uploadIds claim으로 가져간 세션 ID 목록
+     */
+    public void complete(List<String> uploadIds) {
+        for (String uploadId : uploadIds) {
+            UploadSession session = sessions.get(uploadId);
+            if (session != null) {
+                remove(session);
+            }
+        }
+    }
+
+    /**
+     * 사진 등록에 실패한 세션들을 돌려놓아 다시 시도할 수 있게 합니다.
+     *
+     * @param uploadIds claim으로 가져간 세션 ID 목록
+     */
+    public void release(List<String> uploadIds) {
+        for (String uploadId : uploadIds) {
+            UploadSession session = sessions.get(uploadId);
+            if (session != null) {
+                session.touch();
+                session.busy.set(false);
+            }
+        }
+    }
+
+    // ========== 내부 메서드 ==========
+
+    private UploadSession find(String uploadId, Long userId) {
+        UploadSession session = uploadId != null ? sessions.get(uploadId) : null;
+        if (session == null || !session.userId.equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    private void remove(UploadSession session) {
+        sessions.remove(session.id, session);
+        try {
+            Files.deleteIfExists(session.path);
+        } catch (IOException e) {
+            log.warn("업로드 임시 파일 삭제 실패: {}", session.path, e);
+        }
+    }
+
+    /**
+     * 마지막 청크 이후 session-ttl이 지난 세션을 삭제합니다. 처리 중인 세션은 건너뜁니다.
+     */
+    private void removeExpiredSessions() {
+        Instant expiredBefore = Instant.now().minus(sessionTtl);
+        int removed = 0;
+        for (Iterator<UploadSession> it = sessions.values().iterator(); it.hasNext(); ) {
+            UploadSession session = it.next();
+            if (session.lastActivity.isBefore(expiredBefore) && session.busy.compareAndSet(false, true)) {
+                remove(session);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("만료된 업로드 세션 정리: {}건", removed);
+        }
+    }
+
+    private void deleteOrphanFiles() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir, "*" + PART_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("남은 업로드 임시 파일 정리 실패: {}", uploadDir, e);
+        }
+    }
+
+    private UploadSessionResponseDTO toResponse(UploadSession session) {
+        return UploadSessionResponseDTO.builder()
+                .uploadId(session.id)
+                .filename(session.filename)
+                .contentType(session.contentType)
+                .size(session.size)
+                .offset(session.offset)
+                .complete(session.isComplete())
+                .expiresAt(LocalDateTime.ofInstant(session.lastActivity.plus(sessionTtl), ZoneId.systemDefault()))
+                .build();
+    }
+
+    /**
+     * 업로드 세션 (busy 플래그를 잡은 요청만 파일과 오프셋을 변경함)
+     */
+    private static class UploadSession {
+        private final String id;
+        private final Long userId;
+        private final String filename;
+        private final String contentType;
+        private final long size;
+        private final Path path;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile long offset;
+        private volatile Instant lastActivity = Instant.now();
+
+        private UploadSession(String id, Long userId, String filename, String contentType, long size, Path path) {
+            this.id = id;
+            this.userId = userId;
+            this.filename = filename;
+            this.contentType = contentType;
+            this.size = size;
+            this.path = path;
+        }
+
+        private boolean isComplete() {
+            return offset == size;
+        }
+
+        private void touch() {
+            lastActivity = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,658 @@
+package com.example.hamkae.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * S3 호환 API(AWS S3, MinIO, Cloudflare R2 등) 사진 저장소 (app.storage.type=s3)
+ *
+ * 여러 애플리케이션 노드가 같은 버킷을 공유할 수 있도록 사진을 원격 저장소에 보관합니다.
+ * <ul>
+ *   <li>쓰기: 로컬 캐시에 먼저 기록하고 업로드 저널 파일을 남긴 뒤 업로드는 비동기로 진행하며,
+ *       실패하면 지수 백오프로 재시도합니다. 파트 크기를 넘는 파일은 멀티파트 업로드로 파트를 병렬 전송합니다.
+ *       저널 파일은 업로드가 확인된 뒤에만 삭제되며, 재시도를 모두 실패했거나 서버가 종료되어 남은 저널은
+ *       시작 시와 주기적으로 다시 업로드합니다. 저널이 남은 파일은 유일한 사본이므로 캐시 정리 대상에서 제외합니다.</li>
+ *   <li>읽기: 로컬 캐시에 없으면 내려받아 캐시에 저장하는 read-through 캐시를 사용하며,
+ *       같은 키를 동시에 요청해도 한 번만 내려받습니다. 캐시는 최대 크기를 넘으면 가장 오래 사용하지 않은 파일부터 정리됩니다.
+ *       캐시 파일의 수정 시각은 원격 객체의 수정 시각으로 맞추고 조회 시 바꾸지 않으므로, 이를 사용하는 ETag가 유지됩니다.</li>
+ *   <li>존재 여부/수정 시각은 다른 노드의 삭제를 반영하도록 항상 원격 저장소에 확인합니다.</li>
+ * </ul>
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3PhotoStorage implements PhotoStorage {
+
+    private static final int MAX_UPLOAD_ATTEMPTS = 3;
+
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * 캐시 디렉토리 아래 업로드 저널 디렉토리 (파일명은 키의 URL-safe Base64, 내용은 쓰기마다 발급한 토큰)
+     */
+    private static final String JOURNAL_DIRECTORY = ".pending-uploads";
+
+    /**
+     * 저널 재업로드 시 동시에 진행할 최대 업로드 수
+     */
+    private static final int MAX_REPLAY_IN_FLIGHT = 16;
+
+    private final S3AsyncClient client;
+    private final String bucket;
+    private final Path cacheDir;
+    private final Path journalDir;
+    private final long cacheMaxBytes;
+    private final int partSize;
+
+    /**
+     * 현재 캐시 디렉토리의 대략적인 총 크기
+     */
+    private final AtomicLong cacheBytes = new AtomicLong();
+
+    /**
+     * 진행 중인 비동기 업로드 (키 -> 완료 future)
+     */
+    private final Map<String, CompletableFuture<Void>> pendingUploads = new ConcurrentHashMap<>();
+
+    /**
+     * 진행 중인 캐시 다운로드 (키 -> 캐시 경로 future, 파일이 없으면 null로 완료)
+     */
+    private final Map<String, CompletableFuture<Path>> pendingDownloads = new ConcurrentHashMap<>();
+
+    /**
+     * 캐시 파일별 마지막 사용 시각 (캐시 정리 순서용, 없으면 파일 수정 시각 사용)
+     */
+    private final Map<String, Long> lastAccess = new ConcurrentHashMap<>();
+
+    /**
+     * 남은 업로드 저널을 다시 업로드하는 단일 가상 스레드 실행기
+     */
+    private final ScheduledExecutorService replayer =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("s3-upload-replay").factory());
+
+    public S3PhotoStorage(
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.bucket}") String bucket,
+            @Value("${app.storage.s3.access-key}") String accessKey,
+            @Value("${app.storage.s3.secret-key}") String secretKey,
+            @Value("${app.storage.s3.path-style-access:true}") boolean pathStyleAccess,
+            @Value("${app.storage.s3.cache-dir}") String cacheDir,
+            @Value("${app.storage.s3.cache-max-bytes:1073741824}") long cacheMaxBytes,
+            @Value("${app.storage.s3.part-size:8388608}") int partSize,
+            @Value("${app.storage.s3.replay-interval-seconds:60}") long replayIntervalSeconds) throws IOException {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .forcePathStyle(pathStyleAccess);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        this.client = builder.build();
+        this.bucket = bucket;
+        this.cacheDir = Paths.get(cacheDir).toAbsolutePath().normalize();
+        this.journalDir = this.cacheDir.resolve(JOURNAL_DIRECTORY);
+        this.cacheMaxBytes = cacheMaxBytes;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize);
+
+        Files.createDirectories(this.journalDir);
+        try (Stream<Path> files = Files.walk(this.cacheDir)) {
+            cacheBytes.set(files.filter(this::isCacheFile).mapToLong(S3PhotoStorage::sizeOf).sum());
+        }
+        log.info("S3 사진 저장소 초기화: bucket={}, endpoint={}, 캐시 {} bytes", bucket,
+                endpoint.isBlank() ? "(기본)" : endpoint, cacheBytes.get());
+
+        // 이전 실행에서 업로드를 확인하지 못한 파일을 시작하자마자 다시 업로드
+        replayer.scheduleWithFixedDelay(this::replayJournal, 0, replayIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 로컬 캐시와 업로드 저널을 기록한 뒤 반환하며, 원격 업로드는 비동기로 진행합니다.
+     * 업로드가 실패해도 저널이 남아 있으므로 캐시에서 정리되지 않고 이후 다시 업로드됩니다.
+     */
+    @Override
+    public void put(String key, byte[] content) throws IOException {
+        writeCache(key, content);
+        String token = writeJournal(key);
+        startUpload(key, content, token);
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        Path path = localPath(key);
+        if (path == null) {
+            throw new NoSuchFileException(key);
+        }
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream stream(String key) throws IOException {
+        Path path = localPath(key);
+        if (path == null) {
+            throw new NoSuchFileException(key);
+        }
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        // 저널을 먼저 지워 삭제 이후 다시 업로드되지 않게 함
+        boolean journaled = Files.deleteIfExists(journalPath(key));
+        awaitPendingUpload(key);
+        boolean existed = head(key) != null || journaled;
+        join(client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build()));
+        deleteCache(key);
+        return existed;
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return isUnconfirmed(key) || head(key) != null;
+    }
+
+    @Override
+    public Instant lastModified(String key) throws IOException {
+        if (isUnconfirmed(key)) {
+            return Instant.now();
+        }
+        HeadObjectResponse head = head(key);
+        return head == null ? null : head.lastModified();
+    }
+
+    /**
+     * S3는 수정 시각만 바꿀 수 없으므로 메타데이터를 교체하며 자기 자신으로 복사합니다.
+     */
+    @Override
+    public void touch(String key) throws IOException {
+        if (isUnconfirmed(key)) {
+            return;
+        }
+        join(client.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(bucket).sourceKey(key)
+                .destinationBucket(bucket).destinationKey(key)
+                .metadataDirective(MetadataDirective.REPLACE)
+                .contentType(contentTypeOf(key))
+                .build()));
+    }
+
+    @Override
+    public Path localPath(String key) throws IOException {
+        Path cached = cachePath(key);
+        if (Files.isRegularFile(cached)) {
+            // 수정 시각은 ETag에 쓰이므로 바꾸지 않고 사용 시각은 따로 기록
+            lastAccess.put(key, System.currentTimeMillis());
+            return cached;
+        }
+
+        CompletableFuture<Path> download = new CompletableFuture<>();
+        CompletableFuture<Path> existing = pendingDownloads.putIfAbsent(key, download);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            download.complete(downloadToCache(key, cached));
+        } catch (IOException | RuntimeException e) {
+            download.completeExceptionally(e);
+        } finally {
+            pendingDownloads.remove(key, download);
+        }
+        return join(download);
+    }
+
+    /**
+     * 종료 전에 진행 중인 업로드가 끝나기를 기다립니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        replayer.shutdownNow();
+        try {
+            CompletableFuture.allOf(pendingUploads.values().toArray(new CompletableFuture[0]))
+                    .get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("종료 시 완료되지 않은 S3 업로드 (다음 시작 시 다시 업로드): {}", pendingUploads.keySet());
+        }
+        client.close();
+    }
+
+    // ========== 업로드 ==========
+
+    /**
+     * 비동기 업로드를 시작합니다. 성공하면 같은 쓰기에서 남긴 저널만 삭제합니다.
+     */
+    private void startUpload(String key, byte[] content, String token) {
+        CompletableFuture<Void> upload = uploadWithRetry(key, content, 1);
+        pendingUploads.put(key, upload);
+        upload.whenComplete((result, error) -> {
+            if (error == null) {
+                completeJournal(key, token);
+                syncCacheModifiedTime(key);
+            } else {
+                log.error("S3 업로드 최종 실패 (저널을 남겨 다시 업로드): key={}", key, unwrap(error));
+            }
+            pendingUploads.remove(key, upload);
+        });
+    }
+
+    /**
+     * 업로드가 확인되지 않은 저널을 다시 업로드합니다.
+     * 캐시 파일이 없는 저널은 다시 올릴 수 없으므로 오류를 남기고 삭제합니다.
+     */
+    private void replayJournal() {
+        List<Path> journals;
+        try (Stream<Path> files = Files.list(journalDir)) {
+            journals = files.collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("S3 업로드 저널 조회 실패", e);
+            return;
+        }
+
+        for (Path journal : journals) {
+            if (pendingUploads.size() >= MAX_REPLAY_IN_FLIGHT) {
+                break;
+            }
+            String key;
+            try {
+                key = new String(Base64.getUrlDecoder().decode(journal.getFileName().toString()), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                log.warn("알 수 없는 S3 업로드 저널 파일: {}", journal);
+                continue;
+            }
+            if (pendingUploads.containsKey(key)) {
+                continue;
+            }
+            try {
+                String token = Files.readString(journal);
+                Path cached = cachePath(key);
+                if (!Files.isRegularFile(cached)) {
+                    log.error("업로드할 캐시 파일이 없어 저널 삭제: key={}", key);
+                    Files.deleteIfExists(journal);
+                    continue;
+                }
+                log.info("S3 업로드 저널 재업로드: key={}", key);
+                startUpload(key, Files.readAllBytes(cached), token);
+            } catch (IOException | RuntimeException e) {
+                log.error("S3 업로드 저널 재업로드 실패: key={}", key, e);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> uploadWithRetry(String key, byte[] content, int attempt) {
+        return upload(key, content).handle((result, error) -> {
+            if (error == null) {
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            if (attempt >= MAX_UPLOAD_ATTEMPTS) {
+                return CompletableFuture.<Void>failedFuture(unwrap(error));
+            }
+            long delayMillis = 500L << (attempt - 1);
+            log.warn("S3 업로드 실패, {}ms 후 재시도 ({}/{}): key={}", delayMillis, attempt, MAX_UPLOAD_ATTEMPTS, key);
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> uploadWithRetry(key, content, attempt + 1));
+        }).thenCompose(future -> future);
+    }
+
+    private CompletableFuture<Void> upload(String key, byte[] content) {
+        if (content.length <= partSize) {
+            return client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket).key(key).contentType(contentTypeOf(key)).build(),
+                    AsyncRequestBody.fromBytes(content))
+                    .thenApply(response -> null);
+        }
+        return client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucket).key(key).contentType(contentTypeOf(key)).build())
+                .thenCompose(created -> uploadParts(key, content, created.uploadId()));
+    }
+
+    /**
+     * 파트를 병렬로 업로드한 뒤 멀티파트 업로드를 완료합니다. 실패하면 업로드를 취소합니다.
+     */
+    private CompletableFuture<Void> uploadParts(String key, byte[] content, String uploadId) {
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        for (int offset = 0, partNumber = 1; offset < content.length; offset += partSize, partNumber++) {
+            int length = Math.min(partSize, content.length - offset);
+            int number = partNumber;
+            // fromByteBuffer는 버퍼를 처음으로 되감으므로 파트 구간만 복사하는 fromRemainingByteBuffer 사용
+            parts.add(client.uploadPart(UploadPartRequest.builder()
+                                    .bucket(bucket).key(key).uploadId(uploadId).partNumber(number)
+                                    .contentLength((long) length).build(),
+                            AsyncRequestBody.fromRemainingByteBuffer(ByteBuffer.wrap(content, offset, length)))
+                    .thenApply(response -> CompletedPart.builder().partNumber(number).eTag(response.eTag()).build()));
+        }
+
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket).key(key).uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder()
+                                .parts(parts.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                                .build())
+                        .build()))
+                .<Void>thenApply(response -> null)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                                .bucket(bucket).key(key).uploadId(uploadId).build());
+                    }
+                });
+    }
+
+    /**
+     * 업로드가 확인되지 않은 키인지 확인합니다. (진행 중이거나 저널이 남아 있음)
+     */
+    private boolean isUnconfirmed(String key) {
+        return pendingUploads.containsKey(key) || Files.exists(journalPath(key));
+    }
+
+    private void awaitPendingUpload(String key) {
+        CompletableFuture<Void> upload = pendingUploads.get(key);
+        if (upload == null) {
+            return;
+        }
+        try {
+            upload.get(30, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("진행 중인 S3 업로드 대기 시간 초과: key={}", key);
+        } catch (Exception e) {
+            // 업로드 실패는 put()의 완료 콜백에서 기록됨
+        }
+    }
+
+    // ========== 원격 조회 ==========
+
+    private HeadObjectResponse head(String key) throws IOException {
+        try {
+            return join(client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build()));
+        } catch (IOException e) {
+            if (isNotFound(e.getCause())) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private Path downloadToCache(String key, Path cached) throws IOException {
+        Files.createDirectories(cached.getParent());
+        // toFile 변환기는 파일이 이미 있으면 실패하므로 만들어지지 않은 임시 경로를 사용
+        Path temp = cached.resolveSibling(cached.getFileName() + "." + UUID.randomUUID() + ".part");
+        try {
+            GetObjectResponse response = join(client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build(),
+                    AsyncResponseTransformer.toFile(temp)));
+            if (response.lastModified() != null) {
+                // 노드마다 같은 ETag가 나오도록 원격 객체의 수정 시각을 사용
+                Files.setLastModifiedTime(temp, FileTime.from(response.lastModified()));
+            }
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (isNotFound(e.getCause())) {
+                return null;
+            }
+            throw e;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        addCacheBytes(sizeOf(cached));
+        return cached;
+    }
+
+    private static boolean isNotFound(Throwable error) {
+        return error instanceof NoSuchKeyException
+                || (error instanceof S3Exception s3Exception && s3Exception.statusCode() == 404);
+    }
+
+    // ========== 업로드 저널 ==========
+
+    private Path journalPath(String key) {
+        String name = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(PhotoStorage.validateKey(key).getBytes(StandardCharsets.UTF_8));
+        return journalDir.resolve(name);
+    }
+
+    /**
+     * 업로드 저널을 기록하고 이번 쓰기의 토큰을 반환합니다.
+     */
+    private String writeJournal(String key) throws IOException {
+        String token = UUID.randomUUID().toString();
+        Path journal = journalPath(key);
+        Path temp = Files.createTempFile(journalDir, ".journal", ".tmp");
+        try {
+            Files.writeString(temp, token);
+            Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return token;
+    }
+
+    /**
+     * 업로드가 확인된 저널을 삭제합니다. 그 사이 같은 키에 새로 쓴 저널(토큰이 다름)은 남겨 둡니다.
+     */
+    private void completeJournal(String key, String token) {
+        Path journal = journalPath(key);
+        try {
+            if (Files.isRegularFile(journal) && token.equals(Files.readString(journal))) {
+                Files.deleteIfExists(journal);
+            }
+        } catch (IOException e) {
+            log.warn("S3 업로드 저널 삭제 실패 (다시 업로드됨): key={}", key, e);
+        }
+    }
+
+    /**
+     * 업로드한 캐시 파일의 수정 시각을 원격 객체의 수정 시각으로 맞춥니다.
+     */
+    private void syncCacheModifiedTime(String key) {
+        client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build())
+                .thenAccept(head -> {
+                    Path cached = cachePath(key);
+                    try {
+                        if (head.lastModified() != null && Files.isRegularFile(cached)) {
+                            Files.setLastModifiedTime(cached, FileTime.from(head.lastModified()));
+                        }
+                    } catch (IOException e) {
+                        log.debug("S3 캐시 파일 수정 시각 갱신 실패: key={}", key, e);
+                    }
+                });
+    }
+
+    // ========== 로컬 캐시 ==========
+
+    private Path cachePath(String key) {
+        Path path = cacheDir.resolve(PhotoStorage.validateKey(key)).normalize();
+        if (!path.startsWith(cacheDir)) {
+            throw new IllegalArgumentException("유효하지 않은 저장소 키입니다: " + key);
+        }
+        return path;
+    }
+
+    private void writeCache(String key, byte[] content) throws IOException {
+        Path cached = cachePath(key);
+        Files.createDirectories(cached.getParent());
+        Path temp = Files.createTempFile(cached.getParent(), ".upload", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        addCacheBytes(content.length);
+    }
+
+    private void deleteCache(String key) throws IOException {
+        Path cached = cachePath(key);
+        long size = sizeOf(cached);
+        lastAccess.remove(key);
+        if (Files.deleteIfExists(cached)) {
+            cacheBytes.addAndGet(-size);
+        }
+    }
+
+    private void addCacheBytes(long size) {
+        if (cacheBytes.addAndGet(size) > cacheMaxBytes) {
+            trimCache();
+        }
+    }
+
+    /**
+     * 캐시가 최대 크기의 90% 이하가 될 때까지 가장 오래 사용하지 않은 파일부터 삭제합니다.
+     * 업로드가 확인되지 않은 파일(진행 중이거나 저널이 남은 파일)은 유일한 사본이므로 삭제하지 않습니다.
+     */
+    private synchronized void trimCache() {
+        long target = cacheMaxBytes * 9 / 10;
+        if (cacheBytes.get() <= target) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(cacheDir)) {
+            files = walk.filter(this::isCacheFile)
+                    .sorted(Comparator.comparingLong(this::lastUsedMillis))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn("S3 캐시 정리 실패", e);
+            return;
+        }
+
+        int deleted = 0;
+        for (Path file : files) {
+            if (cacheBytes.get() <= target) {
+                break;
+            }
+            String key = keyOf(file);
+            if (isUnconfirmed(key)) {
+                continue;
+            }
+            long size = sizeOf(file);
+            try {
+                lastAccess.remove(key);
+                if (Files.deleteIfExists(file)) {
+                    cacheBytes.addAndGet(-size);
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.debug("S3 캐시 파일 삭제 실패: {}", file, e);
+            }
+        }
+        log.info("S3 캐시 정리 완료: 삭제 {}개, 현재 {} bytes", deleted, cacheBytes.get());
+    }
+
+    /**
+     * 업로드 저널과 작성 중인 임시 파일을 제외한 캐시 파일인지 확인합니다.
+     */
+    private boolean isCacheFile(Path file) {
+        String name = file.getFileName().toString();
+        return Files.isRegularFile(file) && !file.startsWith(journalDir)
+                && !name.endsWith(".tmp") && !name.endsWith(".part");
+    }
+
+    private String keyOf(Path file) {
+        return cacheDir.relativize(file).toString().replace('\\', '/');
+    }
+
+    private long lastUsedMillis(Path file) {
+        Long accessed = lastAccess.get(keyOf(file));
+        return accessed != null ? accessed : lastModifiedMillis(file);
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String contentTypeOf(String key) {
+        return MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    /**
+     * 비동기 결과를 기다리고, 실패하면 원인을 담은 IOException으로 변환합니다.
+     */
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("S3 요청 실패: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
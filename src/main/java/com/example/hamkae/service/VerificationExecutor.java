@@ -0,0 +1,161 @@
+package com.example.hamkae.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 검증 전용 실행기
+ *
+ * 검증 작업은 OpenAI 응답을 최대 수십 초 기다리는 블로킹 작업이므로, 작업마다 가상 스레드를 사용하고
+ * 동시에 진행되는 검증 작업 수(사진 조회, 이미지 준비, GPT 응답 대기, 결과 저장 포함)는 max-concurrency로 제한합니다.
+ * 작업은 끝날 때까지 자리를 차지하지만 기다리는 동안 가상 스레드만 멈추므로 플랫폼 스레드는 점유하지 않으며,
+ * OpenAI 요청 한도는 이 실행기가 아니라 GptCallLimiter가 HTTP 호출에만 적용합니다.
+ * 한도를 넘는 작업은 queue-capacity까지 대기하며, 대기열도 가득 차면 RejectedExecutionException으로 바로 거절합니다.
+ * 대기열 작업자(VerificationJobWorker)는 비어 있는 실행 자리만큼만 작업을 점유하므로,
+ * 밀린 작업은 DB 대기열에 남아 있다가 자리가 나면 실행됩니다.
+ *
+ * 메트릭: verification.executor.active(실행 중), verification.executor.queued(대기 중),
+ * verification.executor.rejected(거절 수), verification.executor.wait(대기 시간),
+ * verification.executor.latency(실행 시간, p50/p95/p99)
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+public class VerificationExecutor {
+
+    /**
+     * 최대 동시 실행 수
+     */
+    private final int maxConcurrency;
+
+    /**
+     * 최대 대기 작업 수
+     */
+    private final int queueCapacity;
+
+    private final Semaphore runningSlots;
+
+    /**
+     * 제출되어 끝나지 않은 작업 수 (실행 중 + 대기 중)
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("verification-", 0).factory());
+
+    private final Counter rejectedCounter;
+
+    private final Timer waitTimer;
+
+    private final Timer latencyTimer;
+
+    public VerificationExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.verification.executor.max-concurrency:64}") int maxConcurrency,
+            @Value("${app.verification.executor.queue-capacity:16}") int queueCapacity) {
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.runningSlots = new Semaphore(maxConcurrency, true);
+
+        Gauge.builder("verification.executor.active", active, AtomicInteger::get)
+                .description("실행 중인 AI 검증 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("verification.executor.queued", this, VerificationExecutor::queued)
+                .description("실행 자리를 기다리는 AI 검증 작업 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("verification.executor.rejected")
+                .description("대기열이 가득 차 거절된 AI 검증 작업 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("verification.executor.wait")
+                .description("AI 검증 작업의 실행 대기 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("verification.executor.latency")
+                .description("AI 검증 작업 실행 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 검증 작업을 제출합니다.
+     *
+     * @param task 검증 작업
+     * @return 작업 결과
+     * @throws RejectedExecutionException 실행 자리와 대기열이 모두 가득 찬 경우
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        if (inFlight.incrementAndGet() > maxConcurrency + queueCapacity) {
+            inFlight.decrementAndGet();
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("AI 검증 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                try {
+                    runningSlots.acquire();
+                } catch (InterruptedException e) {
+                    inFlight.decrementAndGet();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                active.incrementAndGet();
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    latencyTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    active.decrementAndGet();
+                    runningSlots.release();
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            inFlight.decrementAndGet();
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * 바로 실행될 수 있는 빈 자리 수를 반환합니다. (대기열 작업자가 점유할 작업 수를 정할 때 사용)
+     *
+     * @return 최대 동시 실행 수 - 제출되어 끝나지 않은 작업 수 (0 이상)
+     */
+    public int idleSlots() {
+        return Math.max(0, maxConcurrency - inFlight.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int queued() {
+        return Math.max(0, inFlight.get() - active.get());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.hamkae.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * AI 검증 작업이 대기열에 추가되었을 때 발행되는 애플리케이션 이벤트
+ * 작업자는 커밋 이후 이 이벤트를 받아 다음 폴링을 기다리지 않고 바로 작업을 가져갑니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor
+public class VerificationJobEnqueuedEvent {
+
+    /**
+     * 추가된 작업 ID
+     */
+    private final Long jobId;
+}
@@ -0,0 +1,189 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.VerificationJob;
+import com.example.hamkae.repository.VerificationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DB 기반 AI 검증 작업 대기열 서비스
+ *
+ * 작업은 청소 인증 사진 등록 트랜잭션 안에서 추가되므로, 사진이 커밋된 경우에만 검증이 실행되고
+ * 서버가 재시작되어도 작업이 남습니다.
+ * 작업자는 SELECT ... FOR UPDATE SKIP LOCKED로 서로 다른 작업을 점유하고, 점유 시간(lease) 안에 끝내지 못한 작업은
+ * 다른 작업자가 다시 가져갑니다. 실패한 작업은 지수 백오프 후 재시도되며 최대 시도 횟수를 넘기면 DEAD 상태가 됩니다.
+ * 작업이 DEAD가 되면 같은 트랜잭션에서 마커의 대기 중인 AFTER 사진을 거부하여 사진이 대기 상태로 남지 않게 합니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VerificationJobService {
+
+    private final VerificationJobRepository verificationJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AiVerificationTaskService aiVerificationTaskService;
+
+    /**
+     * 최대 시도 횟수
+     */
+    @Value("${app.verification.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * 작업 점유 시간 (초)
+     */
+    @Value("${app.verification.jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    /**
+     * 첫 재시도 대기 시간 (초), 이후 시도마다 2배씩 증가
+     */
+    @Value("${app.verification.jobs.backoff-initial-seconds:30}")
+    private long backoffInitialSeconds;
+
+    /**
+     * 최대 재시도 대기 시간 (초)
+     */
+    @Value("${app.verification.jobs.backoff-max-seconds:1800}")
+    private long backoffMaxSeconds;
+
+    /**
+     * 마커의 AI 검증 작업을 대기열에 추가합니다.
+     * 사진 등록과 같은 트랜잭션에서 호출해야 하며, 트랜잭션이 롤백되면 작업도 추가되지 않습니다.
+     *
+     * @param markerId 검증할 마커 ID
+     * @param userId 청소 인증 사진을 업로드한 사용자 ID
+     * @return 추가된 작업 ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long enqueue(Long markerId, Long userId) {
+        VerificationJob job = verificationJobRepository.save(VerificationJob.builder()
+                .markerId(markerId)
+                .userId(userId)
+                .nextRunAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new VerificationJobEnqueuedEvent(job.getId()));
+        log.info("AI 검증 작업 추가: jobId={}, markerId={}", job.getId(), markerId);
+        return job.getId();
+    }
+
+    /**
+     * 실행할 수 있는 작업을 최대 limit개까지 점유합니다.
+     * 점유 시간이 만료된 작업 중 이미 최대 시도 횟수만큼 시도한 작업은 점유하지 않고 DEAD로 변경하며,
+     * 해당 마커의 대기 중인 AFTER 사진을 거부합니다.
+     *
+     * @param workerId 작업자 ID
+     * @param limit 최대 점유 수
+     * @return 점유한 작업 목록
+     */
+    @Transactional
+    public List<VerificationJob> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<VerificationJob> claimed = new ArrayList<>();
+        for (VerificationJob job : verificationJobRepository.findClaimableForUpdate(now, limit)) {
+            if (job.getAttempts() >= maxAttempts) {
+                markDead(job, "작업 점유 시간 초과 (시도 " + job.getAttempts() + "회)");
+                continue;
+            }
+            job.claim(workerId, now.plusSeconds(leaseSeconds));
+            claimed.add(job);
+        }
+        return claimed;
+    }
+
+    /**
+     * 점유한 작업을 완료 처리합니다.
+     * 점유 시간이 지나 다른 작업자가 다시 가져간 작업이면 변경하지 않습니다.
+     *
+     * @param jobId 작업 ID
+     * @param workerId 작업자 ID
+     * @param attempt 점유할 때의 시도 횟수
+     */
+    @Transactional
+    public void complete(Long jobId, String workerId, int attempt) {
+        verificationJobRepository.findById(jobId).ifPresent(job -> {
+            if (!job.isHeldBy(workerId, attempt)) {
+                log.warn("AI 검증 작업 점유를 잃어 완료 처리 생략: jobId={}", jobId);
+                return;
+            }
+            job.succeed();
+        });
+    }
+
+    /**
+     * 실행기에 자리가 없어 실행하지 못한 작업의 점유를 취소합니다. 시도 횟수는 늘어나지 않습니다.
+     *
+     * @param jobId 작업 ID
+     * @param workerId 작업자 ID
+     * @param attempt 점유할 때의 시도 횟수
+     */
+    @Transactional
+    public void release(Long jobId, String workerId, int attempt) {
+        verificationJobRepository.findById(jobId).ifPresent(job -> {
+            if (job.isHeldBy(workerId, attempt)) {
+                job.release();
+            }
+        });
+    }
+
+    /**
+     * 점유한 작업을 실패 처리합니다.
+     * 최대 시도 횟수가 남았으면 백오프 후 다시 실행하도록 돌리고, 아니면 DEAD로 변경하고 대기 중인 AFTER 사진을 거부합니다.
+     *
+     * @param jobId 작업 ID
+     * @param workerId 작업자 ID
+     * @param attempt 점유할 때의 시도 횟수
+     * @param error 실패 사유
+     * @return 작업이 DEAD가 되었으면 true
+     */
+    @Transactional
+    public boolean fail(Long jobId, String workerId, int attempt, String error) {
+        VerificationJob job = verificationJobRepository.findById(jobId).orElse(null);
+        if (job == null || !job.isHeldBy(workerId, attempt)) {
+            log.warn("AI 검증 작업 점유를 잃어 실패 처리 생략: jobId={}", jobId);
+            return false;
+        }
+        if (job.getAttempts() >= maxAttempts) {
+            markDead(job, error);
+            return true;
+        }
+        LocalDateTime nextRunAt = LocalDateTime.now().plusSeconds(backoffSeconds(job.getAttempts()));
+        job.retryAt(nextRunAt, error);
+        log.warn("AI 검증 작업 재시도 예약: jobId={}, 시도 {}회, 다음 실행 {}", jobId, job.getAttempts(), nextRunAt);
+        return false;
+    }
+
+    /**
+     * 작업을 DEAD로 변경하고 마커의 대기 중인 AFTER 사진을 거부합니다.
+     */
+    private void markDead(VerificationJob job, String error) {
+        job.markDead(error);
+        aiVerificationTaskService.rejectPendingAfterPhoto(job.getMarkerId(), error);
+        log.error("AI 검증 작업 중단: jobId={}, markerId={}, 시도 {}회, 사유={}",
+                job.getId(), job.getMarkerId(), job.getAttempts(), error);
+    }
+
+    /**
+     * 시도 횟수에 따른 재시도 대기 시간을 계산합니다.
+     * 여러 작업이 같은 시각에 몰리지 않도록 최대 20%의 무작위 지연을 더합니다.
+     */
+    private long backoffSeconds(int attempts) {
+        long backoff = backoffInitialSeconds << Math.min(attempts - 1, 20);
+        backoff = Math.min(backoff, backoffMaxSeconds);
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.DTO.GptVerificationResponseDTO;
+import com.example.hamkae.domain.VerificationJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 검증 작업 대기열 작업자
+ *
+ * 주기적으로(또는 작업 추가 커밋 직후) AI 검증 실행기(VerificationExecutor)의 빈 자리만큼 작업을 점유하여 실행합니다.
+ * 실행기가 가득 차 있으면 작업을 점유하지 않으므로 밀린 작업은 DB 대기열에 그대로 남습니다.
+ * 여러 서버가 같은 DB를 사용해도 SKIP LOCKED 점유로 작업이 중복 실행되지 않으며,
+ * 서버가 작업 도중 종료되면 점유 시간이 지난 뒤 다른 작업자(또는 재시작한 서버)가 다시 실행합니다.
+ * 점유, 완료, 실패 처리는 각각 짧은 트랜잭션이며 GPT 호출 동안에는 DB 연결을 잡지 않습니다.
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+public class VerificationJobWorker {
+
+    private final VerificationJobService verificationJobService;
+    private final AiVerificationTaskService aiVerificationTaskService;
+    private final VerificationExecutor verificationExecutor;
+
+    /**
+     * 이 서버의 작업자 ID (점유 기록용)
+     */
+    private final String workerId = "worker-" + UUID.randomUUID().toString().substring(0, 8);
+
+
+    /**
+     * 작업 점유를 순서대로 실행하는 단일 가상 스레드 실행기
+     */
+    private final ScheduledExecutorService poller =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("verification-poller").factory());
+
+    public VerificationJobWorker(
+            VerificationJobService verificationJobService,
+            AiVerificationTaskService aiVerificationTaskService,
+            VerificationExecutor verificationExecutor,
+            @Value("${app.verification.jobs.poll-interval-ms:5000}") long pollIntervalMs) {
+        this.verificationJobService = verificationJobService;
+        this.aiVerificationTaskService = aiVerificationTaskService;
+        this.verificationExecutor = verificationExecutor;
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 작업 추가가 커밋되면 다음 폴링을 기다리지 않고 바로 점유를 시도합니다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onJobEnqueued(VerificationJobEnqueuedEvent event) {
+        poller.execute(this::poll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중인 작업은 점유 시간이 지나면 다른 작업자가 다시 실행함
+        poller.shutdownNow();
+    }
+
+    // ========== 내부 메서드 (poll은 poller 스레드에서만 호출) ==========
+
+    private void poll() {
+        int free = verificationExecutor.idleSlots();
+        if (free == 0) {
+            return;
+        }
+        List<VerificationJob> jobs;
+        try {
+            jobs = verificationJobService.claim(workerId, free);
+        } catch (Exception e) {
+            log.error("AI 검증 작업 점유 실패", e);
+            return;
+        }
+        for (VerificationJob job : jobs) {
+            try {
+                verificationExecutor.submit(() -> {
+                    run(job);
+                    return null;
+                }).whenComplete((ignored, e) -> {
+                    // 실행 자리가 비었으니 밀린 작업이 있으면 바로 가져감
+                    if (!poller.isShutdown()) {
+                        poller.execute(this::poll);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 점유 후 수동 검증 요청이 자리를 먼저 차지한 경우: 점유를 취소하고 다음 폴링에서 다시 가져감
+                log.warn("AI 검증 실행기가 가득 차 작업 점유 취소: jobId={}", job.getId());
+                releaseQuietly(job);
+            }
+        }
+    }
+
+    private void releaseQuietly(VerificationJob job) {
+        try {
+            verificationJobService.release(job.getId(), workerId, job.getAttempts());
+        } catch (Exception e) {
+            // 취소하지 못해도 점유 시간이 지나면 다시 실행됨
+            log.error("AI 검증 작업 점유 취소 실패: jobId={}", job.getId(), e);
+        }
+    }
+
+    private void run(VerificationJob job) {
+        int attempt = job.getAttempts();
+        String error;
+        try {
+            // 실행기의 가상 스레드에서 결과를 기다리므로 대기 중에는 플랫폼 스레드를 점유하지 않음
+            GptVerificationResponseDTO result = aiVerificationTaskService.verifyMarker(job.getMarkerId(), job.getUserId())
+                    .block();
+            if (result == null || !result.isRetryable()) {
+                verificationJobService.complete(job.getId(), workerId, attempt);
+                return;
+            }
+            error = result.getErrorMessage();
+        } catch (Exception e) {
+            log.error("AI 검증 작업 실행 중 오류: jobId={}, markerId={}", job.getId(), job.getMarkerId(), e);
+            error = e.getMessage();
+        }
+
+        try {
+            // 최대 시도 횟수를 넘기면 같은 트랜잭션에서 AFTER 사진도 거부됨
+            verificationJobService.fail(job.getId(), workerId, attempt, error);
+        } catch (Exception e) {
+            // 실패 기록도 못 하면 점유 시간이 지난 뒤 다시 실행됨
+            log.error("AI 검증 작업 실패 기록 중 오류: jobId={}", job.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Photo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * GPT 호출 전 로컬 이미지 유사도 사전 필터
+ *
+ * BEFORE/AFTER 사진의 지각 해시 해밍 거리로 먼저 후보를 고르고, 축소 이미지 SSIM으로 한 번 더 확인하여
+ * 거의 같은 사진(청소 흔적 없음)과 전혀 다른 장면(다른 장소)을 GPT 호출 없이 거절합니다.
+ * 두 지표가 모두 같은 쪽을 가리킬 때만 판단하며, 그 사이의 애매한 경우는 GPT로 넘깁니다.
+ * 해밍 거리가 중간 구간이면 SSIM 계산을 위한 디코딩도 하지 않습니다.
+ * 두 지표 모두 EXIF 방향을 적용한 이미지로 비교하며, 세로 사진과 가로 사진처럼 비율이 크게 다른 쌍은 판단하지 않습니다.
+ *
+ * 메트릭: verification.prefilter.decisions(decision=near_identical|unrelated|ambiguous)
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+public class VerificationPreFilter {
+
+    private final ImageValidationService imageValidationService;
+
+    private final boolean enabled;
+
+    /**
+     * 거의 같은 사진으로 볼 최대 해밍 거리
+     */
+    private final int identicalMaxDistance;
+
+    /**
+     * 거의 같은 사진으로 볼 최소 SSIM
+     */
+    private final double identicalMinSsim;
+
+    /**
+     * 다른 장면으로 볼 최소 해밍 거리
+     */
+    private final int unrelatedMinDistance;
+
+    /**
+     * 다른 장면으로 볼 최대 SSIM
+     */
+    private final double unrelatedMaxSsim;
+
+    /**
+     * 판단할 두 사진의 최대 가로/세로 비율 차이 (큰 비율 / 작은 비율)
+     */
+    private final double maxAspectRatioDifference;
+
+    private final Counter nearIdenticalCounter;
+
+    private final Counter unrelatedCounter;
+
+    private final Counter ambiguousCounter;
+
+    public VerificationPreFilter(
+            ImageValidationService imageValidationService,
+            MeterRegistry meterRegistry,
+            @Value("${ai.verification.prefilter.enabled:true}") boolean enabled,
+            @Value("${ai.verification.prefilter.identical-max-distance:4}") int identicalMaxDistance,
+            @Value("${ai.verification.prefilter.identical-min-ssim:0.95}") double identicalMinSsim,
+            @Value("${ai.verification.prefilter.unrelated-min-distance:26}") int unrelatedMinDistance,
+            @Value("${ai.verification.prefilter.unrelated-max-ssim:0.2}") double unrelatedMaxSsim,
+            @Value("${ai.verification.prefilter.max-aspect-ratio-difference:1.25}") double maxAspectRatioDifference) {
+        this.imageValidationService = imageValidationService;
+        this.enabled = enabled;
+        this.identicalMaxDistance = identicalMaxDistance;
+        this.identicalMinSsim = identicalMinSsim;
+        this.unrelatedMinDistance = unrelatedMinDistance;
+        this.unrelatedMaxSsim = unrelatedMaxSsim;
+        this.maxAspectRatioDifference = maxAspectRatioDifference;
+
+        this.nearIdenticalCounter = decisionCounter(meterRegistry, Decision.NEAR_IDENTICAL);
+        this.unrelatedCounter = decisionCounter(meterRegistry, Decision.UNRELATED);
+        this.ambiguousCounter = Counter.builder("verification.prefilter.decisions")
+                .tag("decision", "ambiguous")
+                .description("AI 검증 사전 필터 판단 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사전 필터 판단 종류
+     */
+    public enum Decision {
+        NEAR_IDENTICAL,     // 청소 전후 사진이 거의 같음
+        UNRELATED           // 청소 전후 사진이 서로 다른 장면
+    }
+
+    /**
+     * 사전 필터가 거절한 근거
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+
+        private final Decision decision;
+
+        /**
+         * 지각 해시 해밍 거리 (0~64)
+         */
+        private final int hashDistance;
+
+        /**
+         * 축소 이미지 SSIM
+         */
+        private final double ssim;
+    }
+
+    /**
+     * BEFORE/AFTER 사진을 비교하여 GPT 없이 거절할 수 있는지 판단합니다.
+     * 이미지 읽기와 디코딩은 boundedElastic 스케줄러에서 실행하며, 오류가 나면 판단을 GPT로 넘깁니다.
+     *
+     * @param beforePhoto 청소 전 사진
+     * @param afterPhoto 청소 후 사진
+     * @return 거절 근거, GPT 판단이 필요하면 빈 Mono
+     */
+    public Mono<Result> screen(Photo beforePhoto, Photo afterPhoto) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> evaluate(beforePhoto, afterPhoto))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("AI 검증 사전 필터 실패, GPT 검증으로 진행", e);
+                    return Mono.empty();
+                });
+    }
+
+    // ========== 내부 메서드 ==========
+
+    private Result evaluate(Photo beforePhoto, Photo afterPhoto) throws IOException {
+        Sample before = new Sample(beforePhoto);
+        Sample after = new Sample(afterPhoto);
+
+        // SSIM은 두 이미지를 같은 정사각형으로 축소하므로 가로/세로 비율이 크게 다르면 비교하지 않음
+        // (같은 장소를 세로와 가로로 찍은 경우를 다른 장면으로 거절하지 않도록 GPT로 넘김)
+        double aspectDifference = Math.max(before.aspectRatio(), after.aspectRatio())
+                / Math.min(before.aspectRatio(), after.aspectRatio());
+        if (aspectDifference > maxAspectRatioDifference) {
+            ambiguousCounter.increment();
+            log.debug("사전 필터 통과 (GPT 검증 필요): 가로/세로 비율 차이 {}", aspectDifference);
+            return null;
+        }
+
+        int distance = PerceptualHash.distance(before.hash(), after.hash());
+        Decision candidate = distance <= identicalMaxDistance ? Decision.NEAR_IDENTICAL
+                : distance >= unrelatedMinDistance ? Decision.UNRELATED
+                : null;
+        if (candidate == null) {
+            ambiguousCounter.increment();
+            log.debug("사전 필터 통과 (GPT 검증 필요): 해밍 거리 {}", distance);
+            return null;
+        }
+
+        double ssim = ImageSimilarity.ssim(before.image(), after.image());
+        boolean confirmed = candidate == Decision.NEAR_IDENTICAL ? ssim >= identicalMinSsim : ssim <= unrelatedMaxSsim;
+        if (!confirmed) {
+            ambiguousCounter.increment();
+            log.debug("사전 필터 통과 (GPT 검증 필요): 해밍 거리 {}, SSIM {}", distance, ssim);
+            return null;
+        }
+
+        if (candidate == Decision.NEAR_IDENTICAL) {
+            nearIdenticalCounter.increment();
+        } else {
+            unrelatedCounter.increment();
+        }
+        log.info("사전 필터 거절: {}, 해밍 거리 {}, SSIM {}", candidate, distance, ssim);
+        return new Result(candidate, distance, ssim);
+    }
+
+    /**
+     * 비교할 사진 한 장의 EXIF 방향을 적용한 축소 이미지와 지각 해시
+     * 축소 이미지는 처음 필요할 때 한 번만 읽습니다.
+     */
+    private class Sample {
+
+        private final Photo photo;
+
+        private BufferedImage image;
+
+        Sample(Photo photo) {
+            this.photo = photo;
+        }
+
+        BufferedImage image() throws IOException {
+            if (image == null) {
+                image = imageValidationService.loadSimilaritySample(photo.getImagePath(), photo.getOrientation());
+            }
+            return image;
+        }
+
+        /**
+         * 보이는 방향 기준 가로/세로 비율, 업로드 시 측정한 크기가 없으면 축소 이미지로 계산
+         */
+        double aspectRatio() throws IOException {
+            Integer width = photo.getWidth();
+            Integer height = photo.getHeight();
+            if (width == null || height == null || width <= 0 || height <= 0) {
+                return (double) image().getWidth() / image().getHeight();
+            }
+            return ImageOrientation.swapsDimensions(photo.getOrientation())
+                    ? (double) height / width
+                    : (double) width / height;
+        }
+
+        /**
+         * 업로드 시 저장한 지각 해시는 저장된 방향 그대로 계산한 값이므로 방향 변환이 없는 사진에만 사용하고,
+         * 해시가 없거나(해시 도입 전 사진) 방향 변환이 필요하면 축소 이미지로 다시 계산
+         */
+        long hash() throws IOException {
+            if (photo.getPerceptualHash() != null && ImageOrientation.isUpright(photo.getOrientation())) {
+                return photo.getPerceptualHash();
+            }
+            return PerceptualHash.compute(image());
+        }
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, Decision decision) {
+        return Counter.builder("verification.prefilter.decisions")
+                .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                .description("AI 검증 사전 필터 판단 수")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.VerificationCacheEntry;
+import com.example.hamkae.repository.VerificationCacheEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AI 검증 결과 캐시
+ *
+ * (BEFORE 사진 해시, AFTER 사진 해시, 모델, 프롬프트 버전)을 키로 GPT 응답을 보관합니다.
+ * 메모리 LRU를 먼저 확인하고, 없으면 DB(verification_cache)를 조회하여 메모리에 올립니다.
+ * DB 조회와 저장은 블로킹 작업이므로 boundedElastic 스케줄러에서 실행하며,
+ * 캐시 오류는 캐시 미스로 처리하여 검증 자체는 계속 진행됩니다.
+ *
+ * 메트릭: verification.cache.hits(tier=memory|db), verification.cache.misses,
+ * verification.cache.hit.ratio, verification.cache.saved.usd(캐시 적중으로 아낀 GPT 호출 비용 추정치)
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+@Component
+public class VerificationResultCache {
+
+    private final VerificationCacheEntryRepository verificationCacheEntryRepository;
+
+    /**
+     * 메모리에 보관할 최대 결과 수
+     */
+    private final int cacheSize;
+
+    /**
+     * GPT 호출 1회 비용 추정치 (USD)
+     */
+    private final double costPerCallUsd;
+
+    /**
+     * 접근 순서 기반 LRU 결과 캐시 (캐시 키 -> GPT 응답)
+     */
+    private final Map<String, String> memoryCache;
+
+    private final Counter memoryHitCounter;
+
+    private final Counter dbHitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter savedUsdCounter;
+
+    public VerificationResultCache(
+            VerificationCacheEntryRepository verificationCacheEntryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ai.verification.cache.size:1000}") int cacheSize,
+            @Value("${ai.verification.cache.cost-per-call-usd:0.005}") double costPerCallUsd) {
+        this.verificationCacheEntryRepository = verificationCacheEntryRepository;
+        this.cacheSize = cacheSize;
+        this.costPerCallUsd = costPerCallUsd;
+        this.memoryCache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        this.memoryHitCounter = Counter.builder("verification.cache.hits")
+                .tag("tier", "memory")
+                .description("메모리 캐시에서 찾은 AI 검증 결과 수")
+                .register(meterRegistry);
+        this.dbHitCounter = Counter.builder("verification.cache.hits")
+                .tag("tier", "db")
+                .description("DB 캐시에서 찾은 AI 검증 결과 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("verification.cache.misses")
+                .description("캐시에 없어 GPT를 호출한 AI 검증 수")
+                .register(meterRegistry);
+        this.savedUsdCounter = Counter.builder("verification.cache.saved.usd")
+                .description("캐시 적중으로 생략한 GPT 호출 비용 추정치 (USD)")
+                .register(meterRegistry);
+        Gauge.builder("verification.cache.hit.ratio", this, VerificationResultCache::hitRatio)
+                .description("AI 검증 결과 캐시 적중률")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 GPT 응답을 조회합니다.
+     *
+     * @param beforeSha256 청소 전 사진 내용 해시
+     * @param afterSha256 청소 후 사진 내용 해시
+     * @param model GPT 모델명
+     * @param promptVersion 프롬프트 버전
+     * @return 캐시된 GPT 응답, 없으면 빈 Mono
+     */
+    public Mono<String> find(String beforeSha256, String afterSha256, String model, String promptVersion) {
+        String key = cacheKey(beforeSha256, afterSha256, model, promptVersion);
+        String cached;
+        synchronized (memoryCache) {
+            cached = memoryCache.get(key);
+        }
+        if (cached != null) {
+            recordHit(memoryHitCounter);
+            return Mono.just(cached);
+        }
+
+        return Mono.fromCallable(() -> verificationCacheEntryRepository
+                        .findByBeforeSha256AndAfterSha256AndModelAndPromptVersion(beforeSha256, afterSha256, model, promptVersion)
+                        .map(VerificationCacheEntry::getGptResponse)
+                        .orElse(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(response -> {
+                    recordHit(dbHitCounter);
+                    synchronized (memoryCache) {
+                        memoryCache.put(key, response);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("AI 검증 캐시 조회 실패, 캐시 없이 진행", e);
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.fromRunnable(missCounter::increment));
+    }
+
+    /**
+     * GPT 응답을 캐시에 저장합니다.
+     * 같은 키를 동시에 저장하여 DB 유니크 제약에 걸리면 이미 저장된 것이므로 무시합니다.
+     *
+     * @param beforeSha256 청소 전 사진 내용 해시
+     * @param afterSha256 청소 후 사진 내용 해시
+     * @param model GPT 모델명
+     * @param promptVersion 프롬프트 버전
+     * @param gptResponse GPT 응답
+     * @return 저장 완료 신호
+     */
+    public Mono<Void> put(String beforeSha256, String afterSha256, String model, String promptVersion, String gptResponse) {
+        synchronized (memoryCache) {
+            memoryCache.put(cacheKey(beforeSha256, afterSha256, model, promptVersion), gptResponse);
+        }
+
+        return Mono.fromRunnable(() -> verificationCacheEntryRepository.save(VerificationCacheEntry.builder()
+                        .beforeSha256(beforeSha256)
+                        .afterSha256(afterSha256)
+                        .model(model)
+                        .promptVersion(promptVersion)
+                        .gptResponse(gptResponse)
+                        .build()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    if (!(e instanceof DataIntegrityViolationException)) {
+                        log.warn("AI 검증 캐시 저장 실패", e);
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // ========== 내부 메서드 ==========
+
+    private void recordHit(Counter tierCounter) {
+        tierCounter.increment();
+        savedUsdCounter.increment(costPerCallUsd);
+    }
+
+    private double hitRatio() {
+        double hits = memoryHitCounter.count() + dbHitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private static String cacheKey(String beforeSha256, String afterSha256, String model, String promptVersion) {
+        return beforeSha256 + ":" + afterSha256 + ":" + model + ":" + promptVersion;
+    }
+}
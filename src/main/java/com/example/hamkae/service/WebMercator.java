@@ -0,0 +1,58 @@
+package com.example.hamkae.service;
+
+/**
+ * Web Mercator(EPSG:3857) 좌표 변환 유틸리티
+ * 위도/경도를 0~1 범위의 정규화된 평면 좌표로 변환합니다. (x: 서→동, y: 북→남)
+ *
+ * @author 윤준하
+ * @version 1.0
+ * @since 2026-10-16
+ */
+final class WebMercator {
+
+    /**
+     * Web Mercator 투영이 유효한 최대 위도
+     */
+    static final double MAX_LAT = 85.05112878;
+
+    private WebMercator() {
+    }
+
+    /**
+     * 경도를 정규화된 x 좌표(0~1)로 변환합니다.
+     */
+    static double lngToX(double lng) {
+        return (lng + 180.0) / 360.0;
+    }
+
+    /**
+     * 위도를 정규화된 y 좌표(0~1)로 변환합니다.
+     */
+    static double latToY(double lat) {
+        double clamped = Math.max(-MAX_LAT, Math.min(MAX_LAT, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    /**
+     * 정규화된 x 좌표를 경도로 변환합니다.
+     */
+    static double xToLng(double x) {
+        return x * 360.0 - 180.0;
+    }
+
+    /**
+     * 정규화된 y 좌표를 위도로 변환합니다.
+     */
+    static double yToLat(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+
+    /**
+     * 정규화된 좌표를 한 축당 cellsPerAxis개로 나눈 격자의 인덱스로 변환합니다.
+     */
+    static int cellIndex(double unit, int cellsPerAxis) {
+        int index = (int) Math.floor(unit * cellsPerAxis);
+        return Math.max(0, Math.min(cellsPerAxis - 1, index));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.hamkae.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GptCallLimiter 동시 호출 제한 테스트
+ */
+class GptCallLimiterTest {
+
+    private final GptCallLimiter limiter = new GptCallLimiter(new SimpleMeterRegistry(), 2);
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void limit_runsAtMostMaxConcurrencyCallsAtOnce() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Integer> results = Flux.range(0, 10)
+                .flatMap(i -> limiter.limit(Mono.defer(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(30)).thenReturn(i);
+                }).doOnTerminate(running::decrementAndGet)))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void limit_passesErrorsAndEmptyResultsThroughAndKeepsRunning() {
+        assertThatThrownBy(() -> limiter.limit(Mono.error(new IllegalStateException("실패"))).block())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(limiter.limit(Mono.empty()).blockOptional()).isEmpty();
+        assertThat(limiter.limit(Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void limit_skipsCallsCancelledWhileWaiting() {
+        // 두 자리를 오래 걸리는 호출로 채움
+        limiter.limit(Mono.delay(Duration.ofMillis(300))).subscribe();
+        limiter.limit(Mono.delay(Duration.ofMillis(300))).subscribe();
+
+        AtomicBoolean started = new AtomicBoolean();
+        limiter.limit(Mono.fromCallable(() -> started.getAndSet(true)))
+                .timeout(Duration.ofMillis(50))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        assertThat(limiter.limit(Mono.just("다음 호출")).block(Duration.ofSeconds(5))).isEqualTo("다음 호출");
+        assertThat(started).isFalse();
+    }
+}
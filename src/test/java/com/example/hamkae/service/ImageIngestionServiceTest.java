@@ -0,0 +1,64 @@
+package com.example.hamkae.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ImageIngestionService 병렬 저장 실패 시 정리 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageIngestionServiceTest {
+
+    @Mock
+    private ImageValidationService imageValidationService;
+
+    @Mock
+    private FileUploadService fileUploadService;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    @InjectMocks
+    private ImageIngestionService imageIngestionService;
+
+    @Test
+    void storeAll_deletesStoredImagesWhenAnotherImageFails() throws Exception {
+        MultipartFile good = new MockMultipartFile("images", "good.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        MultipartFile bad = new MockMultipartFile("images", "bad.txt", "text/plain", new byte[]{4, 5, 6});
+        lenient().doThrow(new IllegalArgumentException("이미지 파일만 업로드 가능합니다."))
+                .when(fileUploadService).validateImageFile(bad);
+        when(fileUploadService.storeImage(any(), eq("good.jpg"), anyString())).thenReturn("/images/content/good.jpg");
+
+        assertThatThrownBy(() -> imageIngestionService.storeAll(List.of(good, bad)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(fileUploadService).deleteImage("/images/content/good.jpg");
+    }
+
+    @Test
+    void storeAll_keepsImagesWhenAllSucceed() throws Exception {
+        MultipartFile first = new MockMultipartFile("images", "a.jpg", "image/jpeg", new byte[]{1});
+        MultipartFile second = new MockMultipartFile("images", "b.jpg", "image/jpeg", new byte[]{2});
+        when(fileUploadService.storeImage(any(), anyString(), anyString())).thenReturn("/images/content/x.jpg");
+
+        imageIngestionService.storeAll(List.of(first, second));
+
+        verify(fileUploadService, never()).deleteImage(anyString());
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.hamkae.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 테스트용 인프로세스 S3 대체 서버 (path-style, 단일 버킷)
+ * PUT/GET/HEAD/DELETE, 복사(x-amz-copy-source), 멀티파트 업로드를 지원하며 쓰기 요청을 거절하도록 설정할 수 있습니다.
+ */
+class InProcessS3Server implements AutoCloseable {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    private final HttpServer server;
+    private final String bucket;
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger rejectedWrites = new AtomicInteger();
+    private volatile boolean rejectWrites;
+
+    static class StoredObject {
+        final byte[] content;
+        final Instant lastModified;
+
+        StoredObject(byte[] content) {
+            this.content = content;
+            this.lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        }
+    }
+
+    InProcessS3Server(String bucket) throws IOException {
+        this.bucket = bucket;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 쓰기 요청(PUT/POST)을 403으로 거절할지 설정합니다. (SDK가 재시도하지 않는 오류)
+     */
+    void rejectWrites(boolean reject) {
+        this.rejectWrites = reject;
+    }
+
+    int rejectedWrites() {
+        return rejectedWrites.get();
+    }
+
+    StoredObject object(String key) {
+        return objects.get(key);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    // ========== 요청 처리 ==========
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath();
+            String prefix = "/" + bucket + "/";
+            if (!path.startsWith(prefix)) {
+                sendError(exchange, 404, "NoSuchBucket");
+                return;
+            }
+            String key = URLDecoder.decode(path.substring(prefix.length()), StandardCharsets.UTF_8);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] body = readBody(exchange);
+            String method = exchange.getRequestMethod();
+
+            if (rejectWrites && (method.equals("PUT") || method.equals("POST"))) {
+                rejectedWrites.incrementAndGet();
+                sendError(exchange, 403, "AccessDenied");
+                return;
+            }
+
+            switch (method) {
+                case "PUT" -> handlePut(exchange, key, query, body);
+                case "POST" -> handlePost(exchange, key, query, body);
+                case "GET", "HEAD" -> handleGet(exchange, key, method.equals("HEAD"));
+                case "DELETE" -> {
+                    if (query.containsKey("uploadId")) {
+                        uploads.remove(query.get("uploadId"));
+                    } else {
+                        objects.remove(key);
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> sendError(exchange, 405, "MethodNotAllowed");
+            }
+        }
+    }
+
+    private void handlePut(HttpExchange exchange, String key, Map<String, String> query, byte[] body) throws IOException {
+        if (query.containsKey("uploadId")) {
+            Map<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+            if (parts == null) {
+                sendError(exchange, 404, "NoSuchUpload");
+                return;
+            }
+            parts.put(Integer.parseInt(query.get("partNumber")), body);
+            exchange.getResponseHeaders().add("ETag", "\"" + UUID.randomUUID() + "\"");
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+
+        String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+        if (copySource != null) {
+            String source = URLDecoder.decode(copySource, StandardCharsets.UTF_8).replaceFirst("^/?" + bucket + "/", "");
+            StoredObject stored = objects.get(source);
+            if (stored == null) {
+                sendError(exchange, 404, "NoSuchKey");
+                return;
+            }
+            StoredObject copied = new StoredObject(stored.content);
+            objects.put(key, copied);
+            sendXml(exchange, "<CopyObjectResult><LastModified>" + copied.lastModified
+                    + "</LastModified><ETag>\"copy\"</ETag></CopyObjectResult>");
+            return;
+        }
+
+        objects.put(key, new StoredObject(body));
+        exchange.getResponseHeaders().add("ETag", "\"" + UUID.randomUUID() + "\"");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void handlePost(HttpExchange exchange, String key, Map<String, String> query, byte[] body) throws IOException {
+        if (query.containsKey("uploads")) {
+            String uploadId = UUID.randomUUID().toString();
+            uploads.put(uploadId, new ConcurrentHashMap<>());
+            sendXml(exchange, "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+                    + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            return;
+        }
+
+        Map<Integer, byte[]> parts = uploads.remove(query.getOrDefault("uploadId", ""));
+        if (parts == null) {
+            sendError(exchange, 404, "NoSuchUpload");
+            return;
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        Matcher matcher = PART_NUMBER.matcher(new String(body, StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            content.write(parts.get(Integer.parseInt(matcher.group(1))));
+        }
+        objects.put(key, new StoredObject(content.toByteArray()));
+        sendXml(exchange, "<CompleteMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+                + "</Key><ETag>\"multipart\"</ETag></CompleteMultipartUploadResult>");
+    }
+
+    private void handleGet(HttpExchange exchange, String key, boolean headOnly) throws IOException {
+        StoredObject stored = objects.get(key);
+        if (stored == null) {
+            if (headOnly) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                sendError(exchange, 404, "NoSuchKey");
+            }
+            return;
+        }
+        exchange.getResponseHeaders().add("Last-Modified", HTTP_DATE.format(stored.lastModified));
+        exchange.getResponseHeaders().add("ETag", "\"" + stored.content.length + "\"");
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+        if (headOnly) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(stored.content.length));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, stored.content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(stored.content);
+        }
+    }
+
+    // ========== 내부 메서드 ==========
+
+    /**
+     * 요청 본문을 읽습니다. SDK가 aws-chunked 인코딩으로 보낸 경우 청크를 풀어 원래 내용을 반환합니다.
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream in = exchange.getRequestBody()) {
+            raw = in.readAllBytes();
+        }
+        String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (exchange.getRequestHeaders().getFirst("x-amz-decoded-content-length") == null
+                && (contentSha256 == null || !contentSha256.startsWith("STREAMING-"))) {
+            return raw;
+        }
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = indexOfCrlf(raw, position);
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            position = lineEnd + 2;
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, position, size);
+            position += size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] raw, int from) {
+        for (int i = from; i + 1 < raw.length; i++) {
+            if (raw[i] == '\r' && raw[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return raw.length;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return new TreeMap<>(query);
+    }
+
+    private static void sendXml(HttpExchange exchange, String xml) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String code) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>" + code
+                + "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.DTO.MarkerResponseDTO;
+import com.example.hamkae.domain.Marker;
+import com.example.hamkae.domain.Photo;
+import com.example.hamkae.domain.User;
+import com.example.hamkae.repository.PhotoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마커 응답 생성 시 실행되는 SQL 문 수 테스트 (H2, Hibernate 통계)
+ * 마커 수가 늘어도 사진 조회 쿼리 수가 늘지 않는지(N+1 없음) 확인합니다.
+ */
+@DataJpaTest
+@Import(MarkerService.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class MarkerServiceQueryCountTest {
+
+    private static final int MARKER_COUNT = 30;
+    private static final int PHOTOS_PER_MARKER = 2;
+
+    @Autowired
+    private MarkerService markerService;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private FileUploadService fileUploadService;
+
+    @MockitoBean
+    private MarkerSpatialIndex markerSpatialIndex;
+
+    @MockitoBean
+    private MarkerClusterIndex markerClusterIndex;
+
+    @MockitoBean
+    private MarkerNearestIndex markerNearestIndex;
+
+    @MockitoBean
+    private MarkerHeatmapIndex markerHeatmapIndex;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    private User user;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().name("테스터").username("tester").password("password").build();
+        entityManager.persist(user);
+        for (int i = 0; i < MARKER_COUNT; i++) {
+            Marker marker = Marker.builder()
+                    .lat(BigDecimal.valueOf(37.5 + i * 0.001))
+                    .lng(BigDecimal.valueOf(127.0 + i * 0.001))
+                    .description("마커 " + i)
+                    .reportedBy(user)
+                    .build();
+            entityManager.persist(marker);
+            for (int j = 0; j < PHOTOS_PER_MARKER; j++) {
+                photoRepository.save(Photo.builder()
+                        .marker(marker)
+                        .user(user)
+                        .imagePath("/images/" + i + "-" + j + ".jpg")
+                        .type(Photo.PhotoType.BEFORE)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllActiveMarkers_usesOneQueryForMarkersAndOneForPhotos() {
+        List<MarkerResponseDTO> markers = markerService.getAllActiveMarkers();
+
+        assertThat(markers).hasSize(MARKER_COUNT);
+        assertThat(markers).allSatisfy(marker -> assertThat(marker.getPhotos()).hasSize(PHOTOS_PER_MARKER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getMarkersByUserId_doesNotLoadPhotosPerMarker() {
+        List<MarkerResponseDTO> markers = markerService.getMarkersByUserId(user.getId());
+
+        assertThat(markers).hasSize(MARKER_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getMarkerById_fetchesMarkerAndPhotosInOneQuery() {
+        Long markerId = markerService.getAllActiveMarkers().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        MarkerResponseDTO marker = markerService.getMarkerById(markerId);
+
+        assertThat(marker.getPhotos()).hasSize(PHOTOS_PER_MARKER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.hamkae.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * S3PhotoStorage 테스트 (인프로세스 S3 대체 서버 사용)
+ */
+class S3PhotoStorageTest {
+
+    private static final String BUCKET = "hamkae-test";
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @TempDir
+    Path cacheDir;
+
+    private InProcessS3Server server;
+
+    private S3PhotoStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new InProcessS3Server(BUCKET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (storage != null) {
+            storage.shutdown();
+        }
+        server.close();
+    }
+
+    @Test
+    void put_uploadsAndClearsJournal() throws Exception {
+        storage = newStorage(cacheDir, Long.MAX_VALUE);
+        byte[] content = randomBytes(1024);
+
+        storage.put("photos/a.jpg", content);
+
+        awaitTrue(() -> server.object("photos/a.jpg") != null);
+        assertThat(server.object("photos/a.jpg").content).isEqualTo(content);
+        awaitTrue(() -> journalCount(cacheDir) == 0);
+        assertThat(storage.exists("photos/a.jpg")).isTrue();
+    }
+
+    @Test
+    void put_largeContentUsesMultipartUpload() throws Exception {
+        storage = newStorage(cacheDir, Long.MAX_VALUE);
+        byte[] content = randomBytes(PART_SIZE + PART_SIZE / 2);
+
+        storage.put("photos/large.jpg", content);
+
+        awaitTrue(() -> server.object("photos/large.jpg") != null);
+        assertThat(server.object("photos/large.jpg").content).isEqualTo(content);
+    }
+
+    @Test
+    void localPath_downloadsWithRemoteModifiedTimeAndKeepsItOnHits() throws Exception {
+        storage = newStorage(cacheDir, Long.MAX_VALUE);
+        storage.put("photos/b.jpg", randomBytes(2048));
+        awaitTrue(() -> server.object("photos/b.jpg") != null && journalCount(cacheDir) == 0);
+        storage.shutdown();
+
+        // 다른 노드(빈 캐시)에서 내려받기
+        Path otherCache = Files.createDirectories(cacheDir.resolveSibling(cacheDir.getFileName() + "-other"));
+        storage = newStorage(otherCache, Long.MAX_VALUE);
+        Path downloaded = storage.localPath("photos/b.jpg");
+        FileTime first = Files.getLastModifiedTime(downloaded);
+        assertThat(first.toInstant()).isEqualTo(server.object("photos/b.jpg").lastModified);
+
+        Thread.sleep(20);
+        storage.localPath("photos/b.jpg");
+        assertThat(Files.getLastModifiedTime(downloaded)).isEqualTo(first);
+    }
+
+    @Test
+    void failedUpload_keepsJournalAndCacheFileUntilReplayed() throws Exception {
+        server.rejectWrites(true);
+        storage = newStorage(cacheDir, 3000);
+        byte[] content = randomBytes(2000);
+
+        storage.put("photos/c.jpg", content);
+        awaitTrue(() -> server.rejectedWrites() >= 3);
+        Thread.sleep(200);
+
+        // 재시도를 모두 실패해도 저널과 유일한 사본은 남아 있어야 함
+        assertThat(journalCount(cacheDir)).isEqualTo(1);
+        assertThat(storage.exists("photos/c.jpg")).isTrue();
+
+        // 캐시 최대 크기를 넘겨도 확인되지 않은 파일은 정리되지 않음
+        server.rejectWrites(false);
+        storage.put("photos/d.jpg", randomBytes(2000));
+        awaitTrue(() -> server.object("photos/d.jpg") != null);
+        assertThat(cacheDir.resolve("photos/c.jpg")).exists();
+        storage.shutdown();
+
+        // 재시작하면 남은 저널을 다시 업로드
+        storage = newStorage(cacheDir, 3000);
+        awaitTrue(() -> server.object("photos/c.jpg") != null);
+        assertThat(server.object("photos/c.jpg").content).isEqualTo(content);
+        awaitTrue(() -> journalCount(cacheDir) == 0);
+    }
+
+    @Test
+    void delete_removesRemoteObjectAndJournal() throws Exception {
+        server.rejectWrites(true);
+        storage = newStorage(cacheDir, Long.MAX_VALUE);
+        storage.put("photos/e.jpg", randomBytes(512));
+        awaitTrue(() -> server.rejectedWrites() >= 3);
+
+        assertThat(storage.delete("photos/e.jpg")).isTrue();
+
+        assertThat(journalCount(cacheDir)).isZero();
+        assertThat(storage.exists("photos/e.jpg")).isFalse();
+        assertThat(cacheDir.resolve("photos/e.jpg")).doesNotExist();
+    }
+
+    // ========== 내부 메서드 ==========
+
+    private S3PhotoStorage newStorage(Path cache, long cacheMaxBytes) throws IOException {
+        return new S3PhotoStorage(server.endpoint(), "us-east-1", BUCKET, "test", "test", true,
+                cache.toString(), cacheMaxBytes, PART_SIZE, 60);
+    }
+
+    private static long journalCount(Path cache) {
+        try (Stream<Path> files = Files.list(cache.resolve(".pending-uploads"))) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 시간 안에 만족하지 못함");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
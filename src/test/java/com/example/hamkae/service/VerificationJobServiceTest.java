@@ -0,0 +1,173 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.VerificationJob;
+import com.example.hamkae.repository.VerificationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * VerificationJobService 상태 전이 테스트 (점유, 점유 만료, 재시도, DEAD)
+ */
+@ExtendWith(MockitoExtension.class)
+class VerificationJobServiceTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long LEASE_SECONDS = 300;
+    private static final long BACKOFF_INITIAL_SECONDS = 30;
+
+    @Mock
+    private VerificationJobRepository verificationJobRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AiVerificationTaskService aiVerificationTaskService;
+
+    @InjectMocks
+    private VerificationJobService verificationJobService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(verificationJobService, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(verificationJobService, "leaseSeconds", LEASE_SECONDS);
+        ReflectionTestUtils.setField(verificationJobService, "backoffInitialSeconds", BACKOFF_INITIAL_SECONDS);
+        ReflectionTestUtils.setField(verificationJobService, "backoffMaxSeconds", 1800L);
+    }
+
+    @Test
+    void claim_marksJobRunningWithLease() {
+        VerificationJob job = pendingJob(0);
+        when(verificationJobRepository.findClaimableForUpdate(any(), eq(4))).thenReturn(List.of(job));
+
+        LocalDateTime before = LocalDateTime.now();
+        List<VerificationJob> claimed = verificationJobService.claim("worker-a", 4);
+
+        assertThat(claimed).containsExactly(job);
+        assertThat(job.getStatus()).isEqualTo(VerificationJob.JobStatus.RUNNING);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getLeaseUntil()).isAfterOrEqualTo(before.plusSeconds(LEASE_SECONDS));
+        assertThat(job.isHeldBy("worker-a", 1)).isTrue();
+    }
+
+    @Test
+    void claim_reclaimsExpiredLeaseFromAnotherWorker() {
+        VerificationJob job = pendingJob(0);
+        job.claim("worker-a", LocalDateTime.now().minusSeconds(1));
+        when(verificationJobRepository.findClaimableForUpdate(any(), anyInt())).thenReturn(List.of(job));
+
+        verificationJobService.claim("worker-b", 1);
+
+        assertThat(job.isHeldBy("worker-a", 1)).isFalse();
+        assertThat(job.isHeldBy("worker-b", 2)).isTrue();
+    }
+
+    @Test
+    void claim_expiredLeaseOnLastAttemptMarksDeadAndRejectsPhoto() {
+        VerificationJob job = pendingJob(MAX_ATTEMPTS - 1);
+        job.claim("worker-a", LocalDateTime.now().minusSeconds(1));
+        when(verificationJobRepository.findClaimableForUpdate(any(), anyInt())).thenReturn(List.of(job));
+
+        List<VerificationJob> claimed = verificationJobService.claim("worker-b", 1);
+
+        assertThat(claimed).isEmpty();
+        assertThat(job.getStatus()).isEqualTo(VerificationJob.JobStatus.DEAD);
+        verify(aiVerificationTaskService).rejectPendingAfterPhoto(eq(job.getMarkerId()), anyString());
+    }
+
+    @Test
+    void fail_schedulesRetryWithBackoff() {
+        VerificationJob job = pendingJob(0);
+        job.claim("worker-a", LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+        when(verificationJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        LocalDateTime before = LocalDateTime.now();
+        boolean dead = verificationJobService.fail(job.getId(), "worker-a", 1, "timeout");
+
+        assertThat(dead).isFalse();
+        assertThat(job.getStatus()).isEqualTo(VerificationJob.JobStatus.PENDING);
+        assertThat(job.getNextRunAt()).isAfterOrEqualTo(before.plusSeconds(BACKOFF_INITIAL_SECONDS));
+        assertThat(job.getLastError()).isEqualTo("timeout");
+        verify(aiVerificationTaskService, never()).rejectPendingAfterPhoto(any(), any());
+    }
+
+    @Test
+    void fail_onLastAttemptMarksDeadAndRejectsPhoto() {
+        VerificationJob job = pendingJob(MAX_ATTEMPTS - 1);
+        job.claim("worker-a", LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+        when(verificationJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        boolean dead = verificationJobService.fail(job.getId(), "worker-a", MAX_ATTEMPTS, "timeout");
+
+        assertThat(dead).isTrue();
+        assertThat(job.getStatus()).isEqualTo(VerificationJob.JobStatus.DEAD);
+        verify(aiVerificationTaskService).rejectPendingAfterPhoto(job.getMarkerId(), "timeout");
+    }
+
+    @Test
+    void fail_afterLosingLeaseLeavesJobUnchanged() {
+        VerificationJob job = pendingJob(0);
+        job.claim("worker-b", LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+        when(verificationJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        boolean dead = verificationJobService.fail(job.getId(), "worker-a", 1, "timeout");
+
+        assertThat(dead).isFalse();
+        assertThat(job.isHeldBy("worker-b", 1)).isTrue();
+    }
+
+    @Test
+    void complete_marksSucceededOnlyForHolder() {
+        VerificationJob job = pendingJob(0);
+        job.claim("worker-a", LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+        when(verificationJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        verificationJobService.complete(job.getId(), "worker-b", 1);
+        assertThat(job.getStatus()).isEqualTo(VerificationJob.JobStatus.RUNNING);
+
+        verificationJobService.complete(job.getId(), "worker-a", 1);
+        assertThat(job.getStatus()).isEqualTo(VerificationJob.JobStatus.SUCCEEDED);
+    }
+
+    @Test
+    void release_restoresAttemptAndMakesJobClaimable() {
+        VerificationJob job = pendingJob(0);
+        job.claim("worker-a", LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+        when(verificationJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        verificationJobService.release(job.getId(), "worker-a", 1);
+
+        assertThat(job.getStatus()).isEqualTo(VerificationJob.JobStatus.PENDING);
+        assertThat(job.getAttempts()).isZero();
+        assertThat(job.getLockedBy()).isNull();
+    }
+
+    private static VerificationJob pendingJob(int attempts) {
+        return VerificationJob.builder()
+                .id(1L)
+                .markerId(10L)
+                .userId(100L)
+                .attempts(attempts)
+                .nextRunAt(LocalDateTime.now())
+                .build();
+    }
+}
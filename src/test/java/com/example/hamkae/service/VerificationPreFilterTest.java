@@ -0,0 +1,175 @@
+package com.example.hamkae.service;
+
+import com.example.hamkae.domain.Photo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * VerificationPreFilter 판단 기준 테스트 (해밍 거리/SSIM 임계값, EXIF 방향, 가로/세로 비율)
+ */
+@ExtendWith(MockitoExtension.class)
+class VerificationPreFilterTest {
+
+    @Mock
+    private ImageValidationService imageValidationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VerificationPreFilter preFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        preFilter = new VerificationPreFilter(imageValidationService, meterRegistry, true, 4, 0.95, 26, 0.2, 1.25);
+    }
+
+    @Test
+    void screen_sameSceneIsNearIdentical() throws IOException {
+        BufferedImage scene = scene(1, 200, 150);
+        Photo before = photo("before.jpg", scene, null);
+        Photo after = photo("after.jpg", scene(1, 200, 150), null);
+
+        VerificationPreFilter.Result result = preFilter.screen(before, after).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getDecision()).isEqualTo(VerificationPreFilter.Decision.NEAR_IDENTICAL);
+        assertThat(result.getHashDistance()).isLessThanOrEqualTo(4);
+        assertThat(result.getSsim()).isGreaterThanOrEqualTo(0.95);
+        assertThat(decisions("near_identical")).isEqualTo(1);
+    }
+
+    @Test
+    void screen_differentScenesAreUnrelated() throws IOException {
+        Photo before = photo("before.jpg", scene(1, 200, 150), null);
+        Photo after = photo("after.jpg", scene(2, 200, 150), null);
+
+        VerificationPreFilter.Result result = preFilter.screen(before, after).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getDecision()).isEqualTo(VerificationPreFilter.Decision.UNRELATED);
+        assertThat(result.getHashDistance()).isGreaterThanOrEqualTo(26);
+        assertThat(result.getSsim()).isLessThanOrEqualTo(0.2);
+        assertThat(decisions("unrelated")).isEqualTo(1);
+    }
+
+    @Test
+    void screen_partlyChangedSceneGoesToGpt() throws IOException {
+        BufferedImage changed = scene(1, 200, 150);
+        BufferedImage patch = scene(3, 200, 150);
+        for (int y = 0; y < 150; y++) {
+            for (int x = 0; x < 100; x++) {
+                changed.setRGB(x, y, patch.getRGB(x, y));
+            }
+        }
+        Photo before = photo("before.jpg", scene(1, 200, 150), null);
+        Photo after = photo("after.jpg", changed, null);
+
+        assertThat(preFilter.screen(before, after).blockOptional()).isEmpty();
+        assertThat(decisions("ambiguous")).isEqualTo(1);
+    }
+
+    @Test
+    void screen_thresholdsAreInclusiveBoundaries() throws IOException {
+        Photo before = photo("before.jpg", scene(1, 200, 150), null);
+        Photo after = photo("after.jpg", scene(2, 200, 150), null);
+        VerificationPreFilter.Result result = preFilter.screen(before, after).block();
+        assertThat(result).isNotNull();
+
+        // 실제 거리보다 1 큰 기준이면 다른 장면으로 판단하지 않음
+        VerificationPreFilter stricter = new VerificationPreFilter(imageValidationService, new SimpleMeterRegistry(),
+                true, 4, 0.95, result.getHashDistance() + 1, 0.2, 1.25);
+        assertThat(stricter.screen(before, after).blockOptional()).isEmpty();
+
+        // 기준과 같은 거리는 다른 장면으로 판단
+        VerificationPreFilter exact = new VerificationPreFilter(imageValidationService, new SimpleMeterRegistry(),
+                true, 4, 0.95, result.getHashDistance(), 0.2, 1.25);
+        assertThat(exact.screen(before, after).block()).isNotNull();
+    }
+
+    @Test
+    void screen_appliesExifOrientationBeforeComparing() throws IOException {
+        BufferedImage scene = scene(1, 200, 150);
+        // 카메라가 세로로 저장하고 방향 6(시계 방향 90도 회전)으로 표시하도록 기록한 사진
+        BufferedImage stored = ImageOrientation.apply(scene, 8);
+        Photo before = photo("before.jpg", scene, null);
+        Photo after = photo("after.jpg", stored, 6);
+
+        VerificationPreFilter.Result result = preFilter.screen(before, after).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getDecision()).isEqualTo(VerificationPreFilter.Decision.NEAR_IDENTICAL);
+    }
+
+    @Test
+    void screen_portraitAgainstLandscapeGoesToGpt() throws IOException {
+        Photo before = photo("before.jpg", scene(1, 150, 200), null);
+        Photo after = photo("after.jpg", scene(2, 200, 150), null);
+
+        assertThat(preFilter.screen(before, after).blockOptional()).isEmpty();
+        assertThat(decisions("ambiguous")).isEqualTo(1);
+        assertThat(decisions("unrelated")).isZero();
+    }
+
+    @Test
+    void screen_disabledSkipsComparison() {
+        VerificationPreFilter disabled = new VerificationPreFilter(imageValidationService, new SimpleMeterRegistry(),
+                false, 4, 0.95, 26, 0.2, 1.25);
+
+        assertThat(disabled.screen(Photo.builder().build(), Photo.builder().build()).blockOptional()).isEmpty();
+    }
+
+    // ========== 내부 메서드 ==========
+
+    /**
+     * 저장된 방향 그대로의 이미지와 업로드 시 측정값(크기, 지각 해시, EXIF 방향)을 가진 사진을 만듭니다.
+     */
+    private Photo photo(String imagePath, BufferedImage stored, Integer orientation) throws IOException {
+        // 썸네일과 같이 EXIF 방향을 적용한 축소 이미지를 반환
+        lenient().when(imageValidationService.loadSimilaritySample(imagePath, orientation))
+                .thenReturn(ImageOrientation.apply(stored, orientation));
+        return Photo.builder()
+                .imagePath(imagePath)
+                .width(stored.getWidth())
+                .height(stored.getHeight())
+                .perceptualHash(PerceptualHash.compute(stored))
+                .orientation(orientation)
+                .build();
+    }
+
+    /**
+     * 시드별로 다른 밝기의 큰 블록으로 이루어진 장면 이미지
+     */
+    private static BufferedImage scene(long seed, int width, int height) {
+        Random random = new Random(seed);
+        int blocks = 6;
+        int[][] luma = new int[blocks][blocks];
+        for (int[] row : luma) {
+            for (int i = 0; i < blocks; i++) {
+                row[i] = random.nextInt(256);
+            }
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int value = luma[y * blocks / height][x * blocks / width];
+                image.setRGB(x, y, value << 16 | value << 8 | value);
+            }
+        }
+        return image;
+    }
+
+    private double decisions(String decision) {
+        return meterRegistry.counter("verification.prefilter.decisions", "decision", decision).count();
+    }
+}